@@ -0,0 +1,65 @@
+package bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import sim.Policy;
+import sim.SimKernel;
+
+// Costo de guardar y de restaurar un kernel en régimen estable con
+// population procesos en READY y otros tantos en BLOCKED. restore es lo que
+// se paga por cada experimento que arranca desde el mismo estado
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CheckpointBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    public int population;
+
+    private SimKernel kernel;
+    private Path image;
+    private Path scratch;
+
+    @Setup
+    public void setUp() throws IOException {
+        kernel = KernelFixture.build(Policy.EDF, population, population);
+        image = Files.createTempFile("checkpoint-bench-", ".img");
+        scratch = Files.createTempFile("checkpoint-bench-", ".img");
+        kernel.checkpoint(image);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(image);
+        Files.deleteIfExists(scratch);
+    }
+
+    @Benchmark
+    public void checkpoint() throws IOException {
+        kernel.checkpoint(scratch);
+    }
+
+    @Benchmark
+    public SimKernel restore() throws IOException {
+        SimKernel fork = new SimKernel();
+        fork.restore(image);
+        return fork;
+    }
+}
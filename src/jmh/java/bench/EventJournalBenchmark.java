@@ -0,0 +1,68 @@
+package bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import sim.EventJournal;
+import sim.EventLog;
+import sim.EventType;
+
+// Costo de un evento con el journal en disco activo (incluye cambiar de
+// segmento cada 4 MiB). Comparar con EventLogBenchmark.record
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EventJournalBenchmark {
+    private Path dir;
+    private EventJournal journal;
+    private EventLog log;
+    private int tick;
+
+    @Setup
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("journal-bench-");
+        journal = new EventJournal(dir, 4 * 1024 * 1024);
+        log = new EventLog();
+        log.setMinLevel(EventType.Level.WARNING); // solo se mide el journal
+        log.setJournal(journal);
+        tick = 0;
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        journal.close();
+        for (int i = 0; i < journal.getSegmentCount(); i++) {
+            Files.deleteIfExists(dir.resolve(String.format("journal-%06d.seg", i)));
+        }
+        Files.deleteIfExists(dir.resolve("refs.txt"));
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    public void record() {
+        log.record(tick, EventType.DISPATCHED, tick & 1023);
+        tick++;
+    }
+
+    // Con referencia: cuesta además la búsqueda en el diccionario
+    @Benchmark
+    public void recordWithRef() {
+        log.record(tick, EventType.INTERRUPT, -1, 1, "SENSOR_DATA");
+        tick++;
+    }
+}
@@ -0,0 +1,64 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sim.EventLog;
+import sim.EventType;
+
+// Costo de registrar un evento con el log ya lleno (régimen de sobrescritura)
+// log() recibe un texto armado por el llamador; record() guarda primitivos
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EventLogBenchmark {
+    private EventLog log;
+    private int tick;
+
+    @Setup
+    public void setUp() {
+        log = new EventLog();
+        for (tick = 0; tick < 1000; tick++) {
+            log.log(tick, "Proceso " + tick + " agregado a NEW");
+        }
+    }
+
+    @Benchmark
+    public void log() {
+        log.log(tick, "Proceso " + (tick & 1023) + " bloqueado por E/S");
+        tick++;
+    }
+
+    @Benchmark
+    public void record() {
+        log.record(tick, EventType.IO_BLOCKED, tick & 1023);
+        tick++;
+    }
+
+    // Evento descartado por el filtro de nivel
+    @Benchmark
+    public void recordFiltered() {
+        log.setMinLevel(EventType.Level.INFO);
+        log.record(tick, EventType.DISPATCHED, tick & 1023);
+        tick++;
+    }
+
+    // Armar el texto de todo el log (lo que paga el snapshot al leerlo)
+    @Benchmark
+    public String[] toArray() {
+        log.record(tick, EventType.IO_BLOCKED, tick & 1023);
+        tick++;
+        return log.toArray();
+    }
+}
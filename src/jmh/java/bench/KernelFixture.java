@@ -0,0 +1,40 @@
+package bench;
+
+import core.IOSpec;
+import core.SimProcess;
+import sim.Policy;
+import sim.SimKernel;
+
+// Arma un kernel en régimen estable para los benchmarks:
+// - blocked procesos bloqueados por una E/S que no termina durante la medición
+// - ready procesos en READY (más el que esté en RUNNING) que nunca terminan
+// Los bloqueados llegan de a uno por tick, así el armado es O(n) y no O(n²)
+final class KernelFixture {
+    private static final int FOREVER = 1_000_000_000;
+
+    private KernelFixture() {
+    }
+
+    static SimKernel build(Policy policy, int ready, int blocked) {
+        SimKernel kernel = new SimKernel();
+        kernel.setPolicy(policy);
+        kernel.setQuantum(3);
+        kernel.setRamLimit(ready + blocked + 1); // sin swap: todos quedan en RAM
+
+        // Cada uno corre una instrucción y se bloquea; prioridad alta, menos
+        // instrucciones y deadline corto para que toda política lo elija primero
+        for (int i = 0; i < blocked; i++) {
+            SimProcess p = new SimProcess(i + 1, "B" + i, 2, 9, i, 10);
+            p.setIoSpec(new IOSpec(1, FOREVER));
+            kernel.addProcess(p);
+        }
+        kernel.tickN(blocked);
+
+        int now = kernel.getClock().getCurrentTick();
+        for (int i = 0; i < ready; i++) {
+            kernel.addProcess(new SimProcess(blocked + i + 1, "R" + i, FOREVER, 1, now, FOREVER));
+        }
+        kernel.tickN(1);
+        return kernel;
+    }
+}
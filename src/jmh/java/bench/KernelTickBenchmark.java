@@ -0,0 +1,45 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sim.Policy;
+import sim.SimKernel;
+
+// Costo de un tick completo (los 8 pasos) por política y tamaño de
+// población. population procesos en READY y otros tantos en BLOCKED
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class KernelTickBenchmark {
+
+    @Param({"FCFS", "RR", "SRT", "PRIO", "EDF"})
+    public Policy policy;
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    public int population;
+
+    private SimKernel kernel;
+
+    @Setup
+    public void setUp() {
+        kernel = KernelFixture.build(policy, population, population);
+    }
+
+    @Benchmark
+    public void tick() {
+        kernel.tick();
+    }
+}
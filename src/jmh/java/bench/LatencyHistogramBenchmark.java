@@ -0,0 +1,50 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import metrics.LatencyHistogram;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Costo de registrar una latencia (lo que se paga por cada proceso
+// terminado) y de armar el resumen de percentiles para un snapshot
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LatencyHistogramBenchmark {
+    private LatencyHistogram histogram;
+    private int value;
+
+    @Setup
+    public void setUp() {
+        histogram = new LatencyHistogram();
+        for (int i = 0; i < 1_000_000; i++) {
+            histogram.record((i * 7919) % 100_000 - 1000);
+        }
+        value = 0;
+    }
+
+    @Benchmark
+    public void record() {
+        histogram.record(value & 0xFFFF);
+        value += 7919;
+    }
+
+    // Con un registro en el medio, así summary() no usa el resumen guardado
+    @Benchmark
+    public LatencyHistogram.Summary summary() {
+        histogram.record(value & 0xFFFF);
+        value += 7919;
+        return histogram.summary();
+    }
+}
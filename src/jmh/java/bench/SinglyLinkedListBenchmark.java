@@ -0,0 +1,73 @@
+package bench;
+
+import ds.SinglyLinkedList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Operaciones de SinglyLinkedList sobre una lista de tamaño fijo.
+// Para que el tamaño no cambie entre invocaciones, cada operación que
+// agrega va acompañada de la que quita (se indica cuál en cada caso)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SinglyLinkedListBenchmark {
+    private static final SinglyLinkedList.Comparator<Integer> ASCENDING = (a, b) -> a < b;
+
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    private SinglyLinkedList<Integer> list;
+    private Integer last;   // siempre al final: remove() recorre toda la lista
+    private Integer middle; // insertOrdered() recorre la mitad
+
+    @Setup
+    public void setUp() {
+        list = new SinglyLinkedList<>();
+        for (int i = 0; i < size; i++) {
+            list.addLast(i * 2);
+        }
+        last = size * 2;
+        list.addLast(last);
+        middle = size + 1; // impar: no choca con ningún elemento
+    }
+
+    // addLast + removeFirst (ambos O(1))
+    @Benchmark
+    public Integer addLast() {
+        list.addLast(list.getFirst());
+        return list.removeFirst();
+    }
+
+    // remove del último (peor caso) + addLast para reponerlo
+    @Benchmark
+    public boolean remove() {
+        boolean removed = list.remove(last);
+        list.addLast(last);
+        return removed;
+    }
+
+    // insertOrdered en el medio + remove del mismo (restar la mitad de remove)
+    @Benchmark
+    public boolean insertOrdered() {
+        list.insertOrdered(middle, ASCENDING);
+        return list.remove(middle);
+    }
+
+    @Benchmark
+    public Object[] toArray() {
+        return list.toArray();
+    }
+}
@@ -0,0 +1,58 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sim.Policy;
+import sim.SimKernel;
+import sim.SystemSnapshot;
+
+// Costo de construir el snapshot (buildSnapshot es privado; se llega a él
+// con getSnapshot() después de cambiar la versión del estado)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SnapshotBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    public int population;
+
+    private SimKernel kernel;
+
+    @Setup
+    public void setUp() {
+        kernel = KernelFixture.build(Policy.RR, population, population);
+    }
+
+    // Caso de la UI: un tick y luego el snapshot (restar KernelTickBenchmark.tick)
+    @Benchmark
+    public SystemSnapshot tickThenSnapshot() {
+        kernel.tick();
+        return kernel.getSnapshot();
+    }
+
+    // Solo reconstrucción: setQuantum cambia la versión sin cambiar las colas
+    @Benchmark
+    public SystemSnapshot rebuildUnchanged() {
+        kernel.setQuantum(3);
+        return kernel.getSnapshot();
+    }
+
+    // Sin cambios de versión se retorna el snapshot ya construido
+    @Benchmark
+    public SystemSnapshot cached() {
+        return kernel.getSnapshot();
+    }
+}
@@ -0,0 +1,204 @@
+package com.mycompany.proyecto.so;
+
+import ds.SinglyLinkedList;
+import sim.EventType;
+import sim.InterruptGenerator;
+import sim.Policy;
+
+/**
+ * Opciones de la línea de comandos de ProyectoSO.
+ * parse solo lee y valida los valores; qué opciones tienen sentido depende
+ * del modo (corrida, barrido, reproducción, lectura del journal), y cada
+ * modo lo verifica con allowOnly.
+ */
+final class Options {
+    // Carga de trabajo
+    String workloadFile;
+    int randomCount = -1;
+    long seed = 1;
+
+    // Configuración del kernel (null = el valor por defecto o el del checkpoint)
+    Policy[] policies;
+    int[] quanta;
+    int[] ramLimits;
+    int maxTicks = 10_000_000;
+    boolean eventDriven;
+    int[] interruptInterval;
+    String[] coalesceTypes = new String[0];
+    int[] coalesceWindows = new int[0];
+    int[] windows;
+    int deviceCount;
+
+    // Archivos
+    String journalDir;
+    String readJournalDir;
+    String recordFile;
+    String replayFile;
+    String checkpointFile;
+    String restoreFile;
+
+    // Filtros de --read-journal
+    int pidFilter = Integer.MIN_VALUE;
+    EventType[] typeFilter;
+    int fromTick = Integer.MIN_VALUE;
+    int toTick = Integer.MAX_VALUE;
+
+    // Opciones que aparecieron, en orden
+    private final SinglyLinkedList<String> given = new SinglyLinkedList<>();
+
+    private Options() {
+    }
+
+    // Lanza IllegalArgumentException con un mensaje para el usuario
+    static Options parse(String[] args) {
+        Options o = new Options();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String option = args[i];
+                switch (option) {
+                    case "--workload" -> o.workloadFile = args[++i];
+                    case "--random" -> o.randomCount = parsePositive("Cantidad de procesos inválida", args[++i]);
+                    case "--seed" -> o.seed = Long.parseLong(args[++i]);
+                    case "--policy" -> o.policies = parsePolicies(args[++i]);
+                    case "--quantum" -> o.quanta = parsePositives("Quantum inválido", args[++i]);
+                    case "--ram" -> o.ramLimits = parsePositives("Límite de RAM inválido", args[++i]);
+                    case "--max-ticks" -> o.maxTicks = parsePositive("Máximo de ticks inválido", args[++i]);
+                    case "--interrupts" -> o.interruptInterval = parseInterval(args[++i]);
+                    case "--coalesce" -> {
+                        o.coalesceTypes = args[++i].split(",");
+                        o.coalesceWindows = parseCoalescing(o.coalesceTypes);
+                    }
+                    case "--event-driven" -> o.eventDriven = true;
+                    case "--journal" -> o.journalDir = args[++i];
+                    case "--read-journal" -> o.readJournalDir = args[++i];
+                    case "--record" -> o.recordFile = args[++i];
+                    case "--replay" -> o.replayFile = args[++i];
+                    case "--checkpoint" -> o.checkpointFile = args[++i];
+                    case "--restore" -> o.restoreFile = args[++i];
+                    case "--windows" -> o.windows = parsePositives("Ventana inválida", args[++i]);
+                    case "--devices" -> o.deviceCount = parseDeviceCount(args[++i]);
+                    case "--pid" -> o.pidFilter = Integer.parseInt(args[++i]);
+                    case "--type" -> o.typeFilter = parseEventTypes(args[++i]);
+                    case "--from" -> o.fromTick = Integer.parseInt(args[++i]);
+                    case "--to" -> o.toTick = Integer.parseInt(args[++i]);
+                    default -> throw new IllegalArgumentException("Opción desconocida: " + option);
+                }
+                o.given.addLast(option);
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Falta el valor de una opción");
+        }
+        return o;
+    }
+
+    // Lanza IllegalArgumentException si se dio alguna opción fuera de allowed
+    void allowOnly(String mode, String... allowed) {
+        for (SinglyLinkedList.Cursor<String> c = given.cursor(); c.hasNext(); ) {
+            String option = c.next();
+            boolean found = false;
+            for (String a : allowed) {
+                if (a.equals(option)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                throw new IllegalArgumentException(option + " no se usa " + mode);
+            }
+        }
+    }
+
+    // Puntos de la grilla política × quantum × RAM (> 1 = barrido)
+    int gridSize() {
+        return (policies != null ? policies.length : 1) * (quanta != null ? quanta.length : 1)
+             * (ramLimits != null ? ramLimits.length : 1);
+    }
+
+    private static Policy[] parsePolicies(String value) {
+        String[] parts = value.split(",");
+        Policy[] result = new Policy[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            result[i] = Policy.valueOf(parts[i].trim().toUpperCase());
+        }
+        return result;
+    }
+
+    private static EventType[] parseEventTypes(String value) {
+        String[] parts = value.split(",");
+        EventType[] result = new EventType[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            result[i] = EventType.valueOf(parts[i].trim().toUpperCase());
+        }
+        return result;
+    }
+
+    private static int[] parseInterval(String value) {
+        int[] interval = parseInts(value);
+        if (interval.length != 2) {
+            throw new IllegalArgumentException("Intervalo de interrupciones inválido (se espera min,max): " + value);
+        }
+        return interval;
+    }
+
+    // Entero mayor a cero; error es el comienzo del mensaje si no lo es
+    private static int parsePositive(String error, String value) {
+        int n = Integer.parseInt(value.trim());
+        if (n <= 0) {
+            throw new IllegalArgumentException(error + ": " + n);
+        }
+        return n;
+    }
+
+    private static int[] parsePositives(String error, String value) {
+        String[] parts = value.split(",");
+        int[] result = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            result[i] = parsePositive(error, parts[i]);
+        }
+        return result;
+    }
+
+    private static int parseDeviceCount(String value) {
+        int count = Integer.parseInt(value);
+        if (count < 0) {
+            throw new IllegalArgumentException("Cantidad de dispositivos inválida: " + count);
+        }
+        return count;
+    }
+
+    // Separa cada tipo:ventana de --coalesce: deja el tipo en entries y
+    // devuelve las ventanas
+    private static int[] parseCoalescing(String[] entries) {
+        int[] windows = new int[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            String entry = entries[i].trim();
+            int colon = entry.indexOf(':');
+            if (colon < 0) {
+                throw new IllegalArgumentException("Fusión inválida (se espera tipo:ventana): " + entry);
+            }
+            String type = entry.substring(0, colon).toUpperCase();
+            if (!InterruptGenerator.isKnownType(type)) {
+                throw new IllegalArgumentException("Tipo de interrupción desconocido: " + type);
+            }
+            try {
+                windows[i] = Integer.parseInt(entry.substring(colon + 1));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Ventana de fusión inválida: " + entry);
+            }
+            if (windows[i] < 0) {
+                throw new IllegalArgumentException("Ventana de fusión inválida: " + entry);
+            }
+            entries[i] = type;
+        }
+        return windows;
+    }
+
+    private static int[] parseInts(String value) {
+        String[] parts = value.split(",");
+        int[] result = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            result[i] = Integer.parseInt(parts[i].trim());
+        }
+        return result;
+    }
+}
@@ -4,13 +4,417 @@
 
 package com.mycompany.proyecto.so;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import metrics.MetricsCollector;
+import metrics.WindowedMetrics;
+import sim.DeviceRegistry;
+import sim.EventJournal;
+import sim.EventType;
+import sim.Policy;
+import sim.SimKernel;
+import sim.SimulatedInterruptSource;
+import sim.SweepEngine;
+import sim.TraceRecorder;
+import sim.TraceReplayer;
+import sim.Workload;
+
 /**
+ * Modo sin interfaz: carga una carga de trabajo, corre el kernel hasta que
+ * termine (o hasta --max-ticks) lo más rápido posible e imprime las métricas
+ * finales y los ticks por segundo de reloj.
+ * Si --policy, --quantum o --ram reciben varios valores separados por coma,
+ * corre el barrido completo en paralelo e imprime una tabla comparativa.
+ * Con --journal guarda todos los eventos de la corrida en un journal en
+ * disco; --read-journal lo recorre (con filtros) sin cargarlo a memoria.
+ * Con --record graba las entradas del kernel en una traza; --replay la
+ * reproduce a toda velocidad y verifica que las métricas sean idénticas.
+ * Con --checkpoint guarda el estado final del kernel; --restore arranca desde
+ * un estado guardado (la carga es opcional) y, si hay varios valores de
+ * --policy/--quantum/--ram, cada corrida del barrido parte de ese estado.
+ * Al final muestra también las métricas de los últimos N ticks para cada
+ * ventana de --windows (por defecto 100, 1000 y 10000).
+ * Con --devices, durante la corrida N sensores en hilos virtuales publican
+ * interrupciones en tiempo real (ver DeviceRegistry).
  *
  * @author danielairibarren
  */
 public class ProyectoSO {
 
+    private static final String USAGE =
+            "Uso: ProyectoSO (--workload <archivo> | --random <procesos> [--seed <n>])\n"
+          + "                [--policy FCFS|RR|SRT|PRIO|EDF[,...]] [--quantum <n>[,...]] [--ram <n>[,...]]\n"
+          + "                [--interrupts <min>,<max>] [--coalesce <tipo>:<ventana>[,...]]\n"
+          + "                [--max-ticks <n>] [--event-driven] [--journal <dir>] [--record <archivo>]\n"
+          + "                [--restore <checkpoint>] [--checkpoint <archivo>] [--windows <ticks>[,...]]\n"
+          + "                [--devices <n>]\n"
+          + "       ProyectoSO --replay <archivo> [--event-driven]\n"
+          + "       ProyectoSO --read-journal <dir> [--pid <n>] [--type <tipo>[,...]] [--from <tick>] [--to <tick>]";
+
+    // Intervalo entre interrupciones de cada sensor de --devices, en milisegundos
+    private static final int DEVICE_MIN_INTERVAL_MILLIS = 1;
+    private static final int DEVICE_MAX_INTERVAL_MILLIS = 10;
+
+    // Opciones que acepta cada modo (una corrida acepta las de los dos primeros grupos)
+    private static final String[] WORKLOAD_OPTIONS = {
+        "--workload", "--random", "--seed", "--policy", "--quantum", "--ram", "--max-ticks", "--event-driven",
+        "--interrupts", "--coalesce", "--restore"
+    };
+    private static final String[] SINGLE_OPTIONS = {
+        "--journal", "--record", "--checkpoint", "--windows", "--devices"
+    };
+    private static final String[] REPLAY_OPTIONS = {"--replay", "--event-driven", "--max-ticks"};
+    private static final String[] READ_JOURNAL_OPTIONS = {"--read-journal", "--pid", "--type", "--from", "--to"};
+
     public static void main(String[] args) {
-        System.out.println("Hello World!");
+        Options options = null;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            usageError(e.getMessage());
+        }
+
+        if (options.readJournalDir != null) {
+            readJournal(options);
+        } else if (options.replayFile != null) {
+            replay(options);
+        } else if (options.gridSize() > 1) {
+            runSweep(options);
+        } else {
+            runSingle(options);
+        }
+    }
+
+    // Una corrida: admite todas las opciones de carga y configuración, más
+    // journal, traza, checkpoint, ventanas y dispositivos
+    private static void runSingle(Options o) {
+        allowOnly(o, "en una corrida", WORKLOAD_OPTIONS, SINGLE_OPTIONS);
+        // La traza empieza desde un kernel nuevo
+        if (o.recordFile != null && o.restoreFile != null) {
+            usageError("--record no se puede usar con --restore: la traza empieza desde un kernel nuevo");
+        }
+        Workload workload = loadWorkload(o);
+        SimulatedInterruptSource interrupts = interruptSource(o);
+
+        SimKernel kernel = new SimKernel();
+        // El journal va primero, así guarda también los eventos de la configuración
+        EventJournal journal = o.journalDir != null ? openJournal(kernel, Path.of(o.journalDir)) : null;
+        if (o.restoreFile != null) {
+            restore(kernel, Path.of(o.restoreFile));
+        }
+        configure(kernel, o, interrupts);
+        // La traza graba la configuración de arriba como punto de partida
+        TraceRecorder recorder = o.recordFile != null ? openRecorder(kernel, Path.of(o.recordFile)) : null;
+        workload.applyTo(kernel);
+
+        // Sensores en tiempo real: publican mientras corre el kernel (la
+        // traza los graba como cualquier otra interrupción)
+        DeviceRegistry devices = null;
+        if (o.deviceCount > 0) {
+            devices = new DeviceRegistry(kernel);
+            devices.registerSensors(o.deviceCount, DEVICE_MIN_INTERVAL_MILLIS, DEVICE_MAX_INTERVAL_MILLIS, o.seed);
+            devices.start();
+        }
+
+        int startTick = kernel.getClock().getCurrentTick();
+        long start = System.nanoTime();
+        kernel.runUntil(SimKernel.FINISHED, o.maxTicks);
+        long elapsed = System.nanoTime() - start;
+        if (devices != null) {
+            devices.stop();
+        }
+
+        if (o.checkpointFile != null) {
+            try {
+                kernel.checkpoint(Path.of(o.checkpointFile));
+            } catch (IOException e) {
+                System.err.println("No se pudo guardar el checkpoint: " + e.getMessage());
+            }
+        }
+        closeOutputs(kernel, recorder, journal);
+
+        int ticks = kernel.getClock().getCurrentTick();
+        System.out.printf("Política: %s, quantum=%d, RAM=%d, por eventos=%b%n",
+                          kernel.getPolicy(), kernel.getQuantum(), kernel.getRamLimit(), o.eventDriven);
+        if (interrupts != null) {
+            System.out.printf("Interrupciones simuladas: %d (semilla %d)%n", interrupts.getGenerated(), o.seed);
+        }
+        if (devices != null) {
+            System.out.printf("Dispositivos: %d, interrupciones publicadas: %d%n",
+                              devices.size(), devices.getTotalPosted());
+        }
+        System.out.printf("Ticks simulados: %d%s%n", ticks, kernel.isFinished() ? "" : " (cortado por --max-ticks)");
+        printMetrics(kernel.getMetrics());
+        if (recorder != null) {
+            System.out.printf("Traza: %d entradas en %s%n", recorder.getEntryCount(), recorder.getFile());
+        }
+        if (journal != null) {
+            System.out.printf("Journal: %d eventos en %d segmento(s) en %s%n",
+                              journal.getRecordCount(), journal.getSegmentCount(), journal.getDirectory());
+        }
+        double seconds = elapsed / 1e9;
+        System.out.printf("Tiempo real: %.3f s, %.0f ticks/s%n", seconds,
+                          seconds > 0 ? (ticks - startTick) / seconds : 0.0);
+        closeKernel(kernel);
+    }
+
+    private static EventJournal openJournal(SimKernel kernel, Path dir) {
+        try {
+            EventJournal journal = new EventJournal(dir);
+            kernel.getEventLog().setJournal(journal);
+            return journal;
+        } catch (IOException e) {
+            System.err.println("No se pudo crear el journal: " + e.getMessage());
+            System.exit(1);
+            return null;
+        }
+    }
+
+    private static void restore(SimKernel kernel, Path file) {
+        try {
+            long start = System.nanoTime();
+            kernel.restore(file);
+            System.out.printf("Restaurado el tick %d desde %s en %.1f ms%n", kernel.getClock().getCurrentTick(),
+                              file, (System.nanoTime() - start) / 1e6);
+        } catch (IOException e) {
+            System.err.println("No se pudo restaurar el checkpoint: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    // Sin --restore se usan los valores por defecto; con --restore, solo los indicados
+    private static void configure(SimKernel kernel, Options o, SimulatedInterruptSource interrupts) {
+        if (o.policies != null || o.restoreFile == null) {
+            kernel.setPolicy(o.policies != null ? o.policies[0] : Policy.FCFS);
+        }
+        if (o.quanta != null || o.restoreFile == null) {
+            kernel.setQuantum(o.quanta != null ? o.quanta[0] : 3);
+        }
+        if (o.ramLimits != null || o.restoreFile == null) {
+            kernel.setRamLimit(o.ramLimits != null ? o.ramLimits[0] : 10);
+        }
+        kernel.setEventDriven(o.eventDriven);
+        if (o.windows != null) {
+            kernel.getMetrics().setWindows(o.windows);
+        }
+        kernel.getEventLog().setMinLevel(EventType.Level.WARNING); // nadie lee el log en este modo
+        kernel.setInterruptSource(interrupts);
+        for (int i = 0; i < o.coalesceTypes.length; i++) {
+            kernel.setInterruptCoalescing(o.coalesceTypes[i], o.coalesceWindows[i]);
+        }
+    }
+
+    private static TraceRecorder openRecorder(SimKernel kernel, Path file) {
+        try {
+            TraceRecorder recorder = new TraceRecorder(file);
+            kernel.setTraceRecorder(recorder);
+            return recorder;
+        } catch (IOException e) {
+            System.err.println("No se pudo crear la traza: " + e.getMessage());
+            System.exit(1);
+            return null;
+        }
+    }
+
+    // Cierra la traza (con la huella final) y el journal
+    private static void closeOutputs(SimKernel kernel, TraceRecorder recorder, EventJournal journal) {
+        if (recorder != null) {
+            kernel.setTraceRecorder(null);
+            try {
+                recorder.close();
+            } catch (IOException e) {
+                System.err.println("Error al grabar la traza: " + e.getMessage());
+            }
+        }
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                System.err.println("Error al cerrar el journal: " + e.getMessage());
+            }
+        }
+    }
+
+    // Barrido: cada punto corre en su propio kernel, así que no hay una
+    // corrida que grabar, guardar o mirar en tiempo real
+    private static void runSweep(Options o) {
+        allowOnly(o, "en un barrido", WORKLOAD_OPTIONS);
+        Workload workload = loadWorkload(o);
+
+        SweepEngine sweep = new SweepEngine(workload,
+                                            o.policies != null ? o.policies : new Policy[] {Policy.FCFS},
+                                            o.quanta != null ? o.quanta : new int[] {3},
+                                            o.ramLimits != null ? o.ramLimits : new int[] {10});
+        sweep.setMaxTicks(o.maxTicks);
+        sweep.setEventDriven(o.eventDriven);
+        sweep.setInterruptSource(interruptSource(o));
+        sweep.setCheckpoint(o.restoreFile != null ? Path.of(o.restoreFile) : null);
+        for (int i = 0; i < o.coalesceTypes.length; i++) {
+            sweep.setInterruptCoalescing(o.coalesceTypes[i], o.coalesceWindows[i]);
+        }
+        long start = System.nanoTime();
+        SweepEngine.Result[] results = sweep.run();
+        long elapsed = System.nanoTime() - start;
+        System.out.print(SweepEngine.formatTable(results));
+        System.out.printf("Barrido: %d corridas en %.3f s (* = cortado por --max-ticks)%n",
+                          results.length, elapsed / 1e9);
+    }
+
+    // Carga de --workload o --random; con --restore es opcional (se suma al
+    // estado restaurado)
+    private static Workload loadWorkload(Options o) {
+        if ((o.workloadFile != null && o.randomCount >= 0)
+                || (o.restoreFile == null && o.workloadFile == null && o.randomCount < 0)) {
+            usageError("Se necesita --workload o --random (solo uno)");
+        }
+        Workload workload;
+        try {
+            if (o.workloadFile != null) {
+                workload = Workload.load(Path.of(o.workloadFile));
+            } else if (o.randomCount >= 0) {
+                workload = Workload.random(o.randomCount, o.seed);
+            } else {
+                workload = new Workload();
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("No se pudo cargar la carga de trabajo: " + e.getMessage());
+            System.exit(1);
+            return null;
+        }
+        System.out.printf("Carga: %d procesos, %d interrupciones%n",
+                          workload.getProcessCount(), workload.getInterruptCount());
+        return workload;
+    }
+
+    // Interrupciones de cada tipo cada min..max ticks, con la semilla de --seed
+    private static SimulatedInterruptSource interruptSource(Options o) {
+        if (o.interruptInterval == null) {
+            return null;
+        }
+        SimulatedInterruptSource interrupts = new SimulatedInterruptSource(o.seed);
+        interrupts.setDistribution(SimulatedInterruptSource.Distribution.UNIFORM,
+                                   o.interruptInterval[0], o.interruptInterval[1]);
+        return interrupts;
+    }
+
+    // Métricas finales de una corrida
+    private static void printMetrics(MetricsCollector m) {
+        System.out.printf("Completados: %d/%d, deadlines perdidos: %d, éxito: %.1f%%%n",
+                          m.getCompletedProcesses(), m.getTotalProcesses(), m.getMissedDeadlines(), m.getSuccessRate());
+        System.out.printf("Throughput: %.4f proc/tick, CPU: %.1f%%, espera prom.: %.2f, turnaround prom.: %.2f%n",
+                          m.getThroughput(), m.getCpuUtilization(), m.getAverageWaitTime(), m.getAverageTurnaroundTime());
+        if (m.getRawInterrupts() > 0) {
+            System.out.printf("Interrupciones: %d recibidas, %d fusionadas, %d descartadas, %d ISRs (%.2f por ISR)%n",
+                              m.getRawInterrupts(), m.getCoalescedInterrupts(), m.getDroppedInterrupts(),
+                              m.getIsrInvocations(), m.getInterruptsPerISR());
+        }
+        if (m.getCompletedProcesses() > 0) {
+            System.out.println("Latencias en ticks:");
+            System.out.println("  espera:     " + m.getWaitTimeHistogram());
+            System.out.println("  turnaround: " + m.getTurnaroundTimeHistogram());
+            System.out.println("  respuesta:  " + m.getResponseTimeHistogram());
+            System.out.println("  lateness:   " + m.getLatenessHistogram());
+        }
+        if (m.getIsrInvocations() > 0) {
+            System.out.println("  ISR:        " + m.getIsrLatencyHistogram());
+        }
+        System.out.println("Ventanas:");
+        for (WindowedMetrics.Window w : m.getWindowedMetrics().windows()) {
+            System.out.println("  " + w);
+        }
+    }
+
+    // Reproduce una traza grabada con --record y compara las métricas
+    // La traza trae la configuración y la fuente de interrupciones del original
+    private static void replay(Options o) {
+        allowOnly(o, "con --replay", REPLAY_OPTIONS);
+        TraceReplayer replayer;
+        try {
+            replayer = TraceReplayer.load(Path.of(o.replayFile));
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("No se pudo cargar la traza: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        SimKernel kernel = replayer.newKernel();
+        kernel.setEventDriven(o.eventDriven || replayer.isEventDriven());
+        kernel.getEventLog().setMinLevel(EventType.Level.WARNING);
+        TraceReplayer.Result result = replayer.replay(kernel, o.maxTicks);
+        closeKernel(kernel);
+
+        MetricsCollector m = kernel.getMetrics();
+        double seconds = result.elapsedNanos / 1e9;
+        System.out.printf("Traza: %d entradas, %d ticks%n", replayer.getEntryCount(), result.endTick);
+        System.out.printf("Completados: %d/%d, deadlines perdidos: %d, éxito: %.1f%%%n",
+                          m.getCompletedProcesses(), m.getTotalProcesses(), m.getMissedDeadlines(), m.getSuccessRate());
+        System.out.printf("Tiempo real: %.3f s, %.0f ticks/s%n", seconds, seconds > 0 ? result.endTick / seconds : 0.0);
+        if (!result.hasExpected) {
+            System.out.println("La traza no tiene cierre: no hay métricas con qué comparar");
+        } else if (result.matches()) {
+            System.out.printf("Métricas idénticas al original (huella %016x)%n", result.actualFingerprint);
+        } else {
+            System.out.printf("Métricas DISTINTAS: original %016x, reproducción %016x%n",
+                              result.expectedFingerprint, result.actualFingerprint);
+            System.exit(1);
+        }
+    }
+
+    // Imprime los eventos del journal que pasan los filtros
+    private static void readJournal(Options o) {
+        allowOnly(o, "con --read-journal", READ_JOURNAL_OPTIONS);
+        long matched = 0;
+        try (EventJournal.Reader reader = EventJournal.openReader(Path.of(o.readJournalDir))) {
+            reader.setTickRange(o.fromTick, o.toTick);
+            if (o.pidFilter != Integer.MIN_VALUE) {
+                reader.setPid(o.pidFilter);
+            }
+            if (o.typeFilter != null) {
+                reader.setTypes(o.typeFilter);
+            }
+            while (reader.next()) {
+                System.out.println(reader.format());
+                matched++;
+            }
+        } catch (IOException e) {
+            System.err.println("No se pudo leer el journal: " + e.getMessage());
+            System.exit(1);
+        }
+        System.out.printf("%d eventos%n", matched);
+    }
+
+    // Libera el archivo de terminados del kernel
+    private static void closeKernel(SimKernel kernel) {
+        try {
+            kernel.close();
+        } catch (IOException e) {
+            System.err.println("Error al cerrar el archivo de terminados: " + e.getMessage());
+        }
+    }
+
+    // Termina con un error de uso (código 2)
+    private static void usageError(String message) {
+        System.err.println(message);
+        System.err.println(USAGE);
+        System.exit(2);
+    }
+
+    // Sale con error de uso si se dio una opción que no está en ningún grupo
+    private static void allowOnly(Options o, String mode, String[]... groups) {
+        int total = 0;
+        for (String[] group : groups) {
+            total += group.length;
+        }
+        String[] allowed = new String[total];
+        int n = 0;
+        for (String[] group : groups) {
+            System.arraycopy(group, 0, allowed, n, group.length);
+            n += group.length;
+        }
+        try {
+            o.allowOnly(mode, allowed);
+        } catch (IllegalArgumentException e) {
+            usageError(e.getMessage());
+        }
     }
 }
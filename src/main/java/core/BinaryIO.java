@@ -0,0 +1,42 @@
+package core;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Textos en los registros binarios de checkpoint: largo en bytes (int, -1
+ * para null) seguido del texto en UTF-8. Lo usan los registros de
+ * {@code core} y el checkpoint del kernel.
+ */
+public final class BinaryIO {
+    private BinaryIO() {
+    }
+
+    /**
+     * Cota superior de los bytes que ocupa el texto (UTF-8 usa a lo sumo 3
+     * bytes por char de Java).
+     */
+    public static int maxSize(String value) {
+        return 4 + (value == null ? 0 : value.length() * 3);
+    }
+
+    public static void putString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    public static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -1,5 +1,7 @@
 package core;
 
+import java.nio.ByteBuffer;
+
 /**
  * Especificación de una operación de E/S para un proceso.
  * Define cuándo se genera la excepción y cuánto tarda en satisfacerse.
@@ -7,9 +9,9 @@ package core;
 public class IOSpec {
     private int cyclesUntilGeneration;
     private int cyclesToSatisfy;
-    private int cyclesRemaining;
     private boolean generated;
     private boolean satisfied;
+    private int completionTick; // tick absoluto en que termina (-1 si no está agendada)
     
     /**
      * @param cyclesUntilGeneration Cuántos ciclos de ejecución hasta generar la excepción de E/S
@@ -18,9 +20,9 @@ public class IOSpec {
     public IOSpec(int cyclesUntilGeneration, int cyclesToSatisfy) {
         this.cyclesUntilGeneration = cyclesUntilGeneration;
         this.cyclesToSatisfy = cyclesToSatisfy;
-        this.cyclesRemaining = cyclesToSatisfy;
         this.generated = false;
         this.satisfied = false;
+        this.completionTick = -1;
     }
     
     /**
@@ -41,20 +43,42 @@ public class IOSpec {
     }
     
     /**
-     * Procesa un ciclo de servicio de E/S.
-     * @return true si la E/S se satisfizo en este ciclo
+     * Agenda la finalización de la E/S a partir del tick en que se generó.
+     * Se atiende un ciclo por tick desde el siguiente, por eso una E/S de
+     * 0 ciclos igual tarda un tick.
+     * 
+     * @param generatedTick Tick en que el proceso generó la excepción de E/S
+     * @return Tick absoluto en que la E/S queda satisfecha
      */
-    public boolean serviceIO() {
-        if (!generated || satisfied) {
-            return false;
+    public int scheduleCompletion(int generatedTick) {
+        completionTick = generatedTick + Math.max(1, cyclesToSatisfy);
+        return completionTick;
+    }
+    
+    /**
+     * Marca la E/S como satisfecha (la llama quien agendó la finalización).
+     */
+    public void complete() {
+        satisfied = true;
+    }
+    
+    /**
+     * Ciclos que faltan para satisfacer la E/S vistos desde un tick dado.
+     * Se calcula bajo demanda a partir del tick de finalización agendado;
+     * antes de agendarla son todos los ciclos de servicio.
+     */
+    public int getCyclesRemaining(int currentTick) {
+        if (satisfied) {
+            return 0;
         }
-        
-        cyclesRemaining--;
-        if (cyclesRemaining <= 0) {
-            satisfied = true;
-            return true;
+        if (completionTick < 0) {
+            return cyclesToSatisfy;
         }
-        return false;
+        return Math.max(0, completionTick - currentTick);
+    }
+    
+    public int getCompletionTick() {
+        return completionTick;
     }
     
     public boolean isGenerated() {
@@ -65,20 +89,51 @@ public class IOSpec {
         return satisfied;
     }
     
-    public int getCyclesRemaining() {
-        return cyclesRemaining;
-    }
-    
     public int getCyclesUntilGeneration() {
         return cyclesUntilGeneration;
     }
     
+    public int getCyclesToSatisfy() {
+        return cyclesToSatisfy;
+    }
+    
+    /**
+     * Bytes que ocupa en un checkpoint (ver writeTo).
+     */
+    public static final int SERIALIZED_SIZE = 3 * 4 + 2;
+    
+    /**
+     * Escribe el estado completo en un checkpoint.
+     */
+    public void writeTo(ByteBuffer buffer) {
+        buffer.putInt(cyclesUntilGeneration);
+        buffer.putInt(cyclesToSatisfy);
+        buffer.putInt(completionTick);
+        buffer.put((byte) (generated ? 1 : 0));
+        buffer.put((byte) (satisfied ? 1 : 0));
+    }
+    
+    /**
+     * Lee una E/S escrita con writeTo.
+     */
+    public static IOSpec readFrom(ByteBuffer buffer) {
+        IOSpec io = new IOSpec(0, 0);
+        io.cyclesUntilGeneration = buffer.getInt();
+        io.cyclesToSatisfy = buffer.getInt();
+        io.completionTick = buffer.getInt();
+        io.generated = buffer.get() != 0;
+        io.satisfied = buffer.get() != 0;
+        return io;
+    }
+    
     @Override
     public String toString() {
         if (satisfied) {
             return "IO[satisfied]";
+        } else if (generated && completionTick >= 0) {
+            return "IO[servicing, completes=" + completionTick + "]";
         } else if (generated) {
-            return "IO[servicing, remaining=" + cyclesRemaining + "]";
+            return "IO[servicing, remaining=" + cyclesToSatisfy + "]";
         } else {
             return "IO[waiting, until=" + cyclesUntilGeneration + "]";
         }
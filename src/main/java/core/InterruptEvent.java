@@ -1,14 +1,21 @@
 package core;
 
+import ds.IndexedHeap;
+import java.nio.ByteBuffer;
+
 /**
  * Representa un evento de interrupción en el sistema RTOS.
  * Las interrupciones son eventos asíncronos que requieren atención inmediata.
  */
-public class InterruptEvent {
+public class InterruptEvent implements IndexedHeap.Indexed {
     private String type;
     private int priority;
     private int tickGenerated;
     private String description;
+    private int count; // eventos fusionados en este (1 si no se fusionó ninguno)
+    
+    // Posición en el montículo de pendientes del controlador (-1 si no está)
+    private int heapIndex = -1;
     
     /**
      * @param type Tipo de interrupción (ej: "MICRO_METEORITE", "SOLAR_FLARE", "EMERGENCY")
@@ -21,6 +28,7 @@ public class InterruptEvent {
         this.priority = priority;
         this.tickGenerated = tickGenerated;
         this.description = description;
+        this.count = 1;
     }
     
     public String getType() {
@@ -39,8 +47,65 @@ public class InterruptEvent {
         return description;
     }
     
+    /**
+     * Cantidad de eventos crudos que representa (ver merge).
+     */
+    public int getCount() {
+        return count;
+    }
+    
+    /**
+     * Fusiona otro evento del mismo tipo en este: se atienden con una sola ISR.
+     * Se conservan el tick y la prioridad de este evento (el más viejo).
+     */
+    public void merge(InterruptEvent other) {
+        this.count += other.count;
+    }
+    
+    @Override
+    public int getHeapIndex() {
+        return heapIndex;
+    }
+    
+    @Override
+    public void setHeapIndex(int index) {
+        this.heapIndex = index;
+    }
+    
+    /**
+     * Cota superior de los bytes que ocupa en un checkpoint (ver writeTo).
+     */
+    public int serializedSize() {
+        return 3 * 4 + BinaryIO.maxSize(type) + BinaryIO.maxSize(description);
+    }
+    
+    /**
+     * Escribe el evento en un checkpoint (sin su posición en el montículo).
+     */
+    public void writeTo(ByteBuffer buffer) {
+        BinaryIO.putString(buffer, type);
+        buffer.putInt(priority);
+        buffer.putInt(tickGenerated);
+        buffer.putInt(count);
+        BinaryIO.putString(buffer, description);
+    }
+    
+    /**
+     * Lee un evento escrito con writeTo.
+     */
+    public static InterruptEvent readFrom(ByteBuffer buffer) {
+        String type = BinaryIO.getString(buffer);
+        int priority = buffer.getInt();
+        int tickGenerated = buffer.getInt();
+        int count = buffer.getInt();
+        InterruptEvent event = new InterruptEvent(type, priority, tickGenerated, BinaryIO.getString(buffer));
+        event.count = count;
+        return event;
+    }
+    
     @Override
     public String toString() {
-        return "Interrupt[" + type + ", priority=" + priority + ", tick=" + tickGenerated + "]";
+        return "Interrupt[" + type + ", priority=" + priority + ", tick=" + tickGenerated
+                + (count > 1 ? ", count=" + count : "") + "]";
     }
 }
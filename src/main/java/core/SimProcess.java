@@ -1,10 +1,14 @@
 package core;
 
+import ds.IndexedHeap;
+import ds.IntrusiveList;
+import java.nio.ByteBuffer;
+
 /**
  * Representa un proceso en el sistema RTOS con su PCB (Process Control Block).
  * Contiene toda la información necesaria para gestionar el proceso.
  */
-public class SimProcess {
+public class SimProcess implements IndexedHeap.Indexed, IntrusiveList.Linked<SimProcess> {
     // Identificación
     private int pid;
     private String name;
@@ -32,10 +36,25 @@ public class SimProcess {
     private int waitTime;
     private int turnaroundTime;
     private int completionTick;
+    private int firstDispatchTick; // -1 hasta que pasa a RUNNING por primera vez
     
     // Flags
     private boolean isISR; // Es una rutina de servicio de interrupción
     
+    // Posición en el montículo que lo contiene (-1 si no está en ninguno)
+    private int heapIndex = -1;
+    
+    // Versión del PCB: cambia cada vez que cambia algo visible en un snapshot
+    private int version;
+    
+    // Vista para snapshots ya construida (la administra el kernel)
+    private Object cachedView;
+    private int cachedViewVersion = -1;
+    
+    // Enlace propio para las colas intrusivas (BLOCKED y los dos suspendidos);
+    // NEW y READY usan heapIndex y los terminados van al TerminatedArchive
+    private final IntrusiveList.Link<SimProcess> link = new IntrusiveList.Link<>();
+    
     /**
      * Constructor para proceso normal
      */
@@ -57,6 +76,7 @@ public class SimProcess {
         this.isISR = false;
         this.waitTime = 0;
         this.completionTick = -1;
+        this.firstDispatchTick = -1;
     }
     
     /**
@@ -82,6 +102,7 @@ public class SimProcess {
         pc++;
         mar++;
         instructionsRemaining--;
+        version++;
         
         // Verificar si hay E/S pendiente
         if (ioSpec != null && !ioSpec.isSatisfied()) {
@@ -125,9 +146,19 @@ public class SimProcess {
     public void terminate(int currentTick) {
         this.state = ProcessState.TERMINATED;
         this.completionTick = currentTick;
+        this.version++;
         this.turnaroundTime = currentTick - arrivalTick;
     }
     
+    /**
+     * Registra un despacho a la CPU; solo cuenta el primero (tiempo de respuesta).
+     */
+    public void markDispatched(int currentTick) {
+        if (firstDispatchTick < 0) {
+            firstDispatchTick = currentTick;
+        }
+    }
+    
     /**
      * Incrementa el tiempo de espera (llamar cada tick que está en READY).
      */
@@ -151,6 +182,7 @@ public class SimProcess {
     
     public void setState(ProcessState state) {
         this.state = state;
+        this.version++;
     }
     
     public int getPc() {
@@ -191,6 +223,7 @@ public class SimProcess {
     
     public void setMissedDeadline(boolean missed) {
         this.missedDeadline = missed;
+        this.version++;
     }
     
     public IOSpec getIoSpec() {
@@ -213,10 +246,125 @@ public class SimProcess {
         return completionTick;
     }
     
+    public int getFirstDispatchTick() {
+        return firstDispatchTick;
+    }
+    
+    /**
+     * Ticks desde la llegada hasta el primer despacho, o -1 si nunca corrió.
+     */
+    public int getResponseTime() {
+        return firstDispatchTick < 0 ? -1 : firstDispatchTick - arrivalTick;
+    }
+    
     public boolean isISR() {
         return isISR;
     }
     
+    @Override
+    public int getHeapIndex() {
+        return heapIndex;
+    }
+    
+    @Override
+    public void setHeapIndex(int index) {
+        this.heapIndex = index;
+    }
+    
+    public int getVersion() {
+        return version;
+    }
+    
+    /**
+     * Vista guardada con setCachedView, o null si el PCB cambió desde entonces.
+     */
+    public Object getCachedView() {
+        return cachedViewVersion == version ? cachedView : null;
+    }
+    
+    /**
+     * Guarda una vista construida para la versión actual del PCB.
+     */
+    public void setCachedView(Object view) {
+        this.cachedView = view;
+        this.cachedViewVersion = version;
+    }
+    
+    @Override
+    public IntrusiveList.Link<SimProcess> getLink() {
+        return link;
+    }
+    
+    /**
+     * Cola intrusiva en la que está el proceso, o null si no está en ninguna.
+     */
+    public IntrusiveList<SimProcess> getQueue() {
+        return link.getOwner();
+    }
+    
+    /**
+     * Cota superior de los bytes que ocupa en un checkpoint (ver writeTo).
+     */
+    public int serializedSize() {
+        return 14 * 4 + 3 + BinaryIO.maxSize(name) + IOSpec.SERIALIZED_SIZE;
+    }
+    
+    /**
+     * Escribe el PCB completo en un checkpoint. No incluye la posición en
+     * colas ni la vista del snapshot: eso lo reconstruye quien restaura.
+     */
+    public void writeTo(ByteBuffer buffer) {
+        buffer.putInt(pid);
+        BinaryIO.putString(buffer, name);
+        buffer.putInt(state.ordinal());
+        buffer.putInt(pc);
+        buffer.putInt(mar);
+        buffer.putInt(totalInstructions);
+        buffer.putInt(instructionsRemaining);
+        buffer.putInt(priority);
+        buffer.putInt(arrivalTick);
+        buffer.putInt(relativeDeadline);
+        buffer.putInt(absoluteDeadline);
+        buffer.putInt(waitTime);
+        buffer.putInt(turnaroundTime);
+        buffer.putInt(completionTick);
+        buffer.putInt(firstDispatchTick);
+        buffer.put((byte) (missedDeadline ? 1 : 0));
+        buffer.put((byte) (isISR ? 1 : 0));
+        buffer.put((byte) (ioSpec != null ? 1 : 0));
+        if (ioSpec != null) {
+            ioSpec.writeTo(buffer);
+        }
+    }
+    
+    /**
+     * Lee un PCB escrito con writeTo.
+     */
+    public static SimProcess readFrom(ByteBuffer buffer) {
+        int pid = buffer.getInt();
+        String name = BinaryIO.getString(buffer);
+        SimProcess p = new SimProcess(pid, name, 0, 0, 0, 0);
+        p.state = ProcessState.values()[buffer.getInt()];
+        p.pc = buffer.getInt();
+        p.mar = buffer.getInt();
+        p.totalInstructions = buffer.getInt();
+        p.instructionsRemaining = buffer.getInt();
+        p.priority = buffer.getInt();
+        p.arrivalTick = buffer.getInt();
+        p.relativeDeadline = buffer.getInt();
+        p.absoluteDeadline = buffer.getInt();
+        p.waitTime = buffer.getInt();
+        p.turnaroundTime = buffer.getInt();
+        p.completionTick = buffer.getInt();
+        p.firstDispatchTick = buffer.getInt();
+        p.missedDeadline = buffer.get() != 0;
+        p.isISR = buffer.get() != 0;
+        if (buffer.get() != 0) {
+            p.ioSpec = IOSpec.readFrom(buffer);
+        }
+        return p;
+    }
+    
     @Override
     public String toString() {
         return String.format("P%d[%s, state=%s, PC=%d, remaining=%d, deadline=%d, priority=%d]",
@@ -0,0 +1,143 @@
+package ds;
+
+/**
+ * Arreglo que solo crece por el final, sin usar Collections de Java.
+ * Las posiciones ya escritas nunca cambian, así que una vista (View) puede
+ * compartir el arreglo interno sin copiarlo: basta con recordar cuántos
+ * elementos había al crearla. Al crecer se copia a un arreglo nuevo y las
+ * vistas anteriores siguen apuntando al viejo, que ya no se modifica.
+ * Con retainLast() se puede acotar la memoria conservando solo la cola.
+ *
+ * @param <T> Tipo de dato almacenado
+ */
+public class AppendOnlyArray<T> {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final View<Object> EMPTY = new View<>(new Object[0], 0, 0);
+
+    private Object[] items;
+    private int size;
+    private View<T> lastView; // se reutiliza mientras no se agregue nada
+    private int lastViewLimit;
+
+    public AppendOnlyArray() {
+        this.items = new Object[INITIAL_CAPACITY];
+        this.size = 0;
+        this.lastView = null;
+    }
+
+    /**
+     * Agrega un elemento al final.
+     * Complejidad: O(1) amortizado
+     */
+    public void add(T value) {
+        if (size == items.length) {
+            Object[] grown = new Object[items.length * 2];
+            System.arraycopy(items, 0, grown, 0, size);
+            items = grown;
+        }
+        items[size++] = value;
+        lastView = null;
+    }
+
+    /**
+     * Obtiene el elemento en la posición indicada.
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        return (T) items[index];
+    }
+
+    /**
+     * Retorna la cantidad de elementos.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Retorna una vista inmutable de los elementos actuales, sin copiarlos.
+     * Si no se agregó nada desde la última llamada, retorna la misma vista.
+     * Complejidad: O(1)
+     */
+    public View<T> view() {
+        return view(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Retorna una vista inmutable de a lo sumo los últimos n elementos.
+     * Complejidad: O(1)
+     */
+    public View<T> view(int n) {
+        if (lastView == null || lastViewLimit != n) {
+            int start = Math.max(0, size - n);
+            lastView = new View<>(items, start, size);
+            lastViewLimit = n;
+        }
+        return lastView;
+    }
+
+    /**
+     * Descarta todo menos los últimos n elementos, copiándolos a un arreglo
+     * nuevo. Las vistas ya entregadas siguen apuntando al arreglo anterior,
+     * que no se modifica, así que siguen siendo válidas.
+     * Complejidad: O(n)
+     */
+    public void retainLast(int n) {
+        if (n >= size) {
+            return;
+        }
+        Object[] kept = new Object[Math.max(INITIAL_CAPACITY, n * 2)];
+        System.arraycopy(items, size - n, kept, 0, n);
+        items = kept;
+        size = n;
+        lastView = null;
+    }
+
+    /**
+     * Retorna la vista vacía compartida.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> View<T> emptyView() {
+        return (View<T>) EMPTY;
+    }
+
+    /**
+     * Vista de solo lectura de un rango del arreglo.
+     */
+    public static final class View<T> {
+        private final Object[] items;
+        private final int start;
+        private final int size;
+
+        private View(Object[] items, int start, int end) {
+            this.items = items;
+            this.start = start;
+            this.size = end - start;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        public T get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Índice " + index + " fuera de [0, " + size + ")");
+            }
+            return (T) items[start + index];
+        }
+
+        /**
+         * Copia los elementos a un arreglo (solo si el llamador lo necesita).
+         */
+        public Object[] toArray() {
+            Object[] array = new Object[size];
+            System.arraycopy(items, start, array, 0, size);
+            return array;
+        }
+    }
+}
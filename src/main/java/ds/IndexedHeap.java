@@ -0,0 +1,455 @@
+package ds;
+
+/**
+ * Montículo binario indexado implementado sin usar Collections de Java.
+ * El orden lo define un Comparator intercambiable (por ejemplo, según la
+ * política de planificación activa). Cada elemento guarda su posición en
+ * el arreglo, lo que permite removerlo sin recorrer el montículo.
+ *
+ * Los empates se resuelven por orden de inserción, de modo que el
+ * montículo se comporta igual que una lista FIFO cuando el comparador
+ * no distingue entre dos elementos.
+ *
+ * @param <T> Tipo de dato almacenado (debe poder guardar su índice)
+ */
+public class IndexedHeap<T extends IndexedHeap.Indexed> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Object[] items;
+    private long[] order;      // secuencia de inserción de cada posición
+    private int size;
+    private long nextOrder;    // secuencia creciente para offer()
+    private long frontOrder;   // secuencia decreciente para offerFirst()
+    private SinglyLinkedList.Comparator<T> comparator;
+    private int modCount;      // cambia en cada modificación (ver getModCount)
+
+    /**
+     * @param comparator Función que retorna true si el primer arg debe salir antes que el segundo
+     */
+    public IndexedHeap(SinglyLinkedList.Comparator<T> comparator) {
+        this.items = new Object[INITIAL_CAPACITY];
+        this.order = new long[INITIAL_CAPACITY];
+        this.size = 0;
+        this.nextOrder = 0;
+        this.frontOrder = 0;
+        this.comparator = comparator;
+    }
+
+    /**
+     * Inserta un elemento detrás de todos los que empatan con él.
+     * Complejidad: O(log n)
+     */
+    public void offer(T value) {
+        insert(value, nextOrder++);
+    }
+
+    /**
+     * Inserta un elemento delante de todos los que empatan con él
+     * (equivalente a addFirst en una lista).
+     * Complejidad: O(log n)
+     */
+    public void offerFirst(T value) {
+        insert(value, --frontOrder);
+    }
+
+    /**
+     * Obtiene el mejor elemento sin removerlo.
+     * Complejidad: O(1)
+     *
+     * @return El mejor elemento, o null si el montículo está vacío
+     */
+    @SuppressWarnings("unchecked")
+    public T peek() {
+        return size == 0 ? null : (T) items[0];
+    }
+
+    /**
+     * Remueve y retorna el mejor elemento.
+     * Complejidad: O(log n)
+     *
+     * @return El mejor elemento, o null si el montículo está vacío
+     */
+    public T poll() {
+        if (size == 0) {
+            return null;
+        }
+        return removeAt(0);
+    }
+
+    /**
+     * Remueve un elemento arbitrario usando el índice que guarda.
+     * Complejidad: O(log n)
+     *
+     * @return true si se removió, false si no estaba en este montículo
+     */
+    public boolean remove(T value) {
+        if (!contains(value)) {
+            return false;
+        }
+        removeAt(value.getHeapIndex());
+        return true;
+    }
+
+    /**
+     * Verifica si el elemento está en este montículo.
+     * Complejidad: O(1)
+     */
+    public boolean contains(T value) {
+        int index = value.getHeapIndex();
+        return index >= 0 && index < size && items[index] == value;
+    }
+
+    /**
+     * Cambia el criterio de orden y reconstruye el montículo.
+     * Se conserva el orden de inserción para los empates.
+     * Complejidad: O(n)
+     */
+    public void setComparator(SinglyLinkedList.Comparator<T> comparator) {
+        this.comparator = comparator;
+        modCount++;
+        for (int i = (size >>> 1) - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+    }
+
+    /**
+     * Busca el elemento que sale primero según otro comparador, sin
+     * modificar el montículo. Los empates se resuelven por orden de inserción.
+     * Complejidad: O(n)
+     *
+     * @return El elemento encontrado, o null si el montículo está vacío
+     */
+    @SuppressWarnings("unchecked")
+    public T minBy(SinglyLinkedList.Comparator<T> criteria) {
+        if (size == 0) {
+            return null;
+        }
+
+        int best = 0;
+        for (int i = 1; i < size; i++) {
+            T candidate = (T) items[i];
+            T current = (T) items[best];
+            if (criteria.compare(candidate, current)
+                    || (!criteria.compare(current, candidate) && order[i] < order[best])) {
+                best = i;
+            }
+        }
+        return (T) items[best];
+    }
+
+    /**
+     * Aplica el visitor a cada elemento (orden interno, no de salida).
+     * Complejidad: O(n)
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(SinglyLinkedList.Visitor<T> visitor) {
+        for (int i = 0; i < size; i++) {
+            visitor.visit((T) items[i]);
+        }
+    }
+
+    /**
+     * Acumula un int recorriendo el montículo (sin boxing).
+     * Complejidad: O(n)
+     */
+    @SuppressWarnings("unchecked")
+    public int foldInt(int initial, SinglyLinkedList.IntFolder<T> folder) {
+        int accumulator = initial;
+        for (int i = 0; i < size; i++) {
+            accumulator = folder.fold(accumulator, (T) items[i]);
+        }
+        return accumulator;
+    }
+
+    /**
+     * Obtiene el elemento en una posición del arreglo interno.
+     * Permite recorrer el montículo sin crear arreglos (orden interno, no de salida).
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        return (T) items[index];
+    }
+
+    /**
+     * Secuencia de desempate del elemento en una posición del arreglo interno.
+     * Junto con get(i) permite guardar el montículo tal cual está.
+     */
+    public long getSequence(int index) {
+        return order[index];
+    }
+
+    /**
+     * Próxima secuencia que usará offer().
+     */
+    public long getNextSequence() {
+        return nextOrder;
+    }
+
+    /**
+     * Última secuencia que usó offerFirst().
+     */
+    public long getFrontSequence() {
+        return frontOrder;
+    }
+
+    /**
+     * Agrega un elemento al final del arreglo interno con su secuencia, sin
+     * reordenar. Sirve para reconstruir un montículo guardado posición por
+     * posición (get/getSequence); al terminar se llama a setSequences.
+     * Complejidad: O(1) amortizado
+     */
+    public void load(T value, long sequence) {
+        if (size == items.length) {
+            grow();
+        }
+        items[size] = value;
+        order[size] = sequence;
+        value.setHeapIndex(size);
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Restaura los contadores de secuencia después de load() y verifica el
+     * orden (si el arreglo guardado ya era un montículo, no mueve nada).
+     * Complejidad: O(n)
+     */
+    public void setSequences(long nextSequence, long frontSequence) {
+        this.nextOrder = nextSequence;
+        this.frontOrder = frontSequence;
+        for (int i = (size >>> 1) - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+    }
+
+    /**
+     * Verifica si el montículo está vacío.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Retorna la cantidad de elementos.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Contador de modificaciones: si no cambió entre dos lecturas, el
+     * contenido y el orden interno del montículo son los mismos.
+     */
+    public int getModCount() {
+        return modCount;
+    }
+
+    /**
+     * Limpia todo el montículo.
+     */
+    @SuppressWarnings("unchecked")
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            ((T) items[i]).setHeapIndex(-1);
+            items[i] = null;
+        }
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Convierte el montículo a un arreglo de Object (orden interno).
+     * Complejidad: O(n)
+     */
+    public Object[] toArray() {
+        Object[] array = new Object[size];
+        System.arraycopy(items, 0, array, 0, size);
+        return array;
+    }
+
+    /**
+     * Convierte el montículo a un arreglo en orden de salida: el mismo orden
+     * en que los devolvería poll(), con los empates por orden de inserción.
+     * No modifica el montículo.
+     * Complejidad: O(n log n)
+     */
+    public Object[] toSortedArray() {
+        Object[] sorted = toArray();
+        long[] sequences = new long[size];
+        System.arraycopy(order, 0, sequences, 0, size);
+        Object[] itemBuffer = new Object[size];
+        long[] sequenceBuffer = new long[size];
+
+        // Merge sort de abajo hacia arriba sobre las copias (estable)
+        for (int width = 1; width < size; width <<= 1) {
+            for (int from = 0; from < size; from += 2 * width) {
+                int mid = Math.min(from + width, size);
+                int to = Math.min(from + 2 * width, size);
+                int i = from;
+                int j = mid;
+                int k = from;
+                while (i < mid && j < to) {
+                    if (precedes(sorted[j], sequences[j], sorted[i], sequences[i])) {
+                        itemBuffer[k] = sorted[j];
+                        sequenceBuffer[k++] = sequences[j++];
+                    } else {
+                        itemBuffer[k] = sorted[i];
+                        sequenceBuffer[k++] = sequences[i++];
+                    }
+                }
+                while (i < mid) {
+                    itemBuffer[k] = sorted[i];
+                    sequenceBuffer[k++] = sequences[i++];
+                }
+                while (j < to) {
+                    itemBuffer[k] = sorted[j];
+                    sequenceBuffer[k++] = sequences[j++];
+                }
+            }
+            Object[] tmpItems = sorted;
+            sorted = itemBuffer;
+            itemBuffer = tmpItems;
+            long[] tmpSequences = sequences;
+            sequences = sequenceBuffer;
+            sequenceBuffer = tmpSequences;
+        }
+        return sorted;
+    }
+
+    private void insert(T value, long sequence) {
+        if (size == items.length) {
+            grow();
+        }
+        items[size] = value;
+        order[size] = sequence;
+        value.setHeapIndex(size);
+        size++;
+        modCount++;
+        siftUp(size - 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T removeAt(int index) {
+        T removed = (T) items[index];
+        int last = size - 1;
+
+        if (index != last) {
+            move(last, index);
+        }
+        items[last] = null;
+        size--;
+        modCount++;
+        removed.setHeapIndex(-1);
+
+        if (index < size) {
+            siftDown(index);
+            siftUp(index);
+        }
+        return removed;
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!before(index, parent)) {
+                break;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= size) {
+                break;
+            }
+            int best = left;
+            int right = left + 1;
+            if (right < size && before(right, left)) {
+                best = right;
+            }
+            if (!before(best, index)) {
+                break;
+            }
+            swap(index, best);
+            index = best;
+        }
+    }
+
+    private boolean before(int i, int j) {
+        return precedes(items[i], order[i], items[j], order[j]);
+    }
+
+    // true si a (con secuencia sa) sale antes que b (con secuencia sb)
+    @SuppressWarnings("unchecked")
+    private boolean precedes(Object a, long sa, Object b, long sb) {
+        if (comparator.compare((T) a, (T) b)) {
+            return true;
+        }
+        if (comparator.compare((T) b, (T) a)) {
+            return false;
+        }
+        return sa < sb;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void swap(int i, int j) {
+        Object tmpItem = items[i];
+        long tmpOrder = order[i];
+        items[i] = items[j];
+        order[i] = order[j];
+        items[j] = tmpItem;
+        order[j] = tmpOrder;
+        ((T) items[i]).setHeapIndex(i);
+        ((T) items[j]).setHeapIndex(j);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void move(int from, int to) {
+        items[to] = items[from];
+        order[to] = order[from];
+        ((T) items[to]).setHeapIndex(to);
+    }
+
+    private void grow() {
+        int newCapacity = items.length * 2;
+        Object[] newItems = new Object[newCapacity];
+        long[] newOrder = new long[newCapacity];
+        System.arraycopy(items, 0, newItems, 0, size);
+        System.arraycopy(order, 0, newOrder, 0, size);
+        items = newItems;
+        order = newOrder;
+    }
+
+    /**
+     * Interfaz para elementos que guardan su posición dentro del montículo.
+     * Un elemento solo puede estar en un montículo a la vez.
+     */
+    public interface Indexed {
+        /**
+         * @return índice actual en el montículo, o -1 si no está en ninguno
+         */
+        int getHeapIndex();
+
+        void setHeapIndex(int index);
+    }
+
+    @Override
+    public String toString() {
+        if (isEmpty()) {
+            return "[]";
+        }
+
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            sb.append(items[i]);
+            if (i < size - 1) {
+                sb.append(", ");
+            }
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+}
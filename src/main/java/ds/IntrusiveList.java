@@ -0,0 +1,304 @@
+package ds;
+
+/**
+ * Lista doblemente enlazada intrusiva implementada sin usar Collections de Java.
+ * Cada elemento lleva su propio enlace (Link), por lo que agregar, remover o
+ * mover un elemento entre listas es O(1) y no crea nodos nuevos.
+ *
+ * Un elemento solo puede estar en una lista intrusiva a la vez: agregarlo a
+ * otra lista lo desenlaza primero de la anterior.
+ *
+ * @param <T> Tipo de dato almacenado (debe exponer su enlace)
+ */
+public class IntrusiveList<T extends IntrusiveList.Linked<T>> {
+    private T head;
+    private T tail;
+    private int size;
+    private int modCount; // cambia en cada modificación (ver getModCount)
+
+    public IntrusiveList() {
+        this.head = null;
+        this.tail = null;
+        this.size = 0;
+    }
+
+    /**
+     * Agrega un elemento al final de la lista (lo mueve si estaba en otra).
+     * Complejidad: O(1)
+     */
+    public void addLast(T value) {
+        Link<T> link = detach(value);
+
+        link.owner = this;
+        link.prev = tail;
+        link.next = null;
+        if (tail == null) {
+            head = value;
+        } else {
+            tail.getLink().next = value;
+        }
+        tail = value;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Agrega un elemento al inicio de la lista (lo mueve si estaba en otra).
+     * Complejidad: O(1)
+     */
+    public void addFirst(T value) {
+        Link<T> link = detach(value);
+
+        link.owner = this;
+        link.prev = null;
+        link.next = head;
+        if (head == null) {
+            tail = value;
+        } else {
+            head.getLink().prev = value;
+        }
+        head = value;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Remueve y retorna el primer elemento.
+     * Complejidad: O(1)
+     *
+     * @return El primer elemento, o null si la lista está vacía
+     */
+    public T removeFirst() {
+        if (head == null) {
+            return null;
+        }
+
+        T value = head;
+        unlink(value);
+        return value;
+    }
+
+    /**
+     * Remueve el elemento usando su propio enlace.
+     * Complejidad: O(1)
+     *
+     * @return true si se removió, false si no estaba en esta lista
+     */
+    public boolean remove(T value) {
+        if (!contains(value)) {
+            return false;
+        }
+        unlink(value);
+        return true;
+    }
+
+    /**
+     * Verifica si el elemento está en esta lista.
+     * Complejidad: O(1)
+     */
+    public boolean contains(T value) {
+        return value.getLink().owner == this;
+    }
+
+    /**
+     * Obtiene el primer elemento sin removerlo.
+     *
+     * @return El primer elemento, o null si la lista está vacía
+     */
+    public T getFirst() {
+        return head;
+    }
+
+    /**
+     * Obtiene el último elemento sin removerlo.
+     *
+     * @return El último elemento, o null si la lista está vacía
+     */
+    public T getLast() {
+        return tail;
+    }
+
+    /**
+     * Obtiene el elemento siguiente a uno de esta lista.
+     * Permite recorrer la lista sin crear arreglos ni iteradores:
+     * for (T x = list.getFirst(); x != null; x = list.next(x))
+     *
+     * @return El siguiente elemento, o null si es el último
+     */
+    public T next(T value) {
+        return value.getLink().next;
+    }
+
+    /**
+     * Aplica el visitor a cada elemento, en orden, sin crear arreglos.
+     * Complejidad: O(n)
+     */
+    public void forEach(SinglyLinkedList.Visitor<T> visitor) {
+        for (T current = head; current != null; current = current.getLink().next) {
+            visitor.visit(current);
+        }
+    }
+
+    /**
+     * Acumula un int recorriendo la lista (sin boxing).
+     * Complejidad: O(n)
+     */
+    public int foldInt(int initial, SinglyLinkedList.IntFolder<T> folder) {
+        int accumulator = initial;
+        for (T current = head; current != null; current = current.getLink().next) {
+            accumulator = folder.fold(accumulator, current);
+        }
+        return accumulator;
+    }
+
+    /**
+     * Busca el primer elemento que ningún otro debe preceder según el comparador.
+     * Ante empates gana el que aparece primero en la lista.
+     * Complejidad: O(n)
+     *
+     * @return El elemento encontrado, o null si la lista está vacía
+     */
+    public T minBy(SinglyLinkedList.Comparator<T> comparator) {
+        if (head == null) {
+            return null;
+        }
+
+        T best = head;
+        for (T current = head.getLink().next; current != null; current = current.getLink().next) {
+            if (comparator.compare(current, best)) {
+                best = current;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Verifica si la lista está vacía.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Retorna el tamaño de la lista.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Limpia toda la lista, desenlazando cada elemento.
+     * Complejidad: O(n)
+     */
+    public void clear() {
+        T current = head;
+        while (current != null) {
+            Link<T> link = current.getLink();
+            T next = link.next;
+            link.prev = null;
+            link.next = null;
+            link.owner = null;
+            current = next;
+        }
+        head = null;
+        tail = null;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Contador de modificaciones: si no cambió entre dos lecturas, la
+     * lista tiene los mismos elementos en el mismo orden.
+     */
+    public int getModCount() {
+        return modCount;
+    }
+
+    /**
+     * Convierte la lista a un arreglo de Object.
+     * Complejidad: O(n)
+     *
+     * @return Arreglo con los elementos de la lista
+     */
+    public Object[] toArray() {
+        Object[] array = new Object[size];
+        int index = 0;
+
+        for (T current = head; current != null; current = current.getLink().next) {
+            array[index++] = current;
+        }
+
+        return array;
+    }
+
+    // Desenlaza el elemento de la lista en la que esté (si está en alguna)
+    private static <T extends Linked<T>> Link<T> detach(T value) {
+        Link<T> link = value.getLink();
+        if (link.owner != null) {
+            link.owner.unlink(value);
+        }
+        return link;
+    }
+
+    private void unlink(T value) {
+        Link<T> link = value.getLink();
+
+        if (link.prev == null) {
+            head = link.next;
+        } else {
+            link.prev.getLink().next = link.next;
+        }
+
+        if (link.next == null) {
+            tail = link.prev;
+        } else {
+            link.next.getLink().prev = link.prev;
+        }
+
+        link.prev = null;
+        link.next = null;
+        link.owner = null;
+        size--;
+        modCount++;
+    }
+
+    /**
+     * Enlace embebido en cada elemento. Guarda vecinos y la lista dueña.
+     */
+    public static final class Link<T extends Linked<T>> {
+        T prev;
+        T next;
+        IntrusiveList<T> owner;
+
+        /**
+         * @return La lista que contiene al elemento, o null si no está en ninguna
+         */
+        public IntrusiveList<T> getOwner() {
+            return owner;
+        }
+    }
+
+    /**
+     * Interfaz para elementos que llevan su propio enlace.
+     */
+    public interface Linked<T extends Linked<T>> {
+        Link<T> getLink();
+    }
+
+    @Override
+    public String toString() {
+        if (isEmpty()) {
+            return "[]";
+        }
+
+        StringBuilder sb = new StringBuilder("[");
+        for (T current = head; current != null; current = current.getLink().next) {
+            sb.append(current);
+            if (current.getLink().next != null) {
+                sb.append(", ");
+            }
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+}
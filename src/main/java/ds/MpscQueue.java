@@ -0,0 +1,86 @@
+package ds;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Cola sin bloqueos para muchos productores y un solo consumidor (MPSC),
+ * al estilo de Dmitry Vyukov, sin usar Collections de Java.
+ *
+ * Los productores publican con un único getAndSet atómico sobre la cabeza,
+ * así que nunca esperan a otro hilo. Solo un hilo (el consumidor) puede
+ * llamar poll(), drain() o isEmpty().
+ *
+ * Si un productor se detiene entre el getAndSet y el enlace, el consumidor
+ * ve la cola momentáneamente vacía; el elemento aparece en el siguiente drenado.
+ *
+ * @param <T> Tipo de dato almacenado
+ */
+public class MpscQueue<T> {
+    private final AtomicReference<Slot<T>> head; // último publicado (lado productores)
+    private Slot<T> tail;                        // centinela (lado consumidor)
+
+    public MpscQueue() {
+        Slot<T> stub = new Slot<>(null);
+        this.head = new AtomicReference<>(stub);
+        this.tail = stub;
+    }
+
+    /**
+     * Publica un elemento. Seguro desde cualquier hilo, nunca bloquea.
+     * Complejidad: O(1)
+     */
+    public void offer(T value) {
+        Slot<T> slot = new Slot<>(value);
+        Slot<T> previous = head.getAndSet(slot);
+        previous.next = slot;
+    }
+
+    /**
+     * Remueve el elemento más viejo. Solo desde el hilo consumidor.
+     * Complejidad: O(1)
+     *
+     * @return El elemento más viejo, o null si no hay ninguno visible
+     */
+    public T poll() {
+        Slot<T> next = tail.next;
+        if (next == null) {
+            return null;
+        }
+        T value = next.value;
+        next.value = null; // el nodo pasa a ser el nuevo centinela
+        tail = next;
+        return value;
+    }
+
+    /**
+     * Entrega al visitor todo lo publicado hasta ahora, en orden de llegada.
+     * Solo desde el hilo consumidor.
+     *
+     * @return Cantidad de elementos drenados
+     */
+    public int drain(SinglyLinkedList.Visitor<T> visitor) {
+        int count = 0;
+        T value;
+        while ((value = poll()) != null) {
+            visitor.visit(value);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Verifica si no hay elementos visibles. Solo desde el hilo consumidor.
+     */
+    public boolean isEmpty() {
+        return tail.next == null;
+    }
+
+    private static final class Slot<T> {
+        T value;
+        volatile Slot<T> next;
+
+        Slot(T value) {
+            this.value = value;
+        }
+    }
+}
@@ -71,6 +71,38 @@ public class Queue<T> {
         return list.toArray();
     }
     
+    /**
+     * Retorna el cursor reutilizable de la cola, desde el frente.
+     * Ver SinglyLinkedList.cursor() para sus restricciones.
+     */
+    public SinglyLinkedList.Cursor<T> cursor() {
+        return list.cursor();
+    }
+    
+    /**
+     * Aplica el visitor a cada elemento, del frente al final.
+     * Complejidad: O(n)
+     */
+    public void forEach(SinglyLinkedList.Visitor<T> visitor) {
+        list.forEach(visitor);
+    }
+    
+    /**
+     * Acumula un int recorriendo la cola (sin boxing).
+     * Complejidad: O(n)
+     */
+    public int foldInt(int initial, SinglyLinkedList.IntFolder<T> folder) {
+        return list.foldInt(initial, folder);
+    }
+    
+    /**
+     * Busca el primer elemento que ningún otro debe preceder según el comparador.
+     * Complejidad: O(n)
+     */
+    public T minBy(SinglyLinkedList.Comparator<T> comparator) {
+        return list.minBy(comparator);
+    }
+    
     @Override
     public String toString() {
         return list.toString();
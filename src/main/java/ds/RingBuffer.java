@@ -0,0 +1,223 @@
+package ds;
+
+/**
+ * Cola circular de capacidad fija respaldada por un arreglo, sin usar
+ * Collections de Java. El arreglo interno tiene tamaño potencia de dos, así
+ * que avanzar los índices es un AND con una máscara. Encolar y desencolar
+ * no crean objetos.
+ *
+ * Si se crea con sobrescritura, al llenarse descarta el elemento más viejo
+ * (útil para logs); si no, offer() retorna false y el llamador decide.
+ *
+ * @param <T> Tipo de dato almacenado
+ */
+public class RingBuffer<T> {
+    private final Object[] buffer;
+    private final int mask;
+    private final int capacity;
+    private final boolean overwrite;
+    private int head;  // posición del más viejo
+    private int size;
+    private long overwritten; // elementos descartados por sobrescritura
+
+    /**
+     * @param capacity Cantidad máxima de elementos (el arreglo se redondea a potencia de dos)
+     * @param overwrite true para descartar el más viejo cuando está llena
+     */
+    public RingBuffer(int capacity, boolean overwrite) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacidad inválida: " + capacity);
+        }
+        int length = 1;
+        while (length < capacity) {
+            length <<= 1;
+        }
+        this.buffer = new Object[length];
+        this.mask = length - 1;
+        this.capacity = capacity;
+        this.overwrite = overwrite;
+        this.head = 0;
+        this.size = 0;
+        this.overwritten = 0;
+    }
+
+    /**
+     * Agrega un elemento al final.
+     * Complejidad: O(1)
+     *
+     * @return true si se agregó, false si está llena y no sobrescribe
+     */
+    public boolean offer(T value) {
+        if (size == capacity) {
+            if (!overwrite) {
+                return false;
+            }
+            // Descartar el más viejo para hacer espacio
+            buffer[head] = null;
+            head = (head + 1) & mask;
+            size--;
+            overwritten++;
+        }
+        buffer[(head + size) & mask] = value;
+        size++;
+        return true;
+    }
+
+    /**
+     * Remueve y retorna el elemento más viejo.
+     * Complejidad: O(1)
+     *
+     * @return El elemento más viejo, o null si está vacía
+     */
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        if (size == 0) {
+            return null;
+        }
+        T value = (T) buffer[head];
+        buffer[head] = null;
+        head = (head + 1) & mask;
+        size--;
+        return value;
+    }
+
+    /**
+     * Obtiene el elemento más viejo sin removerlo.
+     *
+     * @return El elemento más viejo, o null si está vacía
+     */
+    @SuppressWarnings("unchecked")
+    public T peek() {
+        return size == 0 ? null : (T) buffer[head];
+    }
+
+    /**
+     * Obtiene el i-ésimo elemento contando desde el más viejo.
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        return (T) buffer[(head + index) & mask];
+    }
+
+    /**
+     * Reemplaza el i-ésimo elemento contando desde el más viejo.
+     */
+    public void set(int index, T value) {
+        buffer[(head + index) & mask] = value;
+    }
+
+    /**
+     * Posición en el arreglo interno del i-ésimo elemento contando desde el
+     * más viejo. Sirve para guardar datos primitivos en arreglos paralelos
+     * de largo slots(): la posición no cambia mientras el elemento esté en
+     * la cola.
+     */
+    public int slotOf(int index) {
+        return (head + index) & mask;
+    }
+
+    /**
+     * Retorna el largo del arreglo interno (capacidad redondeada a potencia de dos).
+     */
+    public int slots() {
+        return buffer.length;
+    }
+
+    /**
+     * Copia todos los elementos, del más viejo al más nuevo, a un arreglo.
+     * Usa a lo sumo dos System.arraycopy. El arreglo destino puede ser de un
+     * subtipo (por ejemplo String[]) siempre que los elementos sean compatibles.
+     * Complejidad: O(n)
+     *
+     * @return Cantidad de elementos copiados
+     */
+    public int copyTo(Object[] dest, int offset) {
+        int first = Math.min(size, buffer.length - head);
+        System.arraycopy(buffer, head, dest, offset, first);
+        System.arraycopy(buffer, 0, dest, offset + first, size - first);
+        return size;
+    }
+
+    /**
+     * Aplica el visitor a cada elemento, del más viejo al más nuevo.
+     * Complejidad: O(n)
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(SinglyLinkedList.Visitor<T> visitor) {
+        for (int i = 0; i < size; i++) {
+            visitor.visit((T) buffer[(head + i) & mask]);
+        }
+    }
+
+    /**
+     * Verifica si está vacía.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Verifica si alcanzó su capacidad.
+     */
+    public boolean isFull() {
+        return size == capacity;
+    }
+
+    /**
+     * Retorna la cantidad de elementos.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Retorna la capacidad máxima pedida al crearla.
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Retorna cuántos elementos se descartaron por sobrescritura.
+     */
+    public long getOverwritten() {
+        return overwritten;
+    }
+
+    /**
+     * Limpia toda la cola.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            buffer[(head + i) & mask] = null;
+        }
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Convierte la cola a un arreglo de Object (del más viejo al más nuevo).
+     */
+    public Object[] toArray() {
+        Object[] array = new Object[size];
+        copyTo(array, 0);
+        return array;
+    }
+
+    @Override
+    public String toString() {
+        if (isEmpty()) {
+            return "[]";
+        }
+
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            sb.append(buffer[(head + i) & mask]);
+            if (i < size - 1) {
+                sb.append(", ");
+            }
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+}
@@ -10,11 +10,13 @@ public class SinglyLinkedList<T> {
     private Node<T> head;
     private Node<T> tail;
     private int size;
+    private final Cursor<T> cursor; // cursor reutilizable (ver cursor())
     
     public SinglyLinkedList() {
         this.head = null;
         this.tail = null;
         this.size = 0;
+        this.cursor = new Cursor<>(this);
     }
     
     /**
@@ -178,6 +180,66 @@ public class SinglyLinkedList<T> {
         return array;
     }
     
+    /**
+     * Retorna el cursor de la lista, reiniciado al primer elemento.
+     * El cursor es único por lista y se reutiliza en cada llamada, así que
+     * recorrer no crea objetos. No admite dos recorridos anidados de la
+     * misma lista ni modificar la lista mientras se recorre.
+     * 
+     * @return Cursor posicionado antes del primer elemento
+     */
+    public Cursor<T> cursor() {
+        cursor.reset();
+        return cursor;
+    }
+    
+    /**
+     * Aplica el visitor a cada elemento, en orden, sin crear arreglos.
+     * Complejidad: O(n)
+     */
+    public void forEach(Visitor<T> visitor) {
+        for (Node<T> current = head; current != null; current = current.next) {
+            visitor.visit(current.value);
+        }
+    }
+    
+    /**
+     * Acumula un int recorriendo la lista (sin boxing).
+     * Complejidad: O(n)
+     * 
+     * @param initial Valor inicial del acumulador
+     * @param folder Función que combina el acumulador con cada elemento
+     * @return El acumulador final
+     */
+    public int foldInt(int initial, IntFolder<T> folder) {
+        int accumulator = initial;
+        for (Node<T> current = head; current != null; current = current.next) {
+            accumulator = folder.fold(accumulator, current.value);
+        }
+        return accumulator;
+    }
+    
+    /**
+     * Busca el primer elemento que ningún otro debe preceder según el comparador.
+     * Ante empates gana el que aparece primero en la lista.
+     * Complejidad: O(n)
+     * 
+     * @return El elemento encontrado, o null si la lista está vacía
+     */
+    public T minBy(Comparator<T> comparator) {
+        if (head == null) {
+            return null;
+        }
+        
+        T best = head.value;
+        for (Node<T> current = head.next; current != null; current = current.next) {
+            if (comparator.compare(current.value, best)) {
+                best = current.value;
+            }
+        }
+        return best;
+    }
+    
     /**
      * Inserta un elemento en posición ordenada según un comparador.
      * Útil para políticas de scheduling ordenadas (EDF, SRT, PRIO).
@@ -227,6 +289,56 @@ public class SinglyLinkedList<T> {
         boolean compare(T a, T b);
     }
     
+    /**
+     * Visitor para recorrer estructuras sin usar java.util.function
+     */
+    public interface Visitor<T> {
+        void visit(T value);
+    }
+    
+    /**
+     * Acumulador con int primitivo para recorridos sin boxing
+     */
+    public interface IntFolder<T> {
+        /**
+         * @return nuevo valor del acumulador tras procesar value
+         */
+        int fold(int accumulator, T value);
+    }
+    
+    /**
+     * Cursor reutilizable sobre la lista. Se obtiene con cursor().
+     */
+    public static final class Cursor<T> {
+        private final SinglyLinkedList<T> list;
+        private Node<T> current;
+        
+        private Cursor(SinglyLinkedList<T> list) {
+            this.list = list;
+        }
+        
+        // Vuelve al inicio de la lista
+        void reset() {
+            current = list.head;
+        }
+        
+        public boolean hasNext() {
+            return current != null;
+        }
+        
+        /**
+         * @return El siguiente elemento, o null si ya no quedan
+         */
+        public T next() {
+            if (current == null) {
+                return null;
+            }
+            T value = current.value;
+            current = current.next;
+            return value;
+        }
+    }
+    
     @Override
     public String toString() {
         if (isEmpty()) {
@@ -0,0 +1,167 @@
+package ds;
+
+/**
+ * Rueda de tiempo con hash (hashed timing wheel) sin usar Collections de Java.
+ * Cada elemento se agenda para un tick absoluto y cae en la ranura
+ * tick & mask. Al avanzar a un tick solo se revisa su ranura, así que el
+ * costo por tick depende de los vencimientos y no del total agendado.
+ *
+ * Los elementos agendados a más de una vuelta de distancia comparten ranura
+ * con otros y se quedan ahí hasta que llegue su tick. Dentro de una ranura se
+ * respeta el orden de agendado. Cada ranura es un arreglo que crece por
+ * duplicación, por lo que en régimen estable agendar no crea objetos.
+ *
+ * @param <T> Tipo de dato agendado
+ */
+public class TimingWheel<T> {
+    private static final int INITIAL_SLOT_CAPACITY = 4;
+
+    private final Object[][] slotItems;
+    private final int[][] slotDeadlines;
+    private final int[] slotSizes;
+    private final int mask;
+    private int size;
+
+    /**
+     * @param slots Cantidad de ranuras (se redondea a potencia de dos)
+     */
+    public TimingWheel(int slots) {
+        int length = 1;
+        while (length < slots) {
+            length <<= 1;
+        }
+        this.slotItems = new Object[length][];
+        this.slotDeadlines = new int[length][];
+        this.slotSizes = new int[length];
+        this.mask = length - 1;
+        this.size = 0;
+    }
+
+    /**
+     * Agenda un elemento para que venza en el tick indicado.
+     * Complejidad: O(1) amortizado
+     */
+    public void schedule(T value, int deadlineTick) {
+        int slot = deadlineTick & mask;
+        int count = slotSizes[slot];
+
+        if (slotItems[slot] == null) {
+            slotItems[slot] = new Object[INITIAL_SLOT_CAPACITY];
+            slotDeadlines[slot] = new int[INITIAL_SLOT_CAPACITY];
+        } else if (count == slotItems[slot].length) {
+            Object[] items = new Object[count * 2];
+            int[] deadlines = new int[count * 2];
+            System.arraycopy(slotItems[slot], 0, items, 0, count);
+            System.arraycopy(slotDeadlines[slot], 0, deadlines, 0, count);
+            slotItems[slot] = items;
+            slotDeadlines[slot] = deadlines;
+        }
+
+        slotItems[slot][count] = value;
+        slotDeadlines[slot][count] = deadlineTick;
+        slotSizes[slot] = count + 1;
+        size++;
+    }
+
+    /**
+     * Entrega al visitor los elementos que vencen en el tick indicado (o
+     * antes, si quedaron en la misma ranura) y los saca de la rueda.
+     * Complejidad: O(elementos en la ranura)
+     *
+     * @return Cantidad de elementos vencidos
+     */
+    @SuppressWarnings("unchecked")
+    public int advance(int tick, SinglyLinkedList.Visitor<T> visitor) {
+        int slot = tick & mask;
+        int count = slotSizes[slot];
+        if (count == 0) {
+            return 0;
+        }
+
+        Object[] items = slotItems[slot];
+        int[] deadlines = slotDeadlines[slot];
+        int kept = 0;
+        int expired = 0;
+
+        // Compactar en el mismo arreglo conservando el orden de los que quedan
+        for (int i = 0; i < count; i++) {
+            if (deadlines[i] <= tick) {
+                T value = (T) items[i];
+                items[i] = null;
+                expired++;
+                visitor.visit(value);
+            } else {
+                items[kept] = items[i];
+                deadlines[kept] = deadlines[i];
+                if (kept != i) {
+                    items[i] = null;
+                }
+                kept++;
+            }
+        }
+
+        slotSizes[slot] = kept;
+        size -= expired;
+        return expired;
+    }
+
+    /**
+     * Busca el tick del próximo vencimiento a partir de fromTick.
+     * Primero recorre una vuelta de ranuras; si en esa vuelta no vence nada,
+     * todo lo agendado está más lejos y se busca el mínimo directamente.
+     * Complejidad: O(ranuras + elementos) en el peor caso
+     *
+     * @return Tick del próximo vencimiento, o -1 si la rueda está vacía
+     */
+    public int nextDeadline(int fromTick) {
+        if (size == 0) {
+            return -1;
+        }
+
+        for (int offset = 0; offset <= mask; offset++) {
+            int tick = fromTick + offset;
+            int slot = tick & mask;
+            int[] deadlines = slotDeadlines[slot];
+            for (int i = 0; i < slotSizes[slot]; i++) {
+                if (deadlines[i] <= tick) {
+                    return tick;
+                }
+            }
+        }
+
+        int earliest = Integer.MAX_VALUE;
+        for (int slot = 0; slot <= mask; slot++) {
+            for (int i = 0; i < slotSizes[slot]; i++) {
+                earliest = Math.min(earliest, slotDeadlines[slot][i]);
+            }
+        }
+        return earliest;
+    }
+
+    /**
+     * Verifica si la rueda está vacía.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Retorna la cantidad de elementos agendados.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Limpia toda la rueda.
+     */
+    public void clear() {
+        for (int slot = 0; slot <= mask; slot++) {
+            for (int i = 0; i < slotSizes[slot]; i++) {
+                slotItems[slot][i] = null;
+            }
+            slotSizes[slot] = 0;
+        }
+        size = 0;
+    }
+}
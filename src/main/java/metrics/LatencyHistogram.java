@@ -0,0 +1,256 @@
+package metrics;
+
+import java.nio.ByteBuffer;
+
+// Histograma de latencias en ticks con memoria fija (estilo HDR)
+// Cada potencia de dos se divide en SUB_BUCKETS cubetas lineales, así un
+// percentil tiene un error relativo menor a 1/SUB_BUCKETS (~3%) en todo el
+// rango y los valores menores a SUB_BUCKETS son exactos. Cubre todo int,
+// también los negativos (lateness de un proceso que termina antes de su
+// deadline), con dos arreglos de BUCKETS contadores que se reservan una sola
+// vez: record() no reserva memoria. min y max son exactos.
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Una cubeta por valor hasta SUB_BUCKETS y SUB_BUCKETS por cada potencia
+    // de dos siguiente, hasta 2^31 (la magnitud de Integer.MIN_VALUE)
+    static final int BUCKETS = SUB_BUCKETS + (32 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    // Percentiles que resume summary()
+    private static final double[] SUMMARY_PERCENTILES = {50.0, 90.0, 99.0, 99.9};
+
+    private final long[] positive; // valores >= 0, por magnitud
+    private final long[] negative; // valores < 0, por magnitud
+    private long count;
+    private long sum;
+    private int min;
+    private int max;
+
+    // Último resumen calculado; vale mientras count no cambie
+    private Summary summary;
+
+    public LatencyHistogram() {
+        this.positive = new long[BUCKETS];
+        this.negative = new long[BUCKETS];
+        reset();
+    }
+
+    public final void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            positive[i] = 0;
+            negative[i] = 0;
+        }
+        count = 0;
+        sum = 0;
+        min = Integer.MAX_VALUE;
+        max = Integer.MIN_VALUE;
+        summary = null;
+    }
+
+    public void record(int value) {
+        if (value >= 0) {
+            positive[bucketOf(value)]++;
+        } else {
+            negative[bucketOf(-(long) value)]++;
+        }
+        count++;
+        sum += value;
+        if (value < min) {
+            min = value;
+        }
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    // Cubeta de una magnitud (0 <= magnitude <= 2^31)
+    private static int bucketOf(long magnitude) {
+        if (magnitude < SUB_BUCKETS) {
+            return (int) magnitude;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(magnitude); // >= SUB_BUCKET_BITS
+        int shift = exponent - SUB_BUCKET_BITS;
+        return SUB_BUCKETS + shift * SUB_BUCKETS + (int) (magnitude >>> shift) - SUB_BUCKETS;
+    }
+
+    // Menor magnitud que cae en la cubeta
+    private static long lowestOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+        long sub = (bucket - SUB_BUCKETS) % SUB_BUCKETS + SUB_BUCKETS;
+        return sub << shift;
+    }
+
+    // Mayor magnitud que cae en la cubeta
+    private static long highestOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+        return lowestOf(bucket) + (1L << shift) - 1;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    // Mínimo exacto (0 si está vacío)
+    public int getMin() {
+        return count == 0 ? 0 : min;
+    }
+
+    // Máximo exacto (0 si está vacío)
+    public int getMax() {
+        return count == 0 ? 0 : max;
+    }
+
+    public double getMean() {
+        if (count == 0) return 0.0;
+        return (double) sum / count;
+    }
+
+    // Valor tal que percentile% de los registrados son menores o iguales
+    // (cota superior de su cubeta, acotada a [min, max]). 0 si está vacío
+    public int getValueAtPercentile(double percentile) {
+        int[] result = new int[1];
+        valuesAtPercentiles(new double[] {percentile}, result);
+        return result[0];
+    }
+
+    // Calcula varios percentiles (en orden creciente) en una sola pasada
+    private void valuesAtPercentiles(double[] percentiles, int[] result) {
+        if (count == 0) {
+            return;
+        }
+        int next = 0;
+        long seen = 0;
+        // Primero los negativos, del más negativo al -1; después 0, 1, 2...
+        for (int i = -BUCKETS; i < BUCKETS && next < percentiles.length; i++) {
+            long bucketCount = i < 0 ? negative[-1 - i] : positive[i];
+            if (bucketCount == 0) {
+                continue;
+            }
+            seen += bucketCount;
+            while (next < percentiles.length && seen >= rankOf(percentiles[next])) {
+                long upper = i < 0 ? -lowestOf(-1 - i) : highestOf(i);
+                result[next++] = (int) Math.max(min, Math.min(max, upper));
+            }
+        }
+    }
+
+    // Cantidad de valores que tiene que cubrir el percentil (al menos 1)
+    private long rankOf(double percentile) {
+        long rank = (long) Math.ceil(percentile / 100.0 * count);
+        return Math.max(1, Math.min(count, rank));
+    }
+
+    // Resumen para mostrar (p50, p90, p99, p99.9, max). Se recalcula solo si
+    // se registró algo desde la última llamada
+    public Summary summary() {
+        if (summary == null || summary.count != count) {
+            int[] values = new int[SUMMARY_PERCENTILES.length];
+            valuesAtPercentiles(SUMMARY_PERCENTILES, values);
+            summary = new Summary(count, getMin(), getMean(), values[0], values[1], values[2], values[3], getMax());
+        }
+        return summary;
+    }
+
+    // Mezcla count, sum, min y max en una huella FNV-1a (ver MetricsCollector)
+    long fingerprint(long h) {
+        h = MetricsCollector.mix(h, count);
+        h = MetricsCollector.mix(h, sum);
+        h = MetricsCollector.mix(h, getMin());
+        return MetricsCollector.mix(h, getMax());
+    }
+
+    // Checkpoint: solo las cubetas no vacías, como (índice, cantidad); los
+    // negativos con índice -1 - cubeta
+    public int serializedSize() {
+        int used = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            if (positive[i] != 0) used++;
+            if (negative[i] != 0) used++;
+        }
+        return 8 + 8 + 4 + 4 + 4 + used * (4 + 8);
+    }
+
+    public void writeTo(ByteBuffer buffer) {
+        buffer.putLong(count);
+        buffer.putLong(sum);
+        buffer.putInt(min);
+        buffer.putInt(max);
+        int countPosition = buffer.position();
+        buffer.putInt(0);
+        int used = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            if (negative[i] != 0) {
+                buffer.putInt(-1 - i);
+                buffer.putLong(negative[i]);
+                used++;
+            }
+            if (positive[i] != 0) {
+                buffer.putInt(i);
+                buffer.putLong(positive[i]);
+                used++;
+            }
+        }
+        buffer.putInt(countPosition, used);
+    }
+
+    // Reemplaza el contenido por el leído (escrito con writeTo)
+    public void readFrom(ByteBuffer buffer) {
+        reset();
+        count = buffer.getLong();
+        sum = buffer.getLong();
+        min = buffer.getInt();
+        max = buffer.getInt();
+        int used = buffer.getInt();
+        for (int k = 0; k < used; k++) {
+            int i = buffer.getInt();
+            long bucketCount = buffer.getLong();
+            if (i < 0) {
+                negative[-1 - i] = bucketCount;
+            } else {
+                positive[i] = bucketCount;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return summary().toString();
+    }
+
+    // Percentiles de un histograma en un momento dado (inmutable: los
+    // snapshots lo comparten mientras no se registre nada nuevo)
+    public static final class Summary {
+        public static final Summary EMPTY = new Summary(0, 0, 0.0, 0, 0, 0, 0, 0);
+
+        public final long count;
+        public final int min;
+        public final double mean;
+        public final int p50;
+        public final int p90;
+        public final int p99;
+        public final int p999;
+        public final int max;
+
+        Summary(long count, int min, double mean, int p50, int p90, int p99, int p999, int max) {
+            this.count = count;
+            this.min = min;
+            this.mean = mean;
+            this.p50 = p50;
+            this.p90 = p90;
+            this.p99 = p99;
+            this.p999 = p999;
+            this.max = max;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("p50=%d p90=%d p99=%d p99.9=%d max=%d (n=%d)", p50, p90, p99, p999, max, count);
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package metrics;
 
+import java.nio.ByteBuffer;
+
 // Recolector de métricas del simulador RTOS
 // Calcula métricas de rendimiento y cumplimiento de deadlines
+// Además de los totales guarda la distribución de cada latencia en un
+// LatencyHistogram, para ver la cola (p99, max) que el promedio esconde,
+// y las mismas tasas sobre los últimos N ticks en WindowedMetrics
 public class MetricsCollector {
     
     // Contadores básicos
@@ -9,16 +14,32 @@ public class MetricsCollector {
     private int completedProcesses;
     private int missedDeadlines;
     
-    // Tiempos acumulados
-    private int totalWaitTime;
-    private int totalTurnaroundTime;
-    private int totalCpuTime;
+    // Tiempos acumulados (long: en corridas largas un int desborda)
+    private long totalWaitTime;
+    private long totalTurnaroundTime;
+    private long totalCpuTime;
     private int totalSimulationTicks;
     
     // Métricas de CPU
     private int ticksWithCpu;
     private int ticksIdle;
     
+    // Interrupciones
+    private int rawInterrupts;       // eventos recibidos (incluye fusionados y descartados)
+    private int coalescedInterrupts; // eventos sumados a otro pendiente del mismo tipo
+    private int droppedInterrupts;   // eventos descartados por controlador lleno
+    private int isrInvocations;      // ISRs iniciadas
+    
+    // Distribuciones de latencia, en ticks
+    private final LatencyHistogram waitTimes = new LatencyHistogram();       // en READY
+    private final LatencyHistogram turnaroundTimes = new LatencyHistogram(); // llegada a fin
+    private final LatencyHistogram responseTimes = new LatencyHistogram();   // llegada a primer despacho
+    private final LatencyHistogram lateness = new LatencyHistogram();        // fin - deadline (< 0 = a tiempo)
+    private final LatencyHistogram isrLatencies = new LatencyHistogram();    // interrupción a inicio de ISR
+    
+    // Ventanas deslizantes (throughput, CPU, pérdidas, colas y swap recientes)
+    private WindowedMetrics windowed = new WindowedMetrics(WindowedMetrics.DEFAULT_WINDOWS);
+    
     public MetricsCollector() {
         reset();
     }
@@ -33,14 +54,32 @@ public class MetricsCollector {
         totalSimulationTicks = 0;
         ticksWithCpu = 0;
         ticksIdle = 0;
+        rawInterrupts = 0;
+        coalescedInterrupts = 0;
+        droppedInterrupts = 0;
+        isrInvocations = 0;
+        waitTimes.reset();
+        turnaroundTimes.reset();
+        responseTimes.reset();
+        lateness.reset();
+        isrLatencies.reset();
+        windowed.reset();
     }
     
     // Registrar un proceso completado
-    public void recordCompletedProcess(int waitTime, int turnaroundTime, int cpuTime, boolean missedDeadline) {
+    // responseTime: de la llegada al primer despacho; lateness: tick de fin
+    // menos deadline absoluto (negativo si terminó antes)
+    public void recordCompletedProcess(int waitTime, int turnaroundTime, int responseTime, int lateness,
+                                       int cpuTime, boolean missedDeadline) {
         completedProcesses++;
         totalWaitTime += waitTime;
         totalTurnaroundTime += turnaroundTime;
         totalCpuTime += cpuTime;
+        waitTimes.record(waitTime);
+        turnaroundTimes.record(turnaroundTime);
+        responseTimes.record(responseTime);
+        this.lateness.record(lateness);
+        windowed.recordCompletion(missedDeadline);
         
         if (missedDeadline) {
             missedDeadlines++;
@@ -49,6 +88,7 @@ public class MetricsCollector {
     
     // Registrar un tick de simulación
     public void recordTick(boolean cpuBusy) {
+        windowed.recordTick(cpuBusy);
         totalSimulationTicks++;
         if (cpuBusy) {
             ticksWithCpu++;
@@ -57,6 +97,46 @@ public class MetricsCollector {
         }
     }
     
+    // Registrar varios ticks ociosos de una vez (modo por eventos)
+    // Equivale a llamar recordTick(false) ticks veces
+    public void recordIdleTicks(int ticks) {
+        windowed.recordIdleTicks(ticks);
+        totalSimulationTicks += ticks;
+        ticksIdle += ticks;
+    }
+    
+    // Largos de las colas en este tick (antes de recordTick o recordIdleTicks)
+    public void recordQueueLengths(int ready, int blocked, int suspended) {
+        windowed.recordQueueLengths(ready, blocked, suspended);
+    }
+    
+    // Registrar un proceso suspendido o restaurado por el swap
+    public void recordSwap() {
+        windowed.recordSwap();
+    }
+    
+    // Registrar una interrupción recibida por el kernel
+    public void recordInterrupt(boolean coalesced, boolean dropped) {
+        rawInterrupts++;
+        if (coalesced) {
+            coalescedInterrupts++;
+        }
+        if (dropped) {
+            droppedInterrupts++;
+        }
+    }
+    
+    // Registrar una ISR iniciada, latency ticks después de generarse la interrupción
+    public void recordISRInvocation(int latency) {
+        isrInvocations++;
+        isrLatencies.record(latency);
+    }
+    
+    // Cambia los largos de las ventanas deslizantes (se pierde su historia)
+    public void setWindows(int... windows) {
+        this.windowed = new WindowedMetrics(windows);
+    }
+    
     // Registrar total de procesos creados
     public void setTotalProcesses(int total) {
         this.totalProcesses = total;
@@ -101,6 +181,94 @@ public class MetricsCollector {
         return (double) totalCpuTime / completedProcesses;
     }
     
+    // Eventos crudos por ISR (1.0 = sin fusión)
+    public double getInterruptsPerISR() {
+        if (isrInvocations == 0) return 0.0;
+        return (double) (rawInterrupts - droppedInterrupts) / isrInvocations;
+    }
+    
+    // Huella de todos los contadores: dos corridas con la misma huella
+    // produjeron exactamente las mismas métricas (ver TraceReplayer)
+    public long fingerprint() {
+        long h = 0xcbf29ce484222325L; // FNV-1a de 64 bits sobre los contadores
+        long[] values = {
+            totalProcesses, completedProcesses, missedDeadlines,
+            totalWaitTime, totalTurnaroundTime, totalCpuTime, totalSimulationTicks,
+            ticksWithCpu, ticksIdle,
+            rawInterrupts, coalescedInterrupts, droppedInterrupts, isrInvocations
+        };
+        for (long v : values) {
+            h = mix(h, v);
+        }
+        h = waitTimes.fingerprint(h);
+        h = turnaroundTimes.fingerprint(h);
+        h = responseTimes.fingerprint(h);
+        h = lateness.fingerprint(h);
+        return isrLatencies.fingerprint(h);
+    }
+    
+    // Un paso de FNV-1a por cada byte de v
+    static long mix(long h, long v) {
+        for (int shift = 0; shift < 64; shift += 8) {
+            h ^= (v >>> shift) & 0xFF;
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+    
+    // Checkpoint: todos los contadores, en el orden de los campos, los histogramas
+    // y las ventanas
+    public int serializedSize() {
+        return 10 * 4 + 3 * 8 + waitTimes.serializedSize() + turnaroundTimes.serializedSize()
+             + responseTimes.serializedSize() + lateness.serializedSize() + isrLatencies.serializedSize()
+             + windowed.serializedSize();
+    }
+    
+    public void writeTo(ByteBuffer buffer) {
+        buffer.putInt(totalProcesses);
+        buffer.putInt(completedProcesses);
+        buffer.putInt(missedDeadlines);
+        buffer.putLong(totalWaitTime);
+        buffer.putLong(totalTurnaroundTime);
+        buffer.putLong(totalCpuTime);
+        buffer.putInt(totalSimulationTicks);
+        buffer.putInt(ticksWithCpu);
+        buffer.putInt(ticksIdle);
+        buffer.putInt(rawInterrupts);
+        buffer.putInt(coalescedInterrupts);
+        buffer.putInt(droppedInterrupts);
+        buffer.putInt(isrInvocations);
+        waitTimes.writeTo(buffer);
+        turnaroundTimes.writeTo(buffer);
+        responseTimes.writeTo(buffer);
+        lateness.writeTo(buffer);
+        isrLatencies.writeTo(buffer);
+        windowed.writeTo(buffer);
+    }
+    
+    // Reemplaza los contadores por los leídos (escritos con writeTo)
+    public void readFrom(ByteBuffer buffer) {
+        totalProcesses = buffer.getInt();
+        completedProcesses = buffer.getInt();
+        missedDeadlines = buffer.getInt();
+        totalWaitTime = buffer.getLong();
+        totalTurnaroundTime = buffer.getLong();
+        totalCpuTime = buffer.getLong();
+        totalSimulationTicks = buffer.getInt();
+        ticksWithCpu = buffer.getInt();
+        ticksIdle = buffer.getInt();
+        rawInterrupts = buffer.getInt();
+        coalescedInterrupts = buffer.getInt();
+        droppedInterrupts = buffer.getInt();
+        isrInvocations = buffer.getInt();
+        waitTimes.readFrom(buffer);
+        turnaroundTimes.readFrom(buffer);
+        responseTimes.readFrom(buffer);
+        lateness.readFrom(buffer);
+        isrLatencies.readFrom(buffer);
+        windowed = WindowedMetrics.readFrom(buffer);
+    }
+    
     // === GETTERS ===
     
     public int getTotalProcesses() {
@@ -127,6 +295,46 @@ public class MetricsCollector {
         return ticksIdle;
     }
     
+    public int getRawInterrupts() {
+        return rawInterrupts;
+    }
+    
+    public int getCoalescedInterrupts() {
+        return coalescedInterrupts;
+    }
+    
+    public int getDroppedInterrupts() {
+        return droppedInterrupts;
+    }
+    
+    public int getIsrInvocations() {
+        return isrInvocations;
+    }
+    
+    public LatencyHistogram getWaitTimeHistogram() {
+        return waitTimes;
+    }
+    
+    public LatencyHistogram getTurnaroundTimeHistogram() {
+        return turnaroundTimes;
+    }
+    
+    public LatencyHistogram getResponseTimeHistogram() {
+        return responseTimes;
+    }
+    
+    public LatencyHistogram getLatenessHistogram() {
+        return lateness;
+    }
+    
+    public LatencyHistogram getIsrLatencyHistogram() {
+        return isrLatencies;
+    }
+    
+    public WindowedMetrics getWindowedMetrics() {
+        return windowed;
+    }
+    
     @Override
     public String toString() {
         return String.format(
@@ -0,0 +1,324 @@
+package metrics;
+
+import java.nio.ByteBuffer;
+
+// Métricas sobre ventanas deslizantes de los últimos N ticks
+// Las de MetricsCollector son promedios desde el tick 0 y casi no se mueven
+// después de un cambio de política o de un pico de carga; estas miran solo
+// los últimos N ticks de cada ventana (por ejemplo 100, 1000 y 10000).
+// Cada tick deja una muestra de SERIES enteros en un anillo de int de
+// capacidad igual a la ventana más grande. Cada ventana lleva la suma de su
+// tramo: al entrar una muestra se suma y se resta la que quedó N ticks
+// atrás, así registrar un tick es O(SERIES × ventanas) sin importar N y
+// consultar es O(1). No se crean objetos al registrar.
+public class WindowedMetrics {
+    public static final int[] DEFAULT_WINDOWS = {100, 1000, 10000};
+
+    // Series de cada muestra
+    static final int BUSY = 0;      // 1 si la CPU estuvo ocupada
+    static final int COMPLETED = 1; // procesos terminados en el tick
+    static final int MISSED = 2;    // de esos, cuántos perdieron el deadline
+    static final int READY = 3;     // largo de READY al final del tick
+    static final int BLOCKED = 4;   // largo de BLOCKED
+    static final int SUSPENDED = 5; // SUSPENDED_READY + SUSPENDED_BLOCKED
+    static final int SWAPS = 6;     // procesos suspendidos o restaurados en el tick
+    static final int SERIES = 7;
+
+    private final int[] windows;  // largos de ventana, crecientes
+    private final int capacity;   // la ventana más grande
+    private final int[] ring;     // muestra del tick t en (t % capacity) * SERIES
+    private final long[] sums;    // suma de cada serie en cada ventana: [ventana * SERIES + serie]
+    private final int[] sample;   // muestra del tick en curso
+    private long ticks;           // ticks registrados (las ventanas pueden no estar llenas)
+    private int head;             // posición del próximo tick en el anillo
+
+    // Resúmenes ya construidos; valen mientras ticks no cambie
+    private Window[] view;
+    private long viewTicks;
+
+    public WindowedMetrics(int... windows) {
+        if (windows.length == 0) {
+            throw new IllegalArgumentException("Se necesita al menos una ventana");
+        }
+        this.windows = windows.clone();
+        for (int i = 1; i < this.windows.length; i++) { // inserción: son pocas
+            int window = this.windows[i];
+            int j = i - 1;
+            while (j >= 0 && this.windows[j] > window) {
+                this.windows[j + 1] = this.windows[j];
+                j--;
+            }
+            this.windows[j + 1] = window;
+        }
+        if (this.windows[0] <= 0) {
+            throw new IllegalArgumentException("Ventana inválida: " + this.windows[0]);
+        }
+        this.capacity = this.windows[this.windows.length - 1];
+        this.ring = new int[capacity * SERIES];
+        this.sums = new long[this.windows.length * SERIES];
+        this.sample = new int[SERIES];
+        reset();
+    }
+
+    public final void reset() {
+        for (int i = 0; i < ring.length; i++) {
+            ring[i] = 0;
+        }
+        for (int i = 0; i < sums.length; i++) {
+            sums[i] = 0;
+        }
+        for (int s = 0; s < SERIES; s++) {
+            sample[s] = 0;
+        }
+        ticks = 0;
+        head = 0;
+        view = null;
+    }
+
+    // === DURANTE EL TICK ===
+
+    void recordCompletion(boolean missedDeadline) {
+        sample[COMPLETED]++;
+        if (missedDeadline) {
+            sample[MISSED]++;
+        }
+    }
+
+    void recordSwap() {
+        sample[SWAPS]++;
+    }
+
+    void recordQueueLengths(int ready, int blocked, int suspended) {
+        sample[READY] = ready;
+        sample[BLOCKED] = blocked;
+        sample[SUSPENDED] = suspended;
+    }
+
+    // Cierra el tick: la muestra en curso entra en todas las ventanas
+    void recordTick(boolean cpuBusy) {
+        sample[BUSY] = cpuBusy ? 1 : 0;
+        push();
+        clearEvents();
+    }
+
+    // Varios ticks ociosos de una vez (modo por eventos): todos con la
+    // misma muestra (CPU libre, sin eventos, las colas como estaban). Si son
+    // más que la ventana más grande, el anillo queda entero con esa muestra
+    // y las sumas se calculan directo; el resultado es el mismo que
+    // registrarlos de a uno
+    void recordIdleTicks(int count) {
+        sample[BUSY] = 0;
+        clearEvents();
+        if (count < capacity) {
+            for (int i = 0; i < count; i++) {
+                push();
+            }
+            return;
+        }
+        for (int t = 0; t < capacity; t++) {
+            System.arraycopy(sample, 0, ring, t * SERIES, SERIES);
+        }
+        for (int w = 0; w < windows.length; w++) {
+            for (int s = 0; s < SERIES; s++) {
+                sums[w * SERIES + s] = (long) sample[s] * windows[w];
+            }
+        }
+        ticks += count;
+        head = (int) ((head + (long) count) % capacity);
+    }
+
+    private void push() {
+        int base = head * SERIES;
+        for (int w = 0; w < windows.length; w++) {
+            int window = windows[w];
+            int sumBase = w * SERIES;
+            if (ticks >= window) {
+                // Sale la muestra de hace window ticks (con window == capacity
+                // es la misma posición, todavía sin sobrescribir)
+                int old = head - window;
+                int oldBase = (old < 0 ? old + capacity : old) * SERIES;
+                for (int s = 0; s < SERIES; s++) {
+                    sums[sumBase + s] += sample[s] - ring[oldBase + s];
+                }
+            } else {
+                for (int s = 0; s < SERIES; s++) {
+                    sums[sumBase + s] += sample[s];
+                }
+            }
+        }
+        System.arraycopy(sample, 0, ring, base, SERIES);
+        head = head + 1 == capacity ? 0 : head + 1;
+        ticks++;
+    }
+
+    private void clearEvents() {
+        sample[COMPLETED] = 0;
+        sample[MISSED] = 0;
+        sample[SWAPS] = 0;
+    }
+
+    // === CONSULTAS (por índice de ventana, de la más chica a la más grande) ===
+
+    public int getWindowCount() {
+        return windows.length;
+    }
+
+    public int getWindow(int w) {
+        return windows[w];
+    }
+
+    // Ticks que cubre la ventana ahora (menos que su largo al principio)
+    public int getLength(int w) {
+        return (int) Math.min(ticks, windows[w]);
+    }
+
+    private long sum(int w, int series) {
+        return sums[w * SERIES + series];
+    }
+
+    // Procesos completados por tick
+    public double getThroughput(int w) {
+        int length = getLength(w);
+        if (length == 0) return 0.0;
+        return (double) sum(w, COMPLETED) / length;
+    }
+
+    // % de ticks con la CPU ocupada
+    public double getCpuUtilization(int w) {
+        int length = getLength(w);
+        if (length == 0) return 0.0;
+        return sum(w, BUSY) * 100.0 / length;
+    }
+
+    // % de los completados en la ventana que perdieron el deadline
+    public double getDeadlineMissRate(int w) {
+        long completed = sum(w, COMPLETED);
+        if (completed == 0) return 0.0;
+        return sum(w, MISSED) * 100.0 / completed;
+    }
+
+    public double getAverageReadyLength(int w) {
+        int length = getLength(w);
+        if (length == 0) return 0.0;
+        return (double) sum(w, READY) / length;
+    }
+
+    public double getAverageBlockedLength(int w) {
+        int length = getLength(w);
+        if (length == 0) return 0.0;
+        return (double) sum(w, BLOCKED) / length;
+    }
+
+    public double getAverageSuspendedLength(int w) {
+        int length = getLength(w);
+        if (length == 0) return 0.0;
+        return (double) sum(w, SUSPENDED) / length;
+    }
+
+    // Procesos suspendidos o restaurados por tick
+    public double getSwapRate(int w) {
+        int length = getLength(w);
+        if (length == 0) return 0.0;
+        return (double) sum(w, SWAPS) / length;
+    }
+
+    // Todas las ventanas para un snapshot. Se reconstruye solo si pasó algún
+    // tick desde la última llamada
+    public Window[] windows() {
+        if (view == null || viewTicks != ticks) {
+            Window[] result = new Window[windows.length];
+            for (int w = 0; w < windows.length; w++) {
+                result[w] = new Window(windows[w], getLength(w), getThroughput(w), getCpuUtilization(w),
+                                       getDeadlineMissRate(w), getAverageReadyLength(w),
+                                       getAverageBlockedLength(w), getAverageSuspendedLength(w),
+                                       getSwapRate(w));
+            }
+            view = result;
+            viewTicks = ticks;
+        }
+        return view;
+    }
+
+    // === CHECKPOINT ===
+    // Las ventanas, y las muestras de los últimos min(ticks, capacidad) ticks
+    // de la más vieja a la más nueva; las sumas se recalculan al leer
+
+    public int serializedSize() {
+        return 4 + windows.length * 4 + 8 + (int) Math.min(ticks, capacity) * SERIES * 4;
+    }
+
+    public void writeTo(ByteBuffer buffer) {
+        buffer.putInt(windows.length);
+        for (int window : windows) {
+            buffer.putInt(window);
+        }
+        buffer.putLong(ticks);
+        int stored = (int) Math.min(ticks, capacity);
+        int start = head - stored < 0 ? head - stored + capacity : head - stored;
+        for (int i = 0; i < stored; i++) {
+            int base = ((start + i) % capacity) * SERIES;
+            for (int s = 0; s < SERIES; s++) {
+                buffer.putInt(ring[base + s]);
+            }
+        }
+    }
+
+    // Lee un estado escrito con writeTo
+    public static WindowedMetrics readFrom(ByteBuffer buffer) {
+        int count = buffer.getInt();
+        if (count <= 0 || count > buffer.remaining() / 4) {
+            throw new IllegalArgumentException("Cantidad de ventanas inválida: " + count);
+        }
+        int[] windows = new int[count];
+        for (int w = 0; w < count; w++) {
+            windows[w] = buffer.getInt();
+        }
+        WindowedMetrics metrics = new WindowedMetrics(windows);
+        long ticks = buffer.getLong();
+        int stored = (int) Math.min(ticks, metrics.capacity);
+        // Se vuelven a registrar las muestras guardadas y se ajusta el total
+        for (int i = 0; i < stored; i++) {
+            for (int s = 0; s < SERIES; s++) {
+                metrics.sample[s] = buffer.getInt();
+            }
+            metrics.push();
+        }
+        metrics.clearEvents();
+        metrics.ticks = ticks;
+        return metrics;
+    }
+
+    // Métricas de una ventana en un momento dado (inmutable)
+    public static final class Window {
+        public final int window;            // largo configurado, en ticks
+        public final int length;            // ticks que cubre (< window al principio)
+        public final double throughput;     // completados por tick
+        public final double cpuUtilization; // %
+        public final double deadlineMissRate; // % de los completados
+        public final double averageReady;
+        public final double averageBlocked;
+        public final double averageSuspended;
+        public final double swapRate;       // suspendidos o restaurados por tick
+
+        Window(int window, int length, double throughput, double cpuUtilization, double deadlineMissRate,
+               double averageReady, double averageBlocked, double averageSuspended, double swapRate) {
+            this.window = window;
+            this.length = length;
+            this.throughput = throughput;
+            this.cpuUtilization = cpuUtilization;
+            this.deadlineMissRate = deadlineMissRate;
+            this.averageReady = averageReady;
+            this.averageBlocked = averageBlocked;
+            this.averageSuspended = averageSuspended;
+            this.swapRate = swapRate;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("últimos %d: throughput=%.4f CPU=%.1f%% pérdidas=%.1f%% READY=%.2f "
+                                 + "BLOCKED=%.2f suspendidos=%.2f swaps/tick=%.4f",
+                                 length, throughput, cpuUtilization, deadlineMissRate, averageReady,
+                                 averageBlocked, averageSuspended, swapRate);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package sim;
+
+import core.BinaryIO;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Escritura de un checkpoint por bloques
+// Los registros se arman en un buffer directo y se escriben al canal cuando
+// no entra el siguiente (como el lote de TerminatedArchive)
+final class CheckpointOutput implements AutoCloseable {
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+
+    CheckpointOutput(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                        StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    }
+
+    // Buffer con lugar para al menos bytes más
+    ByteBuffer reserve(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+            if (buffer.remaining() < bytes) {
+                throw new IOException("Registro demasiado grande para el checkpoint: " + bytes + " bytes");
+            }
+        }
+        return buffer;
+    }
+
+    void putInt(int value) throws IOException {
+        reserve(4).putInt(value);
+    }
+
+    void putLong(long value) throws IOException {
+        reserve(8).putLong(value);
+    }
+
+    // Texto en el formato de BinaryIO (se lee con BinaryIO.getString)
+    void putString(String value) throws IOException {
+        BinaryIO.putString(reserve(BinaryIO.maxSize(value)), value);
+    }
+
+    // Registro ya armado aparte (escrito desde la posición 0), para los que
+    // pueden no entrar en el buffer de bloques
+    void put(ByteBuffer record) throws IOException {
+        record.flip();
+        if (record.remaining() <= buffer.capacity()) {
+            reserve(record.remaining()).put(record);
+            return;
+        }
+        flush();
+        while (record.hasRemaining()) {
+            channel.write(record);
+        }
+    }
+
+    // Canal con todo lo anterior ya escrito (para copiar bloques grandes)
+    FileChannel channel() throws IOException {
+        flush();
+        return channel;
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -14,6 +14,11 @@ public class Clock {
         currentTick++;
     }
     
+    // Avanza el reloj varios ticks de una vez (modo por eventos)
+    public void advance(int ticks) {
+        currentTick += ticks;
+    }
+    
     // Reinicia el reloj a 0
     public void reset() {
         currentTick = 0;
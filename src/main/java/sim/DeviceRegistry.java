@@ -0,0 +1,180 @@
+package sim;
+
+import core.InterruptEvent;
+import ds.SinglyLinkedList;
+import java.util.Random;
+
+// Registro de dispositivos periféricos que generan interrupciones
+// Cada dispositivo corre en su propio hilo virtual (no un hilo del sistema
+// operativo), así que se pueden tener cientos de sensores independientes.
+// Publican con SimKernel.addInterrupt, que encola sin bloquear; el kernel
+// las atiende en el paso 1 del próximo tick.
+// Como InterruptGenerator, los intervalos son de tiempo real (milisegundos).
+// Cada start() abre una generación nueva y stop() la cierra: el hilo de un
+// dispositivo solo sigue mientras su generación sea la actual, así que un
+// start() inmediato no revive hilos que todavía no vieron el stop().
+public class DeviceRegistry {
+    private final SimKernel kernel;
+    private final SinglyLinkedList<Device> devices;
+    private volatile boolean running;
+    private volatile int generation;
+
+    public DeviceRegistry(SimKernel kernel) {
+        this.kernel = kernel;
+        this.devices = new SinglyLinkedList<>();
+        this.running = false;
+        this.generation = 0;
+    }
+
+    // Registra un dispositivo. Si el registro ya está corriendo, arranca enseguida
+    // Cada minIntervalMillis..maxIntervalMillis emite una interrupción, o una
+    // ráfaga de burstSize interrupciones seguidas con probabilidad burstProbability.
+    // El intervalo mínimo es 1 ms: sin pausa el hilo inundaría el buzón del kernel
+    public Device register(String name, String type, int priority, int minIntervalMillis,
+                           int maxIntervalMillis, int burstSize, double burstProbability, long seed) {
+        if (minIntervalMillis < 1 || maxIntervalMillis < minIntervalMillis || burstSize < 1) {
+            throw new IllegalArgumentException("Parámetros inválidos para el dispositivo " + name);
+        }
+        Device device = new Device(name, type, priority, minIntervalMillis, maxIntervalMillis,
+                                   burstSize, burstProbability, seed);
+        synchronized (this) {
+            devices.addLast(device);
+            if (running) {
+                device.start(generation);
+            }
+        }
+        return device;
+    }
+
+    // Registra count sensores SENSOR_DATA independientes, cada uno con su semilla
+    public void registerSensors(int count, int minIntervalMillis, int maxIntervalMillis, long seed) {
+        for (int i = 0; i < count; i++) {
+            register("sensor-" + i, InterruptGenerator.INTERRUPT_TYPES[0], InterruptGenerator.INTERRUPT_PRIORITIES[0],
+                     minIntervalMillis, maxIntervalMillis, 1, 0.0, seed * 31 + i);
+        }
+    }
+
+    // Arranca un hilo virtual por dispositivo
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        int current = ++generation;
+        devices.forEach(device -> device.start(current));
+    }
+
+    // Detiene todos los dispositivos y espera a que terminen sus hilos
+    // Los hilos a esperar se toman con el lock: register o un start()
+    // posterior pueden arrancar otros mientras tanto
+    public void stop() {
+        SinglyLinkedList<Thread> stopping = new SinglyLinkedList<>();
+        synchronized (this) {
+            running = false;
+            generation++;
+            devices.forEach(device -> device.stop(stopping));
+        }
+        for (SinglyLinkedList.Cursor<Thread> c = stopping.cursor(); c.hasNext(); ) {
+            Thread thread = c.next();
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public synchronized int size() {
+        return devices.size();
+    }
+
+    // Total de interrupciones publicadas por todos los dispositivos
+    public synchronized long getTotalPosted() {
+        long total = 0;
+        for (SinglyLinkedList.Cursor<Device> c = devices.cursor(); c.hasNext(); ) {
+            total += c.next().getPosted();
+        }
+        return total;
+    }
+
+    // Un periférico: su hilo duerme un intervalo aleatorio y publica
+    public final class Device {
+        private final String name;
+        private final String type;
+        private final int priority;
+        private final int minIntervalMillis;
+        private final int maxIntervalMillis;
+        private final int burstSize;
+        private final double burstProbability;
+        private final long seed;
+        private Thread thread; // el de la generación actual (null si está detenido)
+        private volatile long posted;
+
+        private Device(String name, String type, int priority, int minIntervalMillis, int maxIntervalMillis,
+                       int burstSize, double burstProbability, long seed) {
+            this.name = name;
+            this.type = type;
+            this.priority = priority;
+            this.minIntervalMillis = minIntervalMillis;
+            this.maxIntervalMillis = maxIntervalMillis;
+            this.burstSize = burstSize;
+            this.burstProbability = burstProbability;
+            this.seed = seed;
+            this.posted = 0;
+        }
+
+        // Cada generación tiene su propio Random (y repite la secuencia de la semilla)
+        private void run(int runGeneration) {
+            Random random = new Random(seed);
+            String description = "Dispositivo " + name + ": " + type;
+            while (generation == runGeneration) {
+                try {
+                    Thread.sleep(minIntervalMillis + random.nextInt(maxIntervalMillis - minIntervalMillis + 1));
+                } catch (InterruptedException e) {
+                    // Detenido por stop()
+                    break;
+                }
+                if (generation != runGeneration) {
+                    break;
+                }
+
+                int count = random.nextDouble() < burstProbability ? burstSize : 1;
+                int tick = kernel.getClock().getCurrentTick();
+                for (int i = 0; i < count; i++) {
+                    kernel.addInterrupt(new InterruptEvent(type, priority, tick, description));
+                }
+                posted += count;
+            }
+        }
+
+        private void start(int runGeneration) {
+            thread = Thread.ofVirtual().name("device-" + name).start(() -> run(runGeneration));
+        }
+
+        // Interrumpe el hilo y lo deja en stopping para esperarlo (con el lock del registro)
+        private void stop(SinglyLinkedList<Thread> stopping) {
+            if (thread != null) {
+                thread.interrupt();
+                stopping.addLast(thread);
+                thread = null;
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public long getPosted() {
+            return posted;
+        }
+    }
+}
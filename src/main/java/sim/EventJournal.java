@@ -0,0 +1,400 @@
+package sim;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Journal persistente de eventos del kernel
+// A diferencia del EventLog (últimos 200), guarda todos los eventos de la
+// corrida en registros binarios de ancho fijo dentro de segmentos de un
+// directorio (journal-000000.seg, journal-000001.seg, ...). Cada segmento
+// se mapea a memoria completo al abrirlo, así que agregar un evento es
+// escribir 16 bytes en el buffer mapeado: no hay llamadas al sistema ni
+// objetos por evento. El sistema operativo baja las páginas a disco.
+//
+// Segmento: encabezado de 16 bytes (MAGIC, VERSION, RECORD_SIZE, número de
+// segmento) seguido de registros de 16 bytes:
+//   int tick | short tipo+1 | short ref+1 | int pid | int arg
+// El tipo es el ordinal de EventType (VERSION cambia si cambia el enum);
+// un tipo 0 marca el fin de los datos del segmento. La referencia es un
+// índice en refs.txt, donde se agrega cada texto distinto la primera vez
+// que aparece (tipos de interrupción, nombres de ISR, políticas...).
+// Los ticks del journal no decrecen: el lector lo usa para saltar
+// segmentos y buscar por tick.
+public class EventJournal implements AutoCloseable {
+    public static final int MAGIC = 0x524A4E4C; // "RJNL"
+    public static final short VERSION = 1;
+    public static final int HEADER_SIZE = 16;
+    public static final int RECORD_SIZE = 16;
+
+    public static final int DEFAULT_SEGMENT_BYTES = 64 * 1024 * 1024;
+
+    private static final int MAX_REFS = 0xFFFF - 1; // índices que entran en el short
+    private static final String REFS_FILE = "refs.txt";
+
+    private final Path directory;
+    private final int segmentBytes;
+    private MappedByteBuffer segment;
+    private int segmentIndex;
+    private long records;
+
+    // Diccionario de referencias: tabla hash abierta texto -> índice
+    private String[] refKeys;
+    private int[] refIds;
+    private int refCount;
+    private final BufferedWriter refsOut;
+    private boolean closed;
+
+    public EventJournal(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_BYTES);
+    }
+
+    // Crea (o vacía) el journal del directorio
+    // segmentBytes = tamaño de cada segmento (se redondea a registros completos)
+    public EventJournal(Path directory, int segmentBytes) throws IOException {
+        if (segmentBytes < HEADER_SIZE + RECORD_SIZE) {
+            throw new IllegalArgumentException("Segmento demasiado chico: " + segmentBytes);
+        }
+        this.directory = directory;
+        this.segmentBytes = HEADER_SIZE + (segmentBytes - HEADER_SIZE) / RECORD_SIZE * RECORD_SIZE;
+        this.segmentIndex = -1;
+        this.records = 0;
+        this.refKeys = new String[64];
+        this.refIds = new int[64];
+        this.refCount = 0;
+
+        Files.createDirectories(directory);
+        for (int i = 0; Files.deleteIfExists(segmentPath(directory, i)); i++) {
+            // Borra los segmentos de una corrida anterior
+        }
+        this.refsOut = Files.newBufferedWriter(directory.resolve(REFS_FILE), StandardCharsets.UTF_8);
+        roll();
+    }
+
+    // Agrega un evento. ref puede ser null; si no, se guarda su toString()
+    public void append(int tick, EventType type, int pid, int arg, Object ref) throws IOException {
+        if (!segment.hasRemaining()) {
+            roll();
+        }
+        int position = segment.position();
+        segment.putInt(position, tick);
+        segment.putShort(position + 6, (short) (ref == null ? 0 : refId(ref.toString()) + 1));
+        segment.putInt(position + 8, pid);
+        segment.putInt(position + 12, arg);
+        // El tipo va último: un lector concurrente no ve un registro a medias
+        segment.putShort(position + 4, (short) (type.ordinal() + 1));
+        segment.position(position + RECORD_SIZE);
+        records++;
+    }
+
+    // Baja a disco el segmento actual y las referencias (los segmentos
+    // anteriores ya los está escribiendo el sistema operativo)
+    public void flush() throws IOException {
+        segment.force();
+        refsOut.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        flush();
+        refsOut.close();
+    }
+
+    // Eventos agregados desde que se abrió
+    public long getRecordCount() {
+        return records;
+    }
+
+    public int getSegmentCount() {
+        return segmentIndex + 1;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    // Mapea el próximo segmento. El mapeo sigue válido después de cerrar el canal
+    // El anterior solo se suelta, sin force(): corre en el hilo del tick y
+    // sus páginas sucias las escribe el sistema operativo
+    private void roll() throws IOException {
+        segmentIndex++;
+        try (FileChannel channel = FileChannel.open(segmentPath(directory, segmentIndex),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        }
+        segment.putInt(MAGIC);
+        segment.putShort(VERSION);
+        segment.putShort((short) RECORD_SIZE);
+        segment.putInt(segmentIndex);
+        segment.putInt(0); // reservado
+    }
+
+    // Índice del texto en refs.txt; lo agrega si es la primera vez
+    private int refId(String key) throws IOException {
+        int mask = refKeys.length - 1;
+        int slot = key.hashCode() & mask;
+        while (refKeys[slot] != null) {
+            if (refKeys[slot].equals(key)) {
+                return refIds[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (refCount == MAX_REFS) {
+            return -1; // diccionario lleno: el registro queda sin referencia
+        }
+
+        refKeys[slot] = key;
+        refIds[slot] = refCount;
+        // Una referencia por línea (sin saltos de línea dentro)
+        refsOut.write(key.replace('\n', ' ').replace('\r', ' '));
+        refsOut.newLine();
+        int id = refCount++;
+        if (refCount * 2 > refKeys.length) {
+            growRefs();
+        }
+        return id;
+    }
+
+    private void growRefs() {
+        String[] oldKeys = refKeys;
+        int[] oldIds = refIds;
+        refKeys = new String[oldKeys.length * 2];
+        refIds = new int[oldKeys.length * 2];
+        int mask = refKeys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = oldKeys[i].hashCode() & mask;
+                while (refKeys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                refKeys[slot] = oldKeys[i];
+                refIds[slot] = oldIds[i];
+            }
+        }
+    }
+
+    private static Path segmentPath(Path directory, int index) {
+        return directory.resolve(String.format("journal-%06d.seg", index));
+    }
+
+    // Abre un lector del journal de un directorio
+    public static Reader openReader(Path directory) throws IOException {
+        return new Reader(directory);
+    }
+
+    // Lector secuencial con filtros
+    // Mapea un segmento a la vez en modo lectura (nada del journal pasa al
+    // heap salvo las referencias) y expone el registro actual en campos,
+    // como TerminatedArchive.Reader. Con un rango de ticks salta los
+    // segmentos anteriores y busca el primer registro por bisección.
+    public static class Reader implements AutoCloseable {
+        private final Path directory;
+        private final String[] refs;
+        private final EventType[] types;
+        private MappedByteBuffer segment;
+        private int segmentIndex;
+        private boolean started;
+
+        // Filtros (por defecto, todo)
+        private int fromTick;
+        private int toTick;
+        private int pidFilter;
+        private boolean[] typeFilter; // null = todos los tipos
+
+        // Registro actual (válido después de que next() retorna true)
+        public int tick;
+        public EventType type;
+        public int pid;
+        public int arg;
+        public String ref;
+
+        private Reader(Path directory) throws IOException {
+            this.directory = directory;
+            this.types = EventType.values();
+            this.refs = readRefs(directory.resolve(REFS_FILE));
+            this.segmentIndex = -1;
+            this.fromTick = Integer.MIN_VALUE;
+            this.toTick = Integer.MAX_VALUE;
+            this.pidFilter = Integer.MIN_VALUE;
+            if (!Files.exists(segmentPath(directory, 0))) {
+                throw new IOException("No hay journal en " + directory);
+            }
+        }
+
+        // Solo eventos con from <= tick <= to (llamar antes del primer next())
+        public void setTickRange(int from, int to) {
+            this.fromTick = from;
+            this.toTick = to;
+        }
+
+        // Solo eventos de ese proceso
+        public void setPid(int pid) {
+            this.pidFilter = pid;
+        }
+
+        // Solo eventos de esos tipos
+        public void setTypes(EventType... selected) {
+            typeFilter = new boolean[types.length];
+            for (EventType t : selected) {
+                typeFilter[t.ordinal()] = true;
+            }
+        }
+
+        // Avanza al siguiente evento que pasa los filtros. Retorna false al final
+        public boolean next() throws IOException {
+            if (!started) {
+                started = true;
+                if (!seek()) {
+                    return false;
+                }
+            }
+            while (segment != null) {
+                if (segment.remaining() < RECORD_SIZE || segment.getShort(segment.position() + 4) == 0) {
+                    if (!openSegment(segmentIndex + 1)) {
+                        return false;
+                    }
+                    continue;
+                }
+                int position = segment.position();
+                segment.position(position + RECORD_SIZE);
+
+                int recordTick = segment.getInt(position);
+                if (recordTick > toTick) {
+                    segment = null; // los ticks no decrecen: no hay más
+                    return false;
+                }
+                int typeCode = segment.getShort(position + 4) - 1;
+                int recordPid = segment.getInt(position + 8);
+                if (recordTick < fromTick || (pidFilter != Integer.MIN_VALUE && recordPid != pidFilter)
+                        || (typeFilter != null && !typeFilter[typeCode])) {
+                    continue;
+                }
+
+                int refCode = (segment.getShort(position + 6) & 0xFFFF) - 1;
+                tick = recordTick;
+                type = types[typeCode];
+                pid = recordPid;
+                arg = segment.getInt(position + 12);
+                ref = refCode >= 0 && refCode < refs.length ? refs[refCode] : null;
+                return true;
+            }
+            return false;
+        }
+
+        // Texto del evento actual, igual al del EventLog
+        public String format() {
+            return "[t=" + tick + "] " + type.format(pid, arg, ref);
+        }
+
+        @Override
+        public void close() {
+            segment = null; // el mapeo se libera con el GC
+        }
+
+        // Ubica el primer registro con tick >= fromTick
+        private boolean seek() throws IOException {
+            int first = 0;
+            if (fromTick != Integer.MIN_VALUE) {
+                // Saltea los segmentos cuyo siguiente empieza antes de fromTick
+                while (Files.exists(segmentPath(directory, first + 1))
+                        && firstTick(first + 1) < fromTick) {
+                    first++;
+                }
+            }
+            if (!openSegment(first)) {
+                return false;
+            }
+            if (fromTick != Integer.MIN_VALUE) {
+                int lo = 0;
+                int hi = usedRecords();
+                while (lo < hi) {
+                    int mid = (lo + hi) >>> 1;
+                    if (segment.getInt(HEADER_SIZE + mid * RECORD_SIZE) < fromTick) {
+                        lo = mid + 1;
+                    } else {
+                        hi = mid;
+                    }
+                }
+                segment.position(HEADER_SIZE + lo * RECORD_SIZE);
+            }
+            return true;
+        }
+
+        // Registros escritos del segmento actual (hasta el primer tipo 0)
+        private int usedRecords() {
+            int lo = 0;
+            int hi = (segment.capacity() - HEADER_SIZE) / RECORD_SIZE;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (segment.getShort(HEADER_SIZE + mid * RECORD_SIZE + 4) != 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        private int firstTick(int index) throws IOException {
+            try (FileChannel channel = FileChannel.open(segmentPath(directory, index), StandardOpenOption.READ)) {
+                ByteBuffer first = ByteBuffer.allocate(4);
+                channel.read(first, HEADER_SIZE);
+                first.flip();
+                return first.remaining() == 4 ? first.getInt() : Integer.MAX_VALUE;
+            }
+        }
+
+        private boolean openSegment(int index) throws IOException {
+            Path path = segmentPath(directory, index);
+            if (!Files.exists(path)) {
+                segment = null;
+                return false;
+            }
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            if (segment.capacity() < HEADER_SIZE || segment.getInt(0) != MAGIC) {
+                throw new IOException("Segmento inválido: " + path);
+            }
+            if (segment.getShort(4) != VERSION || segment.getShort(6) != RECORD_SIZE) {
+                throw new IOException("Versión de journal no soportada en " + path);
+            }
+            segmentIndex = index;
+            segment.position(HEADER_SIZE);
+            return true;
+        }
+
+        private static String[] readRefs(Path file) throws IOException {
+            if (!Files.exists(file)) {
+                return new String[0];
+            }
+            String[] result = new String[16];
+            int count = 0;
+            try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = in.readLine()) != null) {
+                    if (count == result.length) {
+                        String[] grown = new String[count * 2];
+                        System.arraycopy(result, 0, grown, 0, count);
+                        result = grown;
+                    }
+                    result[count++] = line;
+                }
+            }
+            String[] trimmed = new String[count];
+            System.arraycopy(result, 0, trimmed, 0, count);
+            return trimmed;
+        }
+    }
+}
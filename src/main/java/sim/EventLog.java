@@ -1,49 +1,174 @@
 package sim;
 
-import ds.Queue;
+import ds.RingBuffer;
+import java.io.IOException;
 
 // Log de eventos del sistema
 // Guarda los últimos 200 eventos para mostrar en la UI
+// Cada evento se guarda como primitivos (tick, tipo, pid, arg) más una
+// referencia opcional a un objeto que ya existe, en arreglos paralelos
+// preasignados. El orden lo lleva un RingBuffer con sobrescritura cuyos
+// elementos son los textos ya armados; los arreglos se indexan con su
+// slotOf, así que registrar no crea objetos.
+// El texto se arma recién en toArray()/format() y se guarda hasta que la
+// posición se sobrescriba. Los eventos filtrados por nivel o tipo se
+// descartan antes de tocar los arreglos.
+// Con un EventJournal asociado, además cada evento (de cualquier nivel) se
+// agrega al journal en disco.
 public class EventLog {
-    private Queue<String> entries;
     private static final int MAX_ENTRIES = 200;
-    private int count;
-    
+
+    private final RingBuffer<String> texts; // texto ya armado (null si todavía no se pidió)
+    private final int[] ticks;
+    private final EventType[] types;
+    private final int[] pids;
+    private final int[] args;
+    private final Object[] refs;
+    private int version;          // cambia con cada entrada (para reutilizar snapshots)
+
+    private EventType.Level minLevel;
+    private final boolean[] disabledTypes;
+    private EventJournal journal; // null = sin journal
+
     public EventLog() {
-        this.entries = new Queue<>();
-        this.count = 0;
+        this.texts = new RingBuffer<>(MAX_ENTRIES, true);
+        int slots = texts.slots();
+        this.ticks = new int[slots];
+        this.types = new EventType[slots];
+        this.pids = new int[slots];
+        this.args = new int[slots];
+        this.refs = new Object[slots];
+        this.version = 0;
+        this.minLevel = EventType.Level.DEBUG;
+        this.disabledTypes = new boolean[EventType.values().length];
+    }
+
+    // Registra un evento sin proceso ni argumentos
+    public void record(int tick, EventType type) {
+        record(tick, type, -1, 0, null);
+    }
+
+    // Registra un evento de un proceso
+    public void record(int tick, EventType type, int pid) {
+        record(tick, type, pid, 0, null);
+    }
+
+    // Registra un evento con un objeto de referencia (se muestra con toString)
+    public void record(int tick, EventType type, Object ref) {
+        record(tick, type, -1, 0, ref);
+    }
+
+    public void record(int tick, EventType type, int pid, int arg, Object ref) {
+        if (journal != null) {
+            try {
+                journal.append(tick, type, pid, arg, ref);
+            } catch (IOException e) {
+                // Sin espacio o sin permisos: se deja de escribir el journal
+                journal = null;
+                record(tick, EventType.JOURNAL_ERROR, e.getMessage());
+            }
+        }
+        if (!isEnabled(type)) {
+            return;
+        }
+
+        // Lleno: el ring descarta el más viejo y su posición se reutiliza
+        texts.offer(null);
+        int slot = texts.slotOf(texts.size() - 1);
+        ticks[slot] = tick;
+        types[slot] = type;
+        pids[slot] = pid;
+        args[slot] = arg;
+        refs[slot] = ref;
+        version++;
     }
-    
-    // Agrega un evento al log con el tick actual
+
+    // Agrega un evento de texto libre con el tick actual
     public void log(int tick, String message) {
-        String entry = "[t=" + tick + "] " + message;
-        entries.enqueue(entry);
-        count++;
-        
-        // Si pasamos el límite, removemos el más viejo
-        if (count > MAX_ENTRIES) {
-            entries.dequeue();
-            count--;
+        record(tick, EventType.MESSAGE, -1, 0, message);
+    }
+
+    // Verifica si un evento de ese tipo se guardaría (para evitar armar su referencia)
+    public boolean isEnabled(EventType type) {
+        return type.getLevel().compareTo(minLevel) >= 0 && !disabledTypes[type.ordinal()];
+    }
+
+    // Descarta los eventos de nivel menor al indicado
+    public void setMinLevel(EventType.Level level) {
+        this.minLevel = level;
+    }
+
+    public EventType.Level getMinLevel() {
+        return minLevel;
+    }
+
+    public void setEnabled(EventType type, boolean enabled) {
+        disabledTypes[type.ordinal()] = !enabled;
+    }
+
+    // Asocia un journal persistente (null para dejar de escribirlo)
+    // El que lo abrió es responsable de cerrarlo
+    public void setJournal(EventJournal journal) {
+        this.journal = journal;
+    }
+
+    public EventJournal getJournal() {
+        return journal;
+    }
+
+    // Texto del i-ésimo evento contando desde el más viejo
+    public String format(int index) {
+        String text = texts.get(index);
+        if (text == null) {
+            int slot = texts.slotOf(index);
+            text = "[t=" + ticks[slot] + "] " + types[slot].format(pids[slot], args[slot], refs[slot]);
+            texts.set(index, text);
         }
+        return text;
     }
-    
+
     // Retorna todos los logs como arreglo para la UI
     public String[] toArray() {
-        Object[] objArray = entries.toArray();
-        String[] result = new String[objArray.length];
-        for (int i = 0; i < objArray.length; i++) {
-            result[i] = (String) objArray[i];
+        String[] result = new String[texts.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = format(i);
         }
         return result;
     }
-    
+
+    // Acceso a los campos del i-ésimo evento (sin armar texto)
+    public int getTick(int index) {
+        return ticks[texts.slotOf(index)];
+    }
+
+    public EventType getType(int index) {
+        return types[texts.slotOf(index)];
+    }
+
+    public int getPid(int index) {
+        return pids[texts.slotOf(index)];
+    }
+
+    public int getArg(int index) {
+        return args[texts.slotOf(index)];
+    }
+
     // Limpia el log
     public void clear() {
-        entries.clear();
-        count = 0;
+        for (int i = 0; i < refs.length; i++) {
+            refs[i] = null;
+            types[i] = null;
+        }
+        texts.clear();
+        version++;
     }
-    
+
+    // Si no cambió entre dos lecturas, toArray() retornaría lo mismo
+    public int getVersion() {
+        return version;
+    }
+
     public int size() {
-        return count;
+        return texts.size();
     }
 }
@@ -0,0 +1,107 @@
+package sim;
+
+// Tipos de evento del log del kernel
+// Cada entrada del EventLog guarda solo (tick, tipo, pid, arg, ref); el texto
+// se arma recién cuando alguien lo lee, reemplazando en la plantilla:
+//   {pid} por el pid, {arg} por el argumento entero, {ref} por el objeto
+//   referenciado (tipo de interrupción, nombre, política...) y {count} por
+//   " (xN)" si arg > 1
+public enum EventType {
+    // Errores
+    MUTEX_ERROR(Level.ERROR, "ERROR: Interrupción en mutex"),
+    ARCHIVE_ERROR(Level.ERROR, "ERROR: No se pudo archivar terminados: {ref}"),
+    JOURNAL_ERROR(Level.ERROR, "ERROR: Journal de eventos detenido: {ref}"),
+
+    // Avisos
+    DEADLINE_MISS(Level.WARNING, "DEADLINE MISS: Proceso {pid}"),
+    INTERRUPT_DROPPED(Level.WARNING, "Interrupción descartada (controlador lleno): {ref}"),
+
+    // Interrupciones
+    INTERRUPT(Level.INFO, "Interrupción: {ref}{count}"),
+    PREEMPTED_BY_INTERRUPT(Level.INFO, "Proceso {pid} preemptado por interrupción"),
+    ISR_STARTED(Level.INFO, "ISR iniciada: {ref}"),
+    ISR_NESTED(Level.INFO, "ISR de nivel {arg} interrumpida por {ref}"),
+    ISR_RESUMED(Level.INFO, "ISR reanudada: {ref}"),
+    INTERRUPTS_MASKED(Level.INFO, "Interrupciones enmascaradas: {ref}"),
+    INTERRUPTS_UNMASKED(Level.INFO, "Interrupciones desenmascaradas: {ref}"),
+    GENERATOR_STARTED(Level.INFO, "Generador de interrupciones iniciado"),
+    GENERATOR_STOPPED(Level.INFO, "Generador de interrupciones detenido"),
+
+    // Transiciones de estado
+    PROCESS_NEW(Level.INFO, "Proceso {pid} agregado a NEW"),
+    ADMITTED(Level.INFO, "Proceso {pid} admitido a READY"),
+    IO_BLOCKED(Level.INFO, "Proceso {pid} bloqueado por E/S"),
+    IO_UNBLOCKED(Level.INFO, "Proceso {pid} desbloqueado (E/S completada)"),
+    IO_UNBLOCKED_SUSPENDED(Level.INFO, "Proceso {pid} desbloqueado en swap (E/S completada)"),
+    SUSPENDED(Level.INFO, "Proceso {pid} suspendido (RAM limit)"),
+    BLOCKED_SUSPENDED(Level.INFO, "Proceso bloqueado {pid} suspendido (RAM limit)"),
+    RESTORED(Level.INFO, "Proceso {pid} restaurado a RAM"),
+    TERMINATED(Level.INFO, "Proceso {pid} terminado"),
+    POLICY_CHANGED(Level.INFO, "Política cambiada a: {ref}"),
+
+    // Planificación (los más frecuentes)
+    DISPATCHED(Level.DEBUG, "Proceso {pid} seleccionado para ejecución"),
+    QUANTUM_EXPIRED(Level.DEBUG, "Quantum agotado para proceso {pid}"),
+    PREEMPT_SRT(Level.DEBUG, "Preemption SRT: proceso más corto disponible"),
+    PREEMPT_PRIO(Level.DEBUG, "Preemption PRIO: proceso de mayor prioridad disponible"),
+    PREEMPT_EDF(Level.DEBUG, "Preemption EDF: proceso con deadline más cercano disponible"),
+
+    // Texto libre (EventLog.log)
+    MESSAGE(Level.INFO, "{ref}");
+
+    // Nivel de detalle: un EventLog con nivel mínimo L descarta los de nivel menor
+    public enum Level {
+        DEBUG,
+        INFO,
+        WARNING,
+        ERROR
+    }
+
+    private final Level level;
+    private final String template;
+
+    EventType(Level level, String template) {
+        this.level = level;
+        this.template = template;
+    }
+
+    public Level getLevel() {
+        return level;
+    }
+
+    // Arma el texto del evento (solo al leerlo)
+    public String format(int pid, int arg, Object ref) {
+        StringBuilder sb = new StringBuilder(template.length() + 16);
+        int i = 0;
+        while (i < template.length()) {
+            int open = template.indexOf('{', i);
+            if (open < 0) {
+                sb.append(template, i, template.length());
+                break;
+            }
+            sb.append(template, i, open);
+            int close = template.indexOf('}', open);
+            String key = template.substring(open + 1, close);
+            switch (key) {
+                case "pid":
+                    sb.append(pid);
+                    break;
+                case "arg":
+                    sb.append(arg);
+                    break;
+                case "ref":
+                    sb.append(ref);
+                    break;
+                case "count":
+                    if (arg > 1) {
+                        sb.append(" (x").append(arg).append(')');
+                    }
+                    break;
+                default:
+                    sb.append(template, open, close + 1);
+            }
+            i = close + 1;
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,437 @@
+package sim;
+
+import core.BinaryIO;
+import core.InterruptEvent;
+import core.SimProcess;
+import ds.IndexedHeap;
+import ds.SinglyLinkedList;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+// Controlador de interrupciones del kernel
+// - Pendientes ordenadas por prioridad (mayor primero; a igual prioridad, por
+//   llegada) en un montículo acotado: si está lleno, la nueva se descarta.
+// - Máscara por tipo: las de un tipo enmascarado se retienen (ocupando lugar)
+//   y vuelven a las pendientes al desenmascararlo.
+// - Fusión por tipo (opcional): un evento de un tipo que ya tiene uno
+//   pendiente se suma a ese (InterruptEvent.merge) y se atienden con una
+//   sola ISR. Con ventana > 0, el primero además espera esa cantidad de
+//   ticks juntando los que lleguen: menos ISRs a cambio de más latencia.
+// - Anidamiento: una ISR solo interrumpe a otra de prioridad menor. Las
+//   interrumpidas esperan en una pila (la de mayor nivel arriba) y se
+//   reanudan cuando termina la que las interrumpió.
+// No es seguro entre hilos: el kernel lo usa con el mutex tomado.
+public class InterruptController {
+    // Nivel de la CPU cuando no corre ninguna ISR: cualquier interrupción entra
+    public static final int NO_LEVEL = Integer.MIN_VALUE;
+
+    // Resultado de offer()
+    public static final int ACCEPTED = 0;
+    public static final int COALESCED = 1;
+    public static final int DROPPED = 2;
+
+    private static final SinglyLinkedList.Comparator<InterruptEvent> BY_HIGHEST_PRIORITY =
+            (a, b) -> a.getPriority() > b.getPriority();
+
+    private final IndexedHeap<InterruptEvent> pending;
+    private final SinglyLinkedList<InterruptEvent> held; // de tipos enmascarados, en orden de llegada
+    private final int capacity;
+    private String[] maskedTypes;
+    private int maskedCount;
+    private SimProcess[] inService;  // ISRs interrumpidas por otra de mayor prioridad
+    private int[] inServiceLevels;
+    private int depth;
+    private long dropped;
+    private Coalescing[] coalescing; // configuración de fusión por tipo
+    private int coalescingCount;
+    private int openCount;           // lotes esperando que cierre su ventana
+
+    public InterruptController(int capacity) {
+        this.pending = new IndexedHeap<>(BY_HIGHEST_PRIORITY);
+        this.held = new SinglyLinkedList<>();
+        this.capacity = capacity;
+        this.maskedTypes = new String[4];
+        this.maskedCount = 0;
+        this.inService = new SimProcess[4];
+        this.inServiceLevels = new int[4];
+        this.depth = 0;
+        this.dropped = 0;
+        this.coalescing = new Coalescing[4];
+        this.coalescingCount = 0;
+        this.openCount = 0;
+    }
+
+    // Recibe una interrupción en el tick indicado
+    // Retorna ACCEPTED, COALESCED (se sumó a otra del mismo tipo) o DROPPED (lleno)
+    public int offer(InterruptEvent event, int currentTick) {
+        boolean masked = isMasked(event.getType());
+        Coalescing c = coalescingFor(event.getType());
+        if (c != null && !masked) {
+            InterruptEvent target = c.open != null ? c.open : c.pending;
+            if (target != null) {
+                target.merge(event);
+                return COALESCED;
+            }
+        }
+
+        if (pending.size() + held.size() + openCount >= capacity) {
+            dropped++;
+            return DROPPED;
+        }
+        if (masked) {
+            held.addLast(event);
+        } else if (c != null && c.window > 0) {
+            c.open = event;
+            c.releaseTick = currentTick + c.window;
+            openCount++;
+        } else {
+            pending.offer(event);
+            if (c != null) {
+                c.pending = event;
+            }
+        }
+        return ACCEPTED;
+    }
+
+    // Pasa a pendientes los lotes cuya ventana cerró hasta currentTick
+    public void release(int currentTick) {
+        if (openCount == 0) {
+            return;
+        }
+        for (int i = 0; i < coalescingCount; i++) {
+            Coalescing c = coalescing[i];
+            if (c.open != null && c.releaseTick <= currentTick) {
+                releaseOpen(c);
+            }
+        }
+    }
+
+    // Tick en que cierra la próxima ventana de fusión, o -1 si no hay lotes abiertos
+    public int nextReleaseTick() {
+        int next = -1;
+        for (int i = 0; i < coalescingCount && openCount > 0; i++) {
+            Coalescing c = coalescing[i];
+            if (c.open != null && (next < 0 || c.releaseTick < next)) {
+                next = c.releaseTick;
+            }
+        }
+        return next;
+    }
+
+    // Saca hasta out.length pendientes con prioridad mayor que level, de la
+    // más prioritaria a la menos, y las deja en out. Retorna cuántas sacó
+    public int take(int level, InterruptEvent[] out) {
+        int count = 0;
+        while (count < out.length && !pending.isEmpty() && pending.peek().getPriority() > level) {
+            InterruptEvent event = pending.poll();
+            Coalescing c = coalescingFor(event.getType());
+            if (c != null && c.pending == event) {
+                c.pending = null; // ya no se le puede sumar: la ISR arranca ahora
+            }
+            out[count++] = event;
+        }
+        return count;
+    }
+
+    // Hay alguna pendiente que se pueda atender (no enmascarada)
+    public boolean hasPending() {
+        return !pending.isEmpty();
+    }
+
+    // === MÁSCARAS ===
+
+    public void mask(String type) {
+        if (isMasked(type)) {
+            return;
+        }
+        addMaskedType(type);
+
+        // Las pendientes de ese tipo pasan a retenidas
+        Object[] snapshot = pending.toArray();
+        for (Object o : snapshot) {
+            InterruptEvent event = (InterruptEvent) o;
+            if (event.getType().equals(type)) {
+                pending.remove(event);
+                held.addLast(event);
+            }
+        }
+        Coalescing c = coalescingFor(type);
+        if (c != null) {
+            c.pending = null;
+        }
+    }
+
+    // Las retenidas de ese tipo vuelven a las pendientes, en su orden de llegada
+    public void unmask(String type) {
+        for (int i = 0; i < maskedCount; i++) {
+            if (maskedTypes[i].equals(type)) {
+                maskedTypes[i] = maskedTypes[--maskedCount];
+                maskedTypes[maskedCount] = null;
+                break;
+            }
+        }
+
+        int remaining = held.size();
+        for (int i = 0; i < remaining; i++) {
+            InterruptEvent event = held.removeFirst();
+            if (event.getType().equals(type)) {
+                pending.offer(event);
+                Coalescing c = coalescingFor(type);
+                if (c != null && c.pending == null) {
+                    c.pending = event;
+                }
+            } else {
+                held.addLast(event);
+            }
+        }
+    }
+
+    private void addMaskedType(String type) {
+        if (maskedCount == maskedTypes.length) {
+            String[] grown = new String[maskedCount * 2];
+            System.arraycopy(maskedTypes, 0, grown, 0, maskedCount);
+            maskedTypes = grown;
+        }
+        maskedTypes[maskedCount++] = type;
+    }
+
+    public boolean isMasked(String type) {
+        for (int i = 0; i < maskedCount; i++) {
+            if (maskedTypes[i].equals(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // === FUSIÓN ===
+
+    // Activa la fusión para un tipo. windowTicks = 0: solo se suman a una
+    // pendiente; > 0: el primero espera esa cantidad de ticks juntando más
+    public void setCoalescing(String type, int windowTicks) {
+        if (windowTicks < 0) {
+            throw new IllegalArgumentException("Ventana de fusión inválida: " + windowTicks);
+        }
+        Coalescing c = coalescingFor(type);
+        if (c == null) {
+            if (coalescingCount == coalescing.length) {
+                Coalescing[] grown = new Coalescing[coalescingCount * 2];
+                System.arraycopy(coalescing, 0, grown, 0, coalescingCount);
+                coalescing = grown;
+            }
+            c = new Coalescing(type);
+            coalescing[coalescingCount++] = c;
+        }
+        c.window = windowTicks;
+    }
+
+    // Desactiva la fusión; un lote abierto pasa enseguida a pendientes
+    public void disableCoalescing(String type) {
+        for (int i = 0; i < coalescingCount; i++) {
+            Coalescing c = coalescing[i];
+            if (c.type.equals(type)) {
+                if (c.open != null) {
+                    releaseOpen(c);
+                }
+                coalescing[i] = coalescing[--coalescingCount];
+                coalescing[coalescingCount] = null;
+                return;
+            }
+        }
+    }
+
+    // Ventana de fusión del tipo, o -1 si no se fusiona
+    public int getCoalescingWindow(String type) {
+        Coalescing c = coalescingFor(type);
+        return c == null ? -1 : c.window;
+    }
+
+    private void releaseOpen(Coalescing c) {
+        InterruptEvent event = c.open;
+        c.open = null;
+        openCount--;
+        if (isMasked(event.getType())) {
+            held.addLast(event);
+        } else {
+            pending.offer(event);
+            c.pending = event;
+        }
+    }
+
+    private Coalescing coalescingFor(String type) {
+        for (int i = 0; i < coalescingCount; i++) {
+            if (coalescing[i].type.equals(type)) {
+                return coalescing[i];
+            }
+        }
+        return null;
+    }
+
+    // === ISRs ANIDADAS ===
+
+    // Guarda una ISR interrumpida por otra de mayor nivel
+    public void pushInService(SimProcess isr, int level) {
+        if (depth == inService.length) {
+            SimProcess[] grownIsrs = new SimProcess[depth * 2];
+            int[] grownLevels = new int[depth * 2];
+            System.arraycopy(inService, 0, grownIsrs, 0, depth);
+            System.arraycopy(inServiceLevels, 0, grownLevels, 0, depth);
+            inService = grownIsrs;
+            inServiceLevels = grownLevels;
+        }
+        inService[depth] = isr;
+        inServiceLevels[depth] = level;
+        depth++;
+    }
+
+    // Nivel de la ISR que se reanudaría (llamar antes de popInService)
+    public int peekInServiceLevel() {
+        return depth == 0 ? NO_LEVEL : inServiceLevels[depth - 1];
+    }
+
+    // Saca la ISR interrumpida de mayor nivel, o null si no hay
+    public SimProcess popInService() {
+        if (depth == 0) {
+            return null;
+        }
+        SimProcess isr = inService[--depth];
+        inService[depth] = null;
+        return isr;
+    }
+
+    public boolean hasInService() {
+        return depth > 0;
+    }
+
+    public int getInServiceDepth() {
+        return depth;
+    }
+
+    // === ESTADO ===
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    public int getHeldCount() {
+        return held.size();
+    }
+
+    // Lotes esperando que cierre su ventana de fusión
+    public int getOpenCount() {
+        return openCount;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // Interrupciones descartadas por llegar con el controlador lleno
+    public long getDropped() {
+        return dropped;
+    }
+
+    // === CHECKPOINT ===
+
+    // Escribe todo el estado: pendientes tal cual el arreglo del montículo
+    // (con sus secuencias de desempate), retenidas, máscaras, fusión e ISRs
+    // interrumpidas
+    void writeTo(CheckpointOutput out) throws IOException {
+        out.putInt(pending.size());
+        for (int i = 0; i < pending.size(); i++) {
+            InterruptEvent event = pending.get(i);
+            event.writeTo(out.reserve(event.serializedSize()));
+            out.putLong(pending.getSequence(i));
+        }
+        out.putLong(pending.getNextSequence());
+        out.putLong(pending.getFrontSequence());
+
+        out.putInt(held.size());
+        for (SinglyLinkedList.Cursor<InterruptEvent> c = held.cursor(); c.hasNext(); ) {
+            InterruptEvent event = c.next();
+            event.writeTo(out.reserve(event.serializedSize()));
+        }
+
+        out.putInt(maskedCount);
+        for (int i = 0; i < maskedCount; i++) {
+            out.putString(maskedTypes[i]);
+        }
+
+        out.putInt(coalescingCount);
+        for (int i = 0; i < coalescingCount; i++) {
+            Coalescing c = coalescing[i];
+            out.putString(c.type);
+            out.putInt(c.window);
+            out.putInt(c.releaseTick);
+            out.putInt(c.open != null ? 1 : 0);
+            if (c.open != null) {
+                c.open.writeTo(out.reserve(c.open.serializedSize()));
+            }
+            // La pendiente a la que se suman está en el montículo: va su posición
+            out.putInt(c.pending != null ? c.pending.getHeapIndex() : -1);
+        }
+
+        out.putInt(depth);
+        for (int i = 0; i < depth; i++) {
+            out.putInt(inServiceLevels[i]);
+            inService[i].writeTo(out.reserve(inService[i].serializedSize()));
+        }
+        out.putLong(dropped);
+    }
+
+    // Carga el estado escrito con writeTo en un controlador recién creado
+    void readFrom(ByteBuffer in) {
+        int pendingCount = in.getInt();
+        for (int i = 0; i < pendingCount; i++) {
+            InterruptEvent event = InterruptEvent.readFrom(in);
+            pending.load(event, in.getLong());
+        }
+        long nextSequence = in.getLong();
+        long frontSequence = in.getLong();
+        pending.setSequences(nextSequence, frontSequence);
+
+        int heldCount = in.getInt();
+        for (int i = 0; i < heldCount; i++) {
+            held.addLast(InterruptEvent.readFrom(in));
+        }
+
+        int masked = in.getInt();
+        for (int i = 0; i < masked; i++) {
+            addMaskedType(BinaryIO.getString(in)); // sus eventos ya están en held
+        }
+
+        int coalescingTypes = in.getInt();
+        for (int i = 0; i < coalescingTypes; i++) {
+            String type = BinaryIO.getString(in);
+            setCoalescing(type, in.getInt());
+            Coalescing c = coalescingFor(type);
+            c.releaseTick = in.getInt();
+            if (in.getInt() != 0) {
+                c.open = InterruptEvent.readFrom(in);
+                openCount++;
+            }
+            int pendingIndex = in.getInt();
+            c.pending = pendingIndex >= 0 ? pending.get(pendingIndex) : null;
+        }
+
+        int inServiceCount = in.getInt();
+        for (int i = 0; i < inServiceCount; i++) {
+            int level = in.getInt();
+            pushInService(SimProcess.readFrom(in), level);
+        }
+        dropped = in.getLong();
+    }
+
+    // Estado de fusión de un tipo
+    private static final class Coalescing {
+        final String type;
+        int window;
+        InterruptEvent open;    // lote dentro de su ventana (todavía no pendiente)
+        int releaseTick;        // tick en que open pasa a pendientes
+        InterruptEvent pending; // pendiente del tipo al que se le pueden sumar eventos
+
+        Coalescing(String type) {
+            this.type = type;
+        }
+    }
+}
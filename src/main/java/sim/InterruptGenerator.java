@@ -4,6 +4,8 @@ import core.InterruptEvent;
 
 // Thread que genera interrupciones asíncronas para simular eventos externos
 // Representa sensores, comunicaciones, errores, etc. del microsatélite
+// Los intervalos son de tiempo real: para corridas reproducibles usar
+// SimulatedInterruptSource, que mide en ticks y usa una semilla
 public class InterruptGenerator extends Thread {
     
     private SimKernel kernel;
@@ -11,8 +13,8 @@ public class InterruptGenerator extends Thread {
     private int minInterval;
     private int maxInterval;
     
-    // Tipos de interrupciones que puede generar
-    private static final String[] INTERRUPT_TYPES = {
+    // Tipos de interrupciones que puede generar (también los usa SimulatedInterruptSource)
+    static final String[] INTERRUPT_TYPES = {
         "SENSOR_DATA",      // Datos de sensores
         "COMM_SIGNAL",      // Señal de comunicación
         "TIMER_TICK",       // Timer del sistema
@@ -21,7 +23,7 @@ public class InterruptGenerator extends Thread {
     };
     
     // Prioridades de interrupciones (mayor = más urgente)
-    private static final int[] INTERRUPT_PRIORITIES = {
+    static final int[] INTERRUPT_PRIORITIES = {
         5,  // SENSOR_DATA
         7,  // COMM_SIGNAL
         3,  // TIMER_TICK
@@ -29,6 +31,16 @@ public class InterruptGenerator extends Thread {
         8   // BATTERY_LOW
     };
     
+    // true si es uno de los tipos de INTERRUPT_TYPES
+    public static boolean isKnownType(String type) {
+        for (String known : INTERRUPT_TYPES) {
+            if (known.equals(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
     public InterruptGenerator(SimKernel kernel, int minInterval, int maxInterval) {
         this.kernel = kernel;
         this.minInterval = minInterval;
@@ -1,37 +1,69 @@
 package sim;
 
+import core.IOSpec;
 import core.InterruptEvent;
 import core.ProcessState;
 import core.SimProcess;
-import ds.Queue;
+import ds.AppendOnlyArray;
+import ds.IndexedHeap;
+import ds.IntrusiveList;
+import ds.MpscQueue;
 import ds.SinglyLinkedList;
+import ds.TimingWheel;
 import metrics.MetricsCollector;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.concurrent.Semaphore;
 
 // Núcleo del simulador RTOS
 // Maneja todas las colas de procesos y ejecuta el ciclo de simulación
-public class SimKernel {
+// Al terminar hay que cerrarlo (close) para liberar el archivo de terminados
+public class SimKernel implements AutoCloseable {
     // Sincronización
+    // El mutex protege el tick y las operaciones de control (política,
+    // quantum, snapshot). Procesos e interrupciones entran por buzones sin
+    // bloqueo que el hilo del tick drena en los pasos 1 y 3
     private final Semaphore mutex = new Semaphore(1);
+    private final MpscQueue<SimProcess> processInbox = new MpscQueue<>();
+    private final MpscQueue<InterruptEvent> interruptInbox = new MpscQueue<>();
+    private final SinglyLinkedList.Visitor<SimProcess> acceptProcess = this::acceptProcess;
+    private final SinglyLinkedList.Visitor<InterruptEvent> acceptInterrupt = this::acceptInterrupt;
+    private final SinglyLinkedList.Visitor<InterruptEvent> acceptPostedInterrupt = this::acceptPostedInterrupt;
     
     // Reloj y log
     private Clock clock;
     private EventLog log;
     
     // Colas de procesos
-    private SinglyLinkedList<SimProcess> newQueue;
-    private SinglyLinkedList<SimProcess> readyQueue;
-    private SinglyLinkedList<SimProcess> blockedQueue;
-    private SinglyLinkedList<SimProcess> suspendedReady;
-    private SinglyLinkedList<SimProcess> suspendedBlocked;
-    private SinglyLinkedList<SimProcess> terminated;
+    // Las listas son intrusivas: mover un proceso entre colas es O(1)
+    private IndexedHeap<SimProcess> newQueue;   // ordenada por arrivalTick
+    private IndexedHeap<SimProcess> readyQueue; // ordenada según la política activa
+    private IntrusiveList<SimProcess> blockedQueue;
+    private IntrusiveList<SimProcess> suspendedReady;
+    private IntrusiveList<SimProcess> suspendedBlocked;
+    private TerminatedArchive terminated; // últimos N en memoria, el resto en disco
+    
+    // Finalizaciones de E/S agendadas por tick absoluto
+    private static final int IO_WHEEL_SLOTS = 256;
+    private TimingWheel<SimProcess> ioWheel;
+    private final SinglyLinkedList.Visitor<SimProcess> completeIO = this::completeIO;
     
     // Proceso en ejecución
     private SimProcess running;
     
-    // Cola de interrupciones
-    private Queue<InterruptEvent> interruptQueue;
+    // Controlador de interrupciones (pendientes por prioridad, máscaras, anidamiento)
+    private static final int INTERRUPT_CAPACITY = 1024;
+    private InterruptController interrupts;
+    private InterruptEvent[] interruptBatch; // atendidas por tick (setInterruptsPerTick)
+    private int runningLevel;                // prioridad de la ISR en RUNNING, o NO_LEVEL
+    // Interrupciones programadas para un tick futuro (ordenadas por tick)
+    private SinglyLinkedList<InterruptEvent> scheduledInterrupts;
     private InterruptGenerator interruptGenerator;
+    private SimulatedInterruptSource interruptSource; // en ticks simulados (null = ninguna)
     
     // Métricas
     private MetricsCollector metrics;
@@ -41,9 +73,55 @@ public class SimKernel {
     private int quantum;
     private int quantumCounter; // contador para RR
     private int ramLimit;
+    private boolean eventDriven; // saltar ticks ociosos hasta el próximo evento
+    private boolean restored;    // se cargó de un checkpoint (no se puede grabar una traza)
     
-    // Snapshot actual
+    // Snapshot actual (se construye bajo demanda en getSnapshot)
     private SystemSnapshot currentSnapshot;
+    private int stateVersion;    // cambia en cada tick y en cada cambio de control
+    private int snapshotVersion; // versión con la que se construyó currentSnapshot
+    private int lastTick;        // último tick ejecutado (el que muestra el snapshot)
+    
+    // Grabación de entradas externas (null = no se graba)
+    private TraceRecorder trace;
+    
+    // Partes del snapshot que se reutilizan mientras no cambien
+    private QueueView readyView;
+    private QueueView blockedView;
+    private QueueView suspendedReadyView;
+    private QueueView suspendedBlockedView;
+    private AppendOnlyArray<SystemSnapshot.ProcessInfo> terminatedInfo; // se agrega al terminar
+    private SystemSnapshot.ProcessInfo[] terminatedArray; // copia de la vista para snapshot.terminated
+    private long terminatedArrayCount;                    // terminados cuando se copió (-1 = nunca)
+    private String[] logsView;
+    private int logsViewVersion;
+    
+    // Criterios de orden de READY (true si a debe salir antes que b)
+    // FCFS y RR no distinguen procesos: el montículo desempata por llegada
+    private static final SinglyLinkedList.Comparator<SimProcess> BY_ARRIVAL_ORDER = (a, b) -> false;
+    private static final SinglyLinkedList.Comparator<SimProcess> BY_SHORTEST_REMAINING =
+            (a, b) -> a.getInstructionsRemaining() < b.getInstructionsRemaining();
+    private static final SinglyLinkedList.Comparator<SimProcess> BY_HIGHEST_PRIORITY =
+            (a, b) -> a.getPriority() > b.getPriority();
+    private static final SinglyLinkedList.Comparator<SimProcess> BY_LOWEST_PRIORITY =
+            (a, b) -> a.getPriority() < b.getPriority();
+    // Orden de NEW: el que llega antes (empates por orden de addProcess)
+    private static final SinglyLinkedList.Comparator<SimProcess> BY_ARRIVAL_TICK =
+            (a, b) -> a.getArrivalTick() < b.getArrivalTick();
+    // Deadline restante y absoluto ordenan igual (ambos restan el mismo tick)
+    private static final SinglyLinkedList.Comparator<SimProcess> BY_EARLIEST_DEADLINE =
+            (a, b) -> a.getAbsoluteDeadline() < b.getAbsoluteDeadline();
+    
+    // Orden en que se agendaron las E/S en curso (para reconstruir la rueda)
+    private static final SinglyLinkedList.Comparator<SimProcess> BY_IO_GENERATION =
+            (a, b) -> ioGenerationTick(a) < ioGenerationTick(b);
+    
+    // Formato del checkpoint
+    public static final int CHECKPOINT_MAGIC = 0x524B4350; // "RKCP"
+    public static final int CHECKPOINT_VERSION = 4;
+    
+    // Visitors sin estado: se crean una sola vez y los recorridos no asignan memoria
+    private static final SinglyLinkedList.Visitor<SimProcess> INCREMENT_WAIT_TIME = SimProcess::incrementWaitTime;
     
     public SimKernel() {
         this.clock = new Clock();
@@ -51,155 +129,356 @@ public class SimKernel {
         this.metrics = new MetricsCollector();
         
         // Inicializar colas
-        this.newQueue = new SinglyLinkedList<>();
-        this.readyQueue = new SinglyLinkedList<>();
-        this.blockedQueue = new SinglyLinkedList<>();
-        this.suspendedReady = new SinglyLinkedList<>();
-        this.suspendedBlocked = new SinglyLinkedList<>();
-        this.terminated = new SinglyLinkedList<>();
-        this.interruptQueue = new Queue<>();
+        this.newQueue = new IndexedHeap<>(BY_ARRIVAL_TICK);
+        this.readyQueue = new IndexedHeap<>(readyOrderFor(Policy.FCFS));
+        this.blockedQueue = new IntrusiveList<>();
+        this.suspendedReady = new IntrusiveList<>();
+        this.suspendedBlocked = new IntrusiveList<>();
+        this.terminated = new TerminatedArchive();
+        this.ioWheel = new TimingWheel<>(IO_WHEEL_SLOTS);
+        this.interrupts = new InterruptController(INTERRUPT_CAPACITY);
+        this.interruptBatch = new InterruptEvent[1];
+        this.runningLevel = InterruptController.NO_LEVEL;
+        this.scheduledInterrupts = new SinglyLinkedList<>();
         
         this.running = null;
         this.currentPolicy = Policy.FCFS;
         this.quantum = 3;
         this.quantumCounter = 0;
         this.ramLimit = 10;
+        this.eventDriven = false;
         
         this.currentSnapshot = new SystemSnapshot();
+        this.stateVersion = 0;
+        this.snapshotVersion = 0;
+        this.lastTick = 0;
+        this.readyView = new QueueView();
+        this.blockedView = new QueueView();
+        this.suspendedReadyView = new QueueView();
+        this.suspendedBlockedView = new QueueView();
+        this.terminatedInfo = new AppendOnlyArray<>();
+        this.terminatedArrayCount = -1;
+        this.logsView = currentSnapshot.logs;
+        this.logsViewVersion = log.getVersion();
     }
     
-    // TICK CONTRACT - 8 pasos que NUNCA cambian
+    // Condición de corte para runUntil. Se evalúa con el kernel tomado, así
+    // que no debe llamar a getSnapshot(), isFinished() ni a otros métodos que
+    // tomen el mutex
+    public interface Condition {
+        boolean test(SimKernel kernel);
+    }
+    
+    // Corta cuando ya no queda nada por ejecutar (ver isFinished)
+    public static final Condition FINISHED = SimKernel::finished;
+    
     public void tick() {
         try {
             mutex.acquire();
-            
-            // 1. Procesar interrupciones pendientes
-            handleInterrupts();
-            
-            // 2. Actualizar E/S (servicios y desbloqueos)
-            updateIO();
-            
-            // 3. Admitir procesos (NEW → READY)
-            admitNewProcesses();
-            
-            // 4. Aplicar swap si RAM_LIMIT excedido
-            applyMediumTermSwap();
-            
-            // 5. Planificar (short-term) + preemption
-            scheduleOrPreempt();
-            
-            // 6. Ejecutar 1 instrucción del RUNNING
-            executeOneInstruction();
-            
-            // 7. Actualizar métricas
-            updateMetrics();
-            
-            // 8. Generar snapshot + avanzar reloj
-            currentSnapshot = buildSnapshot();
-            clock.tick();
-            
+            runTick(Integer.MAX_VALUE);
+        } catch (InterruptedException e) {
+            log.record(clock.getCurrentTick(), EventType.MUTEX_ERROR);
+        } finally {
+            mutex.release();
+        }
+    }
+    
+    // Ejecuta n ticks seguidos tomando el mutex una sola vez, sin snapshots
+    // intermedios. En modo por eventos los saltos no pasan del tick final
+    public SystemSnapshot tickN(int n) {
+        try {
+            mutex.acquire();
+            runTicks(n);
+            return latestSnapshot();
+        } catch (InterruptedException e) {
+            log.record(clock.getCurrentTick(), EventType.MUTEX_ERROR);
+        } finally {
+            mutex.release();
+        }
+        return currentSnapshot;
+    }
+    
+    // Como tickN pero sin construir el snapshot (para TraceReplayer)
+    void advance(int n) {
+        try {
+            mutex.acquire();
+            runTicks(n);
+        } catch (InterruptedException e) {
+            log.record(clock.getCurrentTick(), EventType.MUTEX_ERROR);
+        } finally {
+            mutex.release();
+        }
+    }
+    
+    // Se llama con el mutex tomado
+    private void runTicks(int n) {
+        int end = clock.getCurrentTick() + n;
+        while (clock.getCurrentTick() < end) {
+            runTick(end);
+        }
+    }
+    
+    // Ejecuta ticks hasta que se cumpla la condición (evaluada después de cada
+    // tick) o hasta completar maxTicks. En modo por eventos los tramos ociosos
+    // se saltan de una vez, así que la condición no ve cada tick intermedio
+    public SystemSnapshot runUntil(Condition condition, int maxTicks) {
+        try {
+            mutex.acquire();
+            int end = clock.getCurrentTick() + maxTicks;
+            while (clock.getCurrentTick() < end) {
+                runTick(end);
+                if (condition.test(this)) {
+                    break;
+                }
+            }
+            return latestSnapshot();
         } catch (InterruptedException e) {
-            log.log(clock.getCurrentTick(), "ERROR: Interrupción en mutex");
+            log.record(clock.getCurrentTick(), EventType.MUTEX_ERROR);
         } finally {
             mutex.release();
         }
+        return currentSnapshot;
+    }
+    
+    // TICK CONTRACT - 8 pasos que NUNCA cambian
+    // En modo por eventos, antes de los 8 pasos se saltan los ticks ociosos
+    // (sin pasar de endTick). Se llama con el mutex tomado
+    private void runTick(int endTick) {
+        if (eventDriven) {
+            skipIdleTicks(endTick);
+            if (clock.getCurrentTick() >= endTick) {
+                return; // todo lo que quedaba hasta endTick era ocioso
+            }
+        }
+        
+        // 1. Procesar interrupciones pendientes
+        handleInterrupts();
+        
+        // 2. Actualizar E/S (servicios y desbloqueos)
+        updateIO();
+        
+        // 3. Admitir procesos (NEW → READY)
+        admitNewProcesses();
+        
+        // 4. Aplicar swap si RAM_LIMIT excedido
+        applyMediumTermSwap();
+        
+        // 5. Planificar (short-term) + preemption
+        scheduleOrPreempt();
+        
+        // 6. Ejecutar 1 instrucción del RUNNING
+        executeOneInstruction();
+        
+        // 7. Actualizar métricas
+        updateMetrics();
+        
+        // 8. Publicar nueva versión del estado + avanzar reloj
+        // El snapshot se construye recién cuando alguien lo pide
+        lastTick = clock.getCurrentTick();
+        stateVersion++;
+        clock.tick();
     }
     
     // 1. Procesar interrupciones
     private void handleInterrupts() {
-        if (interruptQueue.isEmpty()) {
-            return;
+        interruptInbox.drain(acceptPostedInterrupt);
+        releaseScheduledInterrupts();
+        if (interruptSource != null) {
+            interruptSource.poll(clock.getCurrentTick(), acceptInterrupt);
         }
         
-        InterruptEvent event = interruptQueue.dequeue();
-        log.log(clock.getCurrentTick(), "Interrupción: " + event.getType());
+        // Lotes de fusión cuya ventana cerró pasan a pendientes
+        interrupts.release(clock.getCurrentTick());
         
-        // Si hay proceso corriendo, moverlo a READY
-        if (running != null) {
+        // Si terminó una ISR anidada, se reanuda la que había interrumpido
+        if (running == null && interrupts.hasInService()) {
+            runningLevel = interrupts.peekInServiceLevel();
+            running = interrupts.popInService();
+            running.setState(ProcessState.RUNNING);
+            log.record(clock.getCurrentTick(), EventType.ISR_RESUMED, running.getName());
+        }
+        
+        // Solo entran las de prioridad mayor que la ISR actual (si hay una).
+        // Se toman de la más a la menos prioritaria y se inician al revés:
+        // la más prioritaria queda corriendo y las demás en la pila debajo
+        int level = running != null && running.isISR() ? runningLevel : InterruptController.NO_LEVEL;
+        int count = interrupts.take(level, interruptBatch);
+        for (int i = count - 1; i >= 0; i--) {
+            startISR(interruptBatch[i]);
+            interruptBatch[i] = null;
+        }
+    }
+    
+    private void startISR(InterruptEvent event) {
+        log.record(clock.getCurrentTick(), EventType.INTERRUPT, -1, event.getCount(), event.getType());
+        metrics.recordISRInvocation(clock.getCurrentTick() - event.getTickGenerated());
+        
+        if (running != null && running.isISR()) {
+            // ISR de menor prioridad: espera en la pila, no vuelve a READY
+            running.setState(ProcessState.READY);
+            interrupts.pushInService(running, runningLevel);
+            log.record(clock.getCurrentTick(), EventType.ISR_NESTED, -1, runningLevel, event.getType());
+        } else if (running != null) {
+            // Proceso normal: vuelve al frente de READY
             running.setState(ProcessState.READY);
-            readyQueue.addFirst(running);
-            log.log(clock.getCurrentTick(), "Proceso " + running.getPid() + " preemptado por interrupción");
+            readyQueue.offerFirst(running);
+            log.record(clock.getCurrentTick(), EventType.PREEMPTED_BY_INTERRUPT, running.getPid());
         }
         
         // Crear ISR y ponerlo a correr
         SimProcess isr = SimProcess.createISR(9999, "ISR_" + event.getType(), 5, clock.getCurrentTick());
         isr.setState(ProcessState.RUNNING);
+        isr.markDispatched(clock.getCurrentTick());
         running = isr;
-        log.log(clock.getCurrentTick(), "ISR iniciada: " + isr.getName());
+        runningLevel = event.getPriority();
+        log.record(clock.getCurrentTick(), EventType.ISR_STARTED, isr.getName());
     }
     
-    // 2. Actualizar E/S
-    private void updateIO() {
-        // Recorrer procesos bloqueados en RAM y serviciar su E/S
-        SinglyLinkedList<SimProcess> stillBlocked = new SinglyLinkedList<>();
+    // Pasa a la cola las interrupciones programadas cuyo tick ya llegó
+    private void releaseScheduledInterrupts() {
+        while (!scheduledInterrupts.isEmpty()
+                && scheduledInterrupts.getFirst().getTickGenerated() <= clock.getCurrentTick()) {
+            acceptInterrupt(scheduledInterrupts.removeFirst());
+        }
+    }
+    
+    // Pasa una interrupción al controlador; si está lleno se descarta
+    private void acceptInterrupt(InterruptEvent event) {
+        int result = interrupts.offer(event, clock.getCurrentTick());
+        metrics.recordInterrupt(result == InterruptController.COALESCED, result == InterruptController.DROPPED);
+        if (result == InterruptController.DROPPED) {
+            log.record(clock.getCurrentTick(), EventType.INTERRUPT_DROPPED, event.getType());
+        }
+    }
+    
+    // Interrupción recibida por addInterrupt (entrada externa: se graba)
+    private void acceptPostedInterrupt(InterruptEvent event) {
+        if (trace != null) {
+            trace.interrupt(clock.getCurrentTick(), event, false);
+        }
+        acceptInterrupt(event);
+    }
+    
+    // Pasa un proceso recibido por addProcess a NEW
+    private void acceptProcess(SimProcess p) {
+        if (trace != null) {
+            trace.process(clock.getCurrentTick(), p);
+        }
+        newQueue.offer(p);
+        log.record(clock.getCurrentTick(), EventType.PROCESS_NEW, p.getPid());
+    }
+    
+    // Modo por eventos: si la CPU está ociosa y nada puede cambiar hasta el
+    // próximo evento, avanza el reloj hasta ese tick de una vez y acredita
+    // los ticks ociosos en bloque. Con READY vacía no hay tiempo de espera
+    // que acreditar, y sin RUNNING no hay deadline ni quantum que vigilar,
+    // así que el resultado es idéntico a ejecutar tick por tick.
+    private void skipIdleTicks(int endTick) {
+        // Lo recibido por los buzones también cuenta como trabajo pendiente
+        interruptInbox.drain(acceptPostedInterrupt);
+        processInbox.drain(acceptProcess);
         
-        while (!blockedQueue.isEmpty()) {
-            SimProcess p = blockedQueue.removeFirst();
-            
-            if (p.getIoSpec() != null && p.getIoSpec().isGenerated()) {
-                boolean satisfied = p.getIoSpec().serviceIO();
-                
-                if (satisfied) {
-                    // E/S completada, mover a READY
-                    p.setState(ProcessState.READY);
-                    readyQueue.addLast(p);
-                    log.log(clock.getCurrentTick(), "Proceso " + p.getPid() + " desbloqueado (E/S completada)");
-                } else {
-                    // Sigue bloqueado
-                    stillBlocked.addLast(p);
-                }
-            } else {
-                stillBlocked.addLast(p);
-            }
+        int now = clock.getCurrentTick();
+        int processesInRam = readyQueue.size() + blockedQueue.size() + (running != null ? 1 : 0);
+        
+        boolean idle = running == null
+                && readyQueue.isEmpty()
+                && !interrupts.hasPending()
+                && !interrupts.hasInService()
+                && processesInRam <= ramLimit
+                && (suspendedReady.isEmpty() || processesInRam >= ramLimit);
+        if (!idle) {
+            return;
+        }
+        
+        int next = nextEventTick(now, processesInRam < ramLimit);
+        if (next <= now) {
+            return; // hay trabajo en este tick, o no hay eventos futuros
         }
         
-        // Restaurar cola de bloqueados
-        blockedQueue = stillBlocked;
+        int skipped = Math.min(next, endTick) - now;
+        metrics.recordQueueLengths(0, blockedQueue.size(), suspendedReady.size() + suspendedBlocked.size());
+        metrics.recordIdleTicks(skipped);
+        clock.advance(skipped);
+        if (next > endTick) {
+            // Se cortó en endTick sin ejecutarlo: el último tick transcurrido es endTick - 1
+            lastTick = endTick - 1;
+            stateVersion++;
+        }
+    }
+    
+    // Próximo tick en que algo puede cambiar: llegada, fin de E/S o interrupción programada
+    // Retorna -1 si no hay ningún evento futuro
+    private int nextEventTick(int now, boolean ramAvailable) {
+        int next = Integer.MAX_VALUE;
         
-        // También serviciar E/S de procesos suspendidos bloqueados
-        SinglyLinkedList<SimProcess> stillSuspendedBlocked = new SinglyLinkedList<>();
+        if (ramAvailable && !newQueue.isEmpty()) {
+            next = Math.min(next, newQueue.peek().getArrivalTick());
+        }
         
-        while (!suspendedBlocked.isEmpty()) {
-            SimProcess p = suspendedBlocked.removeFirst();
-            
-            if (p.getIoSpec() != null && p.getIoSpec().isGenerated()) {
-                boolean satisfied = p.getIoSpec().serviceIO();
-                
-                if (satisfied) {
-                    // E/S completada, mover a SUSPENDED_READY
-                    p.setState(ProcessState.SUSPENDED_READY);
-                    suspendedReady.addLast(p);
-                    log.log(clock.getCurrentTick(), "Proceso " + p.getPid() + " desbloqueado en swap (E/S completada)");
-                } else {
-                    // Sigue bloqueado
-                    stillSuspendedBlocked.addLast(p);
-                }
-            } else {
-                stillSuspendedBlocked.addLast(p);
+        int ioTick = ioWheel.nextDeadline(now);
+        if (ioTick >= 0) {
+            next = Math.min(next, ioTick);
+        }
+        
+        if (!scheduledInterrupts.isEmpty()) {
+            next = Math.min(next, scheduledInterrupts.getFirst().getTickGenerated());
+        }
+        
+        int releaseTick = interrupts.nextReleaseTick();
+        if (releaseTick >= 0) {
+            next = Math.min(next, releaseTick);
+        }
+        
+        if (interruptSource != null) {
+            int sourceTick = interruptSource.nextTick();
+            if (sourceTick >= 0) {
+                next = Math.min(next, sourceTick);
             }
         }
         
-        suspendedBlocked = stillSuspendedBlocked;
+        return next == Integer.MAX_VALUE ? -1 : next;
+    }
+    
+    // 2. Actualizar E/S
+    // Solo se tocan los procesos cuya E/S termina en este tick (rueda de tiempo)
+    private void updateIO() {
+        ioWheel.advance(clock.getCurrentTick(), completeIO);
+    }
+    
+    // Finaliza la E/S de un proceso bloqueado (en RAM o en swap)
+    private void completeIO(SimProcess p) {
+        p.getIoSpec().complete();
+        
+        if (p.getState() == ProcessState.BLOCKED) {
+            // E/S completada, mover a READY
+            blockedQueue.remove(p);
+            p.setState(ProcessState.READY);
+            readyQueue.offer(p);
+            log.record(clock.getCurrentTick(), EventType.IO_UNBLOCKED, p.getPid());
+        } else {
+            // E/S completada en swap, mover a SUSPENDED_READY (addLast lo desenlaza en O(1))
+            p.setState(ProcessState.SUSPENDED_READY);
+            suspendedReady.addLast(p);
+            log.record(clock.getCurrentTick(), EventType.IO_UNBLOCKED_SUSPENDED, p.getPid());
+        }
     }
     
     // 3. Admitir nuevos procesos
     private void admitNewProcesses() {
+        processInbox.drain(acceptProcess);
+        
         int processesInRam = readyQueue.size() + blockedQueue.size() + (running != null ? 1 : 0);
         
-        while (!newQueue.isEmpty() && processesInRam < ramLimit) {
-            SimProcess p = newQueue.removeFirst();
-            
-            // Verificar si ya llegó su arrival tick
-            if (p.getArrivalTick() <= clock.getCurrentTick()) {
-                p.setState(ProcessState.READY);
-                readyQueue.addLast(p);
-                log.log(clock.getCurrentTick(), "Proceso " + p.getPid() + " admitido a READY");
-                processesInRam++;
-            } else {
-                // Todavía no llega, devolver a NEW
-                newQueue.addFirst(p);
-                break;
-            }
+        // NEW está ordenada por llegada: el tope es siempre el próximo en llegar,
+        // sin importar el orden en que se llamó addProcess
+        while (!newQueue.isEmpty() && processesInRam < ramLimit
+                && newQueue.peek().getArrivalTick() <= clock.getCurrentTick()) {
+            SimProcess p = newQueue.poll();
+            p.setState(ProcessState.READY);
+            readyQueue.offer(p);
+            log.record(clock.getCurrentTick(), EventType.ADMITTED, p.getPid());
+            processesInRam++;
         }
     }
     
@@ -210,12 +489,13 @@ public class SimKernel {
         // SWAP OUT: Si excedemos RAM, suspender procesos de menor prioridad
         // Primero intentar suspender procesos READY
         while (processesInRam > ramLimit && !readyQueue.isEmpty()) {
-            SimProcess toSwap = findLowestPriority(readyQueue);
+            SimProcess toSwap = readyQueue.minBy(BY_LOWEST_PRIORITY);
             if (toSwap != null) {
                 readyQueue.remove(toSwap);
                 toSwap.setState(ProcessState.SUSPENDED_READY);
                 suspendedReady.addLast(toSwap);
-                log.log(clock.getCurrentTick(), "Proceso " + toSwap.getPid() + " suspendido (RAM limit)");
+                log.record(clock.getCurrentTick(), EventType.SUSPENDED, toSwap.getPid());
+                metrics.recordSwap();
                 processesInRam--;
             } else {
                 break;
@@ -224,12 +504,13 @@ public class SimKernel {
         
         // Si aún excedemos RAM y no hay más READY, suspender BLOCKED
         while (processesInRam > ramLimit && !blockedQueue.isEmpty()) {
-            SimProcess toSwap = findLowestPriority(blockedQueue);
+            SimProcess toSwap = blockedQueue.minBy(BY_LOWEST_PRIORITY);
             if (toSwap != null) {
-                blockedQueue.remove(toSwap);
+                // addLast desenlaza de BLOCKED en O(1)
                 toSwap.setState(ProcessState.SUSPENDED_BLOCKED);
                 suspendedBlocked.addLast(toSwap);
-                log.log(clock.getCurrentTick(), "Proceso bloqueado " + toSwap.getPid() + " suspendido (RAM limit)");
+                log.record(clock.getCurrentTick(), EventType.BLOCKED_SUSPENDED, toSwap.getPid());
+                metrics.recordSwap();
                 processesInRam--;
             } else {
                 break;
@@ -240,78 +521,66 @@ public class SimKernel {
         // Priorizar procesos con mayor prioridad o deadlines cercanos
         while (processesInRam < ramLimit && !suspendedReady.isEmpty()) {
             // Buscar el proceso de mayor prioridad en suspendidos
-            SimProcess toRestore = findHighestPriorityInSuspended();
+            SimProcess toRestore = suspendedReady.minBy(BY_HIGHEST_PRIORITY);
             if (toRestore != null) {
-                suspendedReady.remove(toRestore);
+                suspendedReady.remove(toRestore); // O(1), READY no es intrusiva
                 toRestore.setState(ProcessState.READY);
-                readyQueue.addLast(toRestore);
-                log.log(clock.getCurrentTick(), "Proceso " + toRestore.getPid() + " restaurado a RAM");
+                readyQueue.offer(toRestore);
+                log.record(clock.getCurrentTick(), EventType.RESTORED, toRestore.getPid());
+                metrics.recordSwap();
                 processesInRam++;
             } else {
                 break;
             }
         }
         
-        // También manejar procesos bloqueados que se suspendieron
-        // Si se desbloquearon mientras estaban suspendidos, moverlos a SUSPENDED_READY
-        SinglyLinkedList<SimProcess> stillSuspendedBlocked = new SinglyLinkedList<>();
-        while (!suspendedBlocked.isEmpty()) {
-            SimProcess p = suspendedBlocked.removeFirst();
-            
-            // Si su E/S se completó, mover a SUSPENDED_READY
-            if (p.getIoSpec() != null && p.getIoSpec().isSatisfied()) {
-                p.setState(ProcessState.SUSPENDED_READY);
-                suspendedReady.addLast(p);
-                log.log(clock.getCurrentTick(), "Proceso " + p.getPid() + " movido a SUSPENDED_READY (E/S completada)");
-            } else {
-                stillSuspendedBlocked.addLast(p);
-            }
-        }
-        suspendedBlocked = stillSuspendedBlocked;
+        // Los suspendidos bloqueados pasan a SUSPENDED_READY en el paso 2,
+        // en el mismo tick en que vence su E/S en la rueda de tiempo
     }
     
     // 5. Planificación y preemption
     private void scheduleOrPreempt() {
-        // Verificar preemption según política
-        if (running != null && !readyQueue.isEmpty()) {
+        // Verificar preemption según política (una ISR nunca se preempta
+        // por un proceso normal: solo otra interrupción de mayor prioridad)
+        if (running != null && !running.isISR() && !readyQueue.isEmpty()) {
             boolean shouldPreempt = false;
             
             // RR: verificar quantum
             if (currentPolicy == Policy.RR) {
                 if (quantumCounter >= quantum) {
                     shouldPreempt = true;
-                    log.log(clock.getCurrentTick(), "Quantum agotado para proceso " + running.getPid());
+                    log.record(clock.getCurrentTick(), EventType.QUANTUM_EXPIRED, running.getPid());
                 }
             }
             // SRT: preempta si llega proceso con menos tiempo restante
             else if (currentPolicy == Policy.SRT) {
-                SimProcess shortest = findShortestRemaining(readyQueue);
+                SimProcess shortest = readyQueue.peek();
                 if (shortest != null && shortest.getInstructionsRemaining() < running.getInstructionsRemaining()) {
                     shouldPreempt = true;
-                    log.log(clock.getCurrentTick(), "Preemption SRT: proceso más corto disponible");
+                    log.record(clock.getCurrentTick(), EventType.PREEMPT_SRT, running.getPid());
                 }
             }
             // PRIO: preempta si llega proceso de mayor prioridad
             else if (currentPolicy == Policy.PRIO) {
-                SimProcess highest = findHighestPriority(readyQueue);
+                SimProcess highest = readyQueue.peek();
                 if (highest != null && highest.getPriority() > running.getPriority()) {
                     shouldPreempt = true;
-                    log.log(clock.getCurrentTick(), "Preemption PRIO: proceso de mayor prioridad disponible");
+                    log.record(clock.getCurrentTick(), EventType.PREEMPT_PRIO, running.getPid());
                 }
             }
             // EDF: preempta si llega proceso con deadline más cercano
             else if (currentPolicy == Policy.EDF) {
-                SimProcess earliest = findEarliestDeadline(readyQueue);
+                SimProcess earliest = readyQueue.peek();
                 if (earliest != null && earliest.getDeadlineRemaining(clock.getCurrentTick()) < running.getDeadlineRemaining(clock.getCurrentTick())) {
                     shouldPreempt = true;
-                    log.log(clock.getCurrentTick(), "Preemption EDF: proceso con deadline más cercano disponible");
+                    log.record(clock.getCurrentTick(), EventType.PREEMPT_EDF, running.getPid());
                 }
             }
             
             // Aplicar preemption si es necesario
             if (shouldPreempt) {
                 running.setState(ProcessState.READY);
-                readyQueue.addLast(running);
+                readyQueue.offer(running);
                 running = null;
                 quantumCounter = 0;
             }
@@ -322,8 +591,9 @@ public class SimKernel {
             running = selectNextProcess();
             if (running != null) {
                 running.setState(ProcessState.RUNNING);
+                running.markDispatched(clock.getCurrentTick());
                 quantumCounter = 0;
-                log.log(clock.getCurrentTick(), "Proceso " + running.getPid() + " seleccionado para ejecución");
+                log.record(clock.getCurrentTick(), EventType.DISPATCHED, running.getPid());
             }
         }
         
@@ -343,10 +613,11 @@ public class SimKernel {
         
         // Verificar si generó E/S
         if (running.getIoSpec() != null && running.getIoSpec().isGenerated() && !running.getIoSpec().isSatisfied()) {
-            // Bloquear por E/S
+            // Bloquear por E/S y agendar su finalización
             running.setState(ProcessState.BLOCKED);
             blockedQueue.addLast(running);
-            log.log(clock.getCurrentTick(), "Proceso " + running.getPid() + " bloqueado por E/S");
+            ioWheel.schedule(running, running.getIoSpec().scheduleCompletion(clock.getCurrentTick()));
+            log.record(clock.getCurrentTick(), EventType.IO_BLOCKED, running.getPid());
             running = null;
             return;
         }
@@ -358,12 +629,25 @@ public class SimKernel {
             // Registrar métricas del proceso completado
             int waitTime = running.getWaitTime();
             int turnaroundTime = running.getTurnaroundTime();
+            int responseTime = running.getResponseTime();
+            int lateness = running.getCompletionTick() - running.getAbsoluteDeadline();
             int cpuTime = running.getTotalInstructions();
             boolean missedDeadline = running.isMissedDeadline();
-            metrics.recordCompletedProcess(waitTime, turnaroundTime, cpuTime, missedDeadline);
+            metrics.recordCompletedProcess(waitTime, turnaroundTime, responseTime, lateness, cpuTime, missedDeadline);
+            
+            try {
+                terminated.add(running);
+            } catch (IOException e) {
+                log.record(clock.getCurrentTick(), EventType.ARCHIVE_ERROR, e.getMessage());
+            }
             
-            terminated.addLast(running);
-            log.log(clock.getCurrentTick(), "Proceso " + running.getPid() + " terminado");
+            // Su ProcessInfo ya no cambia: se agrega una sola vez y se conservan
+            // a lo sumo 2N para acompañar al límite en memoria del archivo
+            terminatedInfo.add(processInfo(running, running.getCompletionTick()));
+            if (terminatedInfo.size() >= 2 * terminated.getInMemoryLimit()) {
+                terminatedInfo.retainLast(terminated.getInMemoryLimit());
+            }
+            log.record(clock.getCurrentTick(), EventType.TERMINATED, running.getPid());
             running = null;
             return;
         }
@@ -371,46 +655,64 @@ public class SimKernel {
         // Verificar deadline miss
         if (running.hasMissedDeadline(clock.getCurrentTick())) {
             running.setMissedDeadline(true);
-            log.log(clock.getCurrentTick(), "DEADLINE MISS: Proceso " + running.getPid());
+            log.record(clock.getCurrentTick(), EventType.DEADLINE_MISS, running.getPid());
         }
     }
     // 7. Actualizar métricas
     private void updateMetrics() {
         // Incrementar wait time de procesos en READY
-        Object[] readyArray = readyQueue.toArray();
-        for (Object obj : readyArray) {
-            SimProcess p = (SimProcess) obj;
-            p.incrementWaitTime();
-        }
+        readyQueue.forEach(INCREMENT_WAIT_TIME);
         
         // Registrar tick en métricas
+        metrics.recordQueueLengths(readyQueue.size(), blockedQueue.size(),
+                                   suspendedReady.size() + suspendedBlocked.size());
         metrics.recordTick(running != null);
+        metrics.setTotalProcesses(countProcesses());
+    }
+    
+    // Total de procesos en el sistema (todas las colas + RUNNING), O(1)
+    private int countProcesses() {
+        return newQueue.size() + readyQueue.size() + blockedQueue.size() + 
+               suspendedReady.size() + suspendedBlocked.size() + 
+               (int) terminated.size() + (running != null ? 1 : 0);
     }
 
-    // 8. Generar snapshot
+    // 8. Generar snapshot (bajo demanda, ver getSnapshot)
+    // Incremental: en el mismo tick las colas que no cambiaron reutilizan su
+    // arreglo anterior, cada ProcessInfo se recrea solo si cambió el PCB o
+    // su deadline restante (el tick), y TERMINATED es una
+    // vista del arreglo que solo crece (no se copia). El arreglo de
+    // TERMINATED de siempre se copia de la vista solo si terminó alguno
     private SystemSnapshot buildSnapshot() {
         SystemSnapshot snapshot = new SystemSnapshot();
-        snapshot.currentTick = clock.getCurrentTick();
+        snapshot.currentTick = lastTick;
         snapshot.currentPolicy = currentPolicy.toString();
         snapshot.quantum = quantum;
         
         // Proceso corriendo
-        snapshot.running = running != null ? createProcessInfo(running) : null;
+        snapshot.running = running != null ? processInfo(running, lastTick) : null;
         
         // Colas
-        snapshot.readyQueue = convertToProcessInfoArray(readyQueue);
-        snapshot.blockedQueue = convertToProcessInfoArray(blockedQueue);
-        snapshot.suspendedReady = convertToProcessInfoArray(suspendedReady);
-        snapshot.suspendedBlocked = convertToProcessInfoArray(suspendedBlocked);
-        snapshot.terminated = convertToProcessInfoArray(terminated);
+        snapshot.readyQueue = readyView.refresh(readyQueue, this);
+        snapshot.blockedQueue = blockedView.refresh(blockedQueue, this);
+        snapshot.suspendedReady = suspendedReadyView.refresh(suspendedReady, this);
+        snapshot.suspendedBlocked = suspendedBlockedView.refresh(suspendedBlocked, this);
+        snapshot.terminatedView = terminatedInfo.view(terminated.getInMemoryLimit());
+        if (terminatedArrayCount != terminated.size()) {
+            terminatedArray = convertToProcessInfoArray(snapshot.terminatedView);
+            terminatedArrayCount = terminated.size();
+        }
+        snapshot.terminated = terminatedArray;
         
         // Logs
-        snapshot.logs = log.toArray();
+        if (logsViewVersion != log.getVersion()) {
+            logsView = log.toArray();
+            logsViewVersion = log.getVersion();
+        }
+        snapshot.logs = logsView;
         
         // Métricas
-        snapshot.totalProcesses = newQueue.size() + readyQueue.size() + blockedQueue.size() + 
-                                  suspendedReady.size() + suspendedBlocked.size() + 
-                                  terminated.size() + (running != null ? 1 : 0);
+        snapshot.totalProcesses = countProcesses();
         snapshot.completedProcesses = metrics.getCompletedProcesses();
         snapshot.missedDeadlines = metrics.getMissedDeadlines();
         snapshot.cpuUtilization = metrics.getCpuUtilization();
@@ -418,179 +720,258 @@ public class SimKernel {
         snapshot.throughput = metrics.getThroughput();
         snapshot.averageWaitTime = metrics.getAverageWaitTime();
         snapshot.averageTurnaroundTime = metrics.getAverageTurnaroundTime();
-        
-        // Actualizar total de procesos en el collector
-        metrics.setTotalProcesses(snapshot.totalProcesses);
+        snapshot.waitTimeLatency = metrics.getWaitTimeHistogram().summary();
+        snapshot.turnaroundLatency = metrics.getTurnaroundTimeHistogram().summary();
+        snapshot.responseLatency = metrics.getResponseTimeHistogram().summary();
+        snapshot.lateness = metrics.getLatenessHistogram().summary();
+        snapshot.isrLatency = metrics.getIsrLatencyHistogram().summary();
+        snapshot.windows = metrics.getWindowedMetrics().windows();
         
         return snapshot;
     }
     
     // Helpers
     
+    // READY ya está ordenada según la política activa: el tope es el siguiente
     private SimProcess selectNextProcess() {
-        if (readyQueue.isEmpty()) {
-            return null;
-        }
-        
-        switch (currentPolicy) {
-            case FCFS:
-                // First-Come-First-Served: el primero en llegar
-                return readyQueue.removeFirst();
-                
-            case RR:
-                // Round Robin: igual que FCFS pero con quantum
-                return readyQueue.removeFirst();
-                
+        return readyQueue.poll();
+    }
+    
+    // Criterio de orden de READY para cada política
+    private static SinglyLinkedList.Comparator<SimProcess> readyOrderFor(Policy policy) {
+        switch (policy) {
             case SRT:
                 // Shortest Remaining Time: el de menor tiempo restante
-                return removeShortestRemaining(readyQueue);
+                return BY_SHORTEST_REMAINING;
                 
             case PRIO:
                 // Prioridad Estática: el de mayor prioridad
-                return removeHighestPriority(readyQueue);
+                return BY_HIGHEST_PRIORITY;
                 
             case EDF:
                 // Earliest Deadline First: el de deadline más cercano
-                return removeEarliestDeadline(readyQueue);
+                return BY_EARLIEST_DEADLINE;
                 
+            case FCFS:
+            case RR:
             default:
-                return readyQueue.removeFirst();
+                // FCFS y RR: el primero en llegar
+                return BY_ARRIVAL_ORDER;
         }
     }
     
-    private SimProcess findLowestPriority(SinglyLinkedList<SimProcess> list) {
-        Object[] array = list.toArray();
-        if (array.length == 0) return null;
+    // ProcessInfo del proceso visto desde un tick, reutilizando el anterior
+    // si el PCB no cambió y se armó para el mismo tick (mismo deadline restante)
+    private SystemSnapshot.ProcessInfo processInfo(SimProcess p, int tick) {
+        SystemSnapshot.ProcessInfo info = (SystemSnapshot.ProcessInfo) p.getCachedView();
+        if (info == null || info.deadlineRemaining != p.getDeadlineRemaining(tick)) {
+            info = new SystemSnapshot.ProcessInfo(
+                p.getPid(),
+                p.getName(),
+                p.getState().toString(),
+                p.getPc(),
+                p.getMar(),
+                p.getPriority(),
+                p.getInstructionsRemaining(),
+                p.getDeadlineRemaining(tick),
+                p.isMissedDeadline(),
+                p.isISR()
+            );
+            p.setCachedView(info);
+        }
+        return info;
+    }
+    
+    // En el orden en que se van a despachar (no el del arreglo del montículo)
+    private SystemSnapshot.ProcessInfo[] convertToProcessInfoArray(IndexedHeap<SimProcess> heap) {
+        Object[] ordered = heap.toSortedArray();
+        SystemSnapshot.ProcessInfo[] result = new SystemSnapshot.ProcessInfo[ordered.length];
         
-        SimProcess lowest = (SimProcess) array[0];
-        for (Object obj : array) {
-            SimProcess p = (SimProcess) obj;
-            if (p.getPriority() < lowest.getPriority()) {
-                lowest = p;
-            }
+        for (int i = 0; i < result.length; i++) {
+            result[i] = processInfo((SimProcess) ordered[i], lastTick);
         }
-        return lowest;
+        
+        return result;
+    }
+    
+    private static SystemSnapshot.ProcessInfo[] convertToProcessInfoArray(
+            AppendOnlyArray.View<SystemSnapshot.ProcessInfo> view) {
+        SystemSnapshot.ProcessInfo[] result = new SystemSnapshot.ProcessInfo[view.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = view.get(i);
+        }
+        return result;
     }
     
-    // Helper para swap in - busca el de mayor prioridad en suspendidos
-    private SimProcess findHighestPriorityInSuspended() {
-        Object[] array = suspendedReady.toArray();
-        if (array.length == 0) return null;
+    private SystemSnapshot.ProcessInfo[] convertToProcessInfoArray(IntrusiveList<SimProcess> list) {
+        SystemSnapshot.ProcessInfo[] result = new SystemSnapshot.ProcessInfo[list.size()];
         
-        SimProcess highest = (SimProcess) array[0];
-        for (Object obj : array) {
-            SimProcess p = (SimProcess) obj;
-            if (p.getPriority() > highest.getPriority()) {
-                highest = p;
-            }
+        int i = 0;
+        for (SimProcess p = list.getFirst(); p != null; p = list.next(p)) {
+            result[i++] = processInfo(p, lastTick);
         }
-        return highest;
+        
+        return result;
     }
     
-    // Helpers para SRT
-    private SimProcess findShortestRemaining(SinglyLinkedList<SimProcess> list) {
-        Object[] array = list.toArray();
-        if (array.length == 0) return null;
+    // Arreglo de ProcessInfo de una cola y el modCount y tick con que se armó.
+    // Los procesos que esperan en una cola no cambian campos visibles salvo
+    // el deadline restante (solo RUNNING ejecuta), así que si la cola no
+    // cambió y el tick es el mismo el arreglo sigue valiendo
+    private static final class QueueView {
+        private int modCount = -1;
+        private int tick = -1;
+        private SystemSnapshot.ProcessInfo[] infos;
+        
+        SystemSnapshot.ProcessInfo[] refresh(IndexedHeap<SimProcess> heap, SimKernel kernel) {
+            if (modCount != heap.getModCount() || tick != kernel.lastTick) {
+                infos = kernel.convertToProcessInfoArray(heap);
+                modCount = heap.getModCount();
+                tick = kernel.lastTick;
+            }
+            return infos;
+        }
         
-        SimProcess shortest = (SimProcess) array[0];
-        for (Object obj : array) {
-            SimProcess p = (SimProcess) obj;
-            if (p.getInstructionsRemaining() < shortest.getInstructionsRemaining()) {
-                shortest = p;
+        SystemSnapshot.ProcessInfo[] refresh(IntrusiveList<SimProcess> list, SimKernel kernel) {
+            if (modCount != list.getModCount() || tick != kernel.lastTick) {
+                infos = kernel.convertToProcessInfoArray(list);
+                modCount = list.getModCount();
+                tick = kernel.lastTick;
             }
+            return infos;
         }
-        return shortest;
     }
     
-    private SimProcess removeShortestRemaining(SinglyLinkedList<SimProcess> list) {
-        SimProcess shortest = findShortestRemaining(list);
-        if (shortest != null) {
-            list.remove(shortest);
-        }
-        return shortest;
+    // Métodos públicos para control
+    
+    // Seguro desde cualquier hilo y nunca bloquea: el proceso entra a NEW
+    // en el paso 3 del próximo tick
+    public void addProcess(SimProcess p) {
+        processInbox.offer(p);
     }
     
-    // Helpers para Prioridad
-    private SimProcess findHighestPriority(SinglyLinkedList<SimProcess> list) {
-        Object[] array = list.toArray();
-        if (array.length == 0) return null;
-        
-        SimProcess highest = (SimProcess) array[0];
-        for (Object obj : array) {
-            SimProcess p = (SimProcess) obj;
-            if (p.getPriority() > highest.getPriority()) {
-                highest = p;
+    // Seguro desde cualquier hilo y nunca bloquea: la interrupción se atiende
+    // desde el paso 1 del próximo tick (si la cola acotada está llena, se descarta)
+    public void addInterrupt(InterruptEvent event) {
+        interruptInbox.offer(event);
+    }
+    
+    // Programa una interrupción para el tick indicado en event.getTickGenerated()
+    // A diferencia de addInterrupt, el modo por eventos la tiene en cuenta al saltar
+    public void scheduleInterrupt(InterruptEvent event) {
+        try {
+            mutex.acquire();
+            if (trace != null) {
+                trace.interrupt(clock.getCurrentTick(), event, true);
             }
+            scheduledInterrupts.insertOrdered(event, (a, b) -> a.getTickGenerated() < b.getTickGenerated());
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+        } finally {
+            mutex.release();
         }
-        return highest;
     }
     
-    private SimProcess removeHighestPriority(SinglyLinkedList<SimProcess> list) {
-        SimProcess highest = findHighestPriority(list);
-        if (highest != null) {
-            list.remove(highest);
+    // Retorna el snapshot del último tick. Se construye solo si el estado
+    // cambió desde la última vez que se pidió; si no, se retorna el mismo
+    public SystemSnapshot getSnapshot() {
+        try {
+            mutex.acquire();
+            latestSnapshot();
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+        } finally {
+            mutex.release();
         }
-        return highest;
+        return currentSnapshot;
     }
     
-    // Helpers para EDF
-    private SimProcess findEarliestDeadline(SinglyLinkedList<SimProcess> list) {
-        Object[] array = list.toArray();
-        if (array.length == 0) return null;
-        
-        SimProcess earliest = (SimProcess) array[0];
-        int currentTick = clock.getCurrentTick();
-        
-        for (Object obj : array) {
-            SimProcess p = (SimProcess) obj;
-            if (p.getDeadlineRemaining(currentTick) < earliest.getDeadlineRemaining(currentTick)) {
-                earliest = p;
-            }
+    // Se llama con el mutex tomado
+    private SystemSnapshot latestSnapshot() {
+        if (snapshotVersion != stateVersion) {
+            currentSnapshot = buildSnapshot();
+            snapshotVersion = stateVersion;
         }
-        return earliest;
+        return currentSnapshot;
     }
     
-    private SimProcess removeEarliestDeadline(SinglyLinkedList<SimProcess> list) {
-        SimProcess earliest = findEarliestDeadline(list);
-        if (earliest != null) {
-            list.remove(earliest);
+    // true si no queda ningún proceso por ejecutar ni E/S ni interrupciones
+    // pendientes. Toma el mutex: como Condition de runUntil usar FINISHED
+    public boolean isFinished() {
+        try {
+            mutex.acquire();
+            return finished();
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+        } finally {
+            mutex.release();
         }
-        return earliest;
+        return false;
     }
     
-    private SystemSnapshot.ProcessInfo createProcessInfo(SimProcess p) {
-        return new SystemSnapshot.ProcessInfo(
-            p.getPid(),
-            p.getName(),
-            p.getState().toString(),
-            p.getPc(),
-            p.getMar(),
-            p.getPriority(),
-            p.getInstructionsRemaining(),
-            p.getDeadlineRemaining(clock.getCurrentTick()),
-            p.isMissedDeadline(),
-            p.isISR()
-        );
+    // Se llama con el mutex tomado (los buzones solo se leen del lado consumidor)
+    private boolean finished() {
+        return running == null
+                && newQueue.isEmpty()
+                && readyQueue.isEmpty()
+                && blockedQueue.isEmpty()
+                && suspendedReady.isEmpty()
+                && suspendedBlocked.isEmpty()
+                && !interrupts.hasPending()
+                && !interrupts.hasInService()
+                && interrupts.getOpenCount() == 0
+                && scheduledInterrupts.isEmpty()
+                && processInbox.isEmpty()
+                && interruptInbox.isEmpty();
     }
     
-    private SystemSnapshot.ProcessInfo[] convertToProcessInfoArray(SinglyLinkedList<SimProcess> list) {
-        Object[] array = list.toArray();
-        SystemSnapshot.ProcessInfo[] result = new SystemSnapshot.ProcessInfo[array.length];
-        
-        for (int i = 0; i < array.length; i++) {
-            result[i] = createProcessInfo((SimProcess) array[i]);
+    // Versión del estado: si no cambió, getSnapshot() retorna el mismo objeto
+    public int getStateVersion() {
+        return stateVersion;
+    }
+    
+    public void setPolicy(Policy policy) {
+        try {
+            mutex.acquire();
+            this.currentPolicy = policy;
+            this.quantumCounter = 0; // reiniciar contador al cambiar política
+            readyQueue.setComparator(readyOrderFor(policy)); // reordenar READY en O(n)
+            log.record(clock.getCurrentTick(), EventType.POLICY_CHANGED, policy);
+            if (trace != null) {
+                trace.control(clock.getCurrentTick(), "POLICY", policy);
+            }
+            stateVersion++;
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+        } finally {
+            mutex.release();
         }
-        
-        return result;
     }
     
-    // Métodos públicos para control
+    public void setQuantum(int quantum) {
+        try {
+            mutex.acquire();
+            this.quantum = quantum;
+            if (trace != null) {
+                trace.control(clock.getCurrentTick(), "QUANTUM", quantum);
+            }
+            stateVersion++;
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+        } finally {
+            mutex.release();
+        }
+    }
     
-    public void addProcess(SimProcess p) {
+    // Máximo de procesos en RAM (READY + BLOCKED + RUNNING); el resto se suspende
+    public void setRamLimit(int ramLimit) {
         try {
             mutex.acquire();
-            newQueue.addLast(p);
-            log.log(clock.getCurrentTick(), "Proceso " + p.getPid() + " agregado a NEW");
+            this.ramLimit = ramLimit;
+            if (trace != null) {
+                trace.control(clock.getCurrentTick(), "RAM", ramLimit);
+            }
+            stateVersion++;
         } catch (InterruptedException e) {
             e.printStackTrace();
         } finally {
@@ -598,10 +979,29 @@ public class SimKernel {
         }
     }
     
-    public void addInterrupt(InterruptEvent event) {
+    // Configuración actual (la de un checkpoint después de restore)
+    public Policy getPolicy() {
+        return currentPolicy;
+    }
+    
+    public int getQuantum() {
+        return quantum;
+    }
+    
+    public int getRamLimit() {
+        return ramLimit;
+    }
+    
+    // Archivo de procesos terminados (para leer los que ya se pasaron a disco)
+    public TerminatedArchive getTerminatedArchive() {
+        return terminated;
+    }
+    
+    // Reemplaza el archivo de terminados (usar antes de empezar a simular)
+    public void setTerminatedArchive(TerminatedArchive archive) {
         try {
             mutex.acquire();
-            interruptQueue.enqueue(event);
+            this.terminated = archive;
         } catch (InterruptedException e) {
             e.printStackTrace();
         } finally {
@@ -609,40 +1009,476 @@ public class SimKernel {
         }
     }
     
-    public SystemSnapshot getSnapshot() {
-        return currentSnapshot;
+    // Activa el modo por eventos (salta ticks ociosos en cada tick())
+    public void setEventDriven(boolean eventDriven) {
+        try {
+            mutex.acquire();
+            this.eventDriven = eventDriven;
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+        } finally {
+            mutex.release();
+        }
     }
     
-    public void setPolicy(Policy policy) {
-        this.currentPolicy = policy;
-        this.quantumCounter = 0; // reiniciar contador al cambiar política
-        log.log(clock.getCurrentTick(), "Política cambiada a: " + policy);
+    public boolean isEventDriven() {
+        return eventDriven;
     }
     
-    public void setQuantum(int quantum) {
-        this.quantum = quantum;
+    // Log de eventos (para ajustar filtros de nivel o tipo)
+    public EventLog getEventLog() {
+        return log;
     }
     
     public Clock getClock() {
         return clock;
     }
     
+    public MetricsCollector getMetrics() {
+        return metrics;
+    }
+    
+    // Detiene el generador de interrupciones y cierra el archivo de
+    // terminados (borra el temporal). El kernel no se debe usar después
+    @Override
+    public void close() throws IOException {
+        stopInterruptGenerator();
+        try {
+            mutex.acquire();
+            terminated.close();
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+        } finally {
+            mutex.release();
+        }
+    }
+    
     // Control del generador de interrupciones
     public void startInterruptGenerator(int minInterval, int maxInterval) {
         if (interruptGenerator == null || !interruptGenerator.isRunning()) {
             interruptGenerator = new InterruptGenerator(this, minInterval, maxInterval);
             interruptGenerator.start();
-            log.log(clock.getCurrentTick(), "Generador de interrupciones iniciado");
+            log.record(clock.getCurrentTick(), EventType.GENERATOR_STARTED);
         }
     }
     
     public void stopInterruptGenerator() {
         if (interruptGenerator != null && interruptGenerator.isRunning()) {
             interruptGenerator.stopGenerator();
-            log.log(clock.getCurrentTick(), "Generador de interrupciones detenido");
+            log.record(clock.getCurrentTick(), EventType.GENERATOR_STOPPED);
         }
     }
     
+    // Conecta una fuente de interrupciones en ticks simulados (null la quita)
+    // La fuente se reinicia desde su semilla a partir del tick actual
+    public void setInterruptSource(SimulatedInterruptSource source) {
+        try {
+            mutex.acquire();
+            this.interruptSource = source;
+            if (source != null) {
+                source.start(clock.getCurrentTick());
+            }
+            if (trace != null) {
+                trace.source(clock.getCurrentTick(), source);
+            }
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+        } finally {
+            mutex.release();
+        }
+    }
+    
+    // Las interrupciones de ese tipo quedan retenidas hasta desenmascararlo
+    public void maskInterrupt(String type) {
+        try {
+            mutex.acquire();
+            interrupts.mask(type);
+            log.record(clock.getCurrentTick(), EventType.INTERRUPTS_MASKED, type);
+            if (trace != null) {
+                trace.control(clock.getCurrentTick(), "MASK", type);
+            }
+            stateVersion++;
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+        } finally {
+            mutex.release();
+        }
+    }
+    
+    public void unmaskInterrupt(String type) {
+        try {
+            mutex.acquire();
+            interrupts.unmask(type);
+            log.record(clock.getCurrentTick(), EventType.INTERRUPTS_UNMASKED, type);
+            if (trace != null) {
+                trace.control(clock.getCurrentTick(), "UNMASK", type);
+            }
+            stateVersion++;
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+        } finally {
+            mutex.release();
+        }
+    }
+    
+    // Fusiona las interrupciones de ese tipo (ver InterruptController.setCoalescing)
+    // windowTicks < 0 desactiva la fusión. El tipo tiene que ser uno de
+    // InterruptGenerator.INTERRUPT_TYPES
+    public void setInterruptCoalescing(String type, int windowTicks) {
+        if (!InterruptGenerator.isKnownType(type)) {
+            throw new IllegalArgumentException("Tipo de interrupción desconocido: " + type);
+        }
+        try {
+            mutex.acquire();
+            if (windowTicks < 0) {
+                interrupts.disableCoalescing(type);
+            } else {
+                interrupts.setCoalescing(type, windowTicks);
+            }
+            if (trace != null) {
+                trace.control(clock.getCurrentTick(), "COALESCE", type, windowTicks);
+            }
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+        } finally {
+            mutex.release();
+        }
+    }
+    
+    // Cuántas interrupciones pendientes se pueden iniciar en un mismo tick
+    public void setInterruptsPerTick(int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Interrupciones por tick inválidas: " + count);
+        }
+        try {
+            mutex.acquire();
+            interruptBatch = new InterruptEvent[count];
+            if (trace != null) {
+                trace.control(clock.getCurrentTick(), "BATCH", count);
+            }
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+        } finally {
+            mutex.release();
+        }
+    }
+    
+    // Conecta un grabador de entradas externas (null lo desconecta)
+    // Conectarlo con un kernel nuevo (tick 0, sin procesos ni interrupciones,
+    // no restaurado): se graba la configuración actual, incluida la fuente
+    // simulada, las máscaras y la fusión, y desde ahí cada entrada. Al
+    // desconectarlo se graba el tick y la huella de las métricas para
+    // verificar la reproducción. Con otro kernel lanza IllegalStateException
+    public void setTraceRecorder(TraceRecorder recorder) {
+        try {
+            mutex.acquire();
+            if (recorder != null) {
+                interruptInbox.drain(acceptPostedInterrupt);
+                processInbox.drain(acceptProcess);
+                if (restored || clock.getCurrentTick() != 0 || countProcesses() != 0
+                        || metrics.getRawInterrupts() != 0 || !scheduledInterrupts.isEmpty()) {
+                    throw new IllegalStateException("Solo se puede grabar una traza desde un kernel nuevo");
+                }
+            }
+            if (trace != null) {
+                trace.end(clock.getCurrentTick(), metrics.fingerprint());
+            }
+            trace = recorder;
+            if (recorder != null) {
+                int tick = clock.getCurrentTick();
+                recorder.begin(currentPolicy, quantum, ramLimit, interruptBatch.length, eventDriven, tick,
+                               interruptSource);
+                for (String type : InterruptGenerator.INTERRUPT_TYPES) {
+                    if (interrupts.isMasked(type)) {
+                        recorder.control(tick, "MASK", type);
+                    }
+                    int window = interrupts.getCoalescingWindow(type);
+                    if (window > 0) {
+                        recorder.control(tick, "COALESCE", type, window);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+        } finally {
+            mutex.release();
+        }
+    }
+    
+    // === CHECKPOINT ===
+    
+    // Guarda el estado completo del kernel en un archivo binario:
+    //   MAGIC, VERSION, reloj, configuración y contadores del planificador,
+    //   NEW y READY tal cual el arreglo del montículo (con sus secuencias de
+    //   desempate, así el orden futuro es idéntico con cualquier política),
+    //   RUNNING, BLOCKED, SUSPENDED_READY, SUSPENDED_BLOCKED y los terminados
+    //   en memoria en orden, el controlador de interrupciones, las
+    //   interrupciones programadas, las métricas y al final los registros de
+    //   terminados ya archivados en disco.
+    // Lo recibido por los buzones se toma antes, como lo haría el próximo tick.
+    // No se guardan el log, la fuente de interrupciones simulada ni el modo
+    // por eventos: son del kernel que restaura
+    public void checkpoint(Path file) throws IOException {
+        try {
+            mutex.acquire();
+            interruptInbox.drain(acceptPostedInterrupt);
+            processInbox.drain(acceptProcess);
+            try (CheckpointOutput out = new CheckpointOutput(file)) {
+                writeCheckpoint(out);
+            }
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+        } finally {
+            mutex.release();
+        }
+    }
+    
+    // Reemplaza el estado del kernel por el de un checkpoint. El archivo se
+    // mapea a memoria y se lee de una pasada; la rueda de E/S se reconstruye
+    // desde los procesos bloqueados. Si el archivo es inválido, el kernel
+    // queda como estaba. La fuente de interrupciones simulada (si hay) se
+    // reinicia desde su semilla en el tick restaurado. Un kernel restaurado
+    // ya no puede grabar una traza, y no se restaura mientras se graba
+    public void restore(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            try {
+                mutex.acquire();
+                if (trace != null) {
+                    throw new IllegalStateException("No se puede restaurar mientras se graba una traza");
+                }
+                readCheckpoint(in);
+                restored = true;
+            } catch (InterruptedException e) {
+                e.printStackTrace();
+            } finally {
+                mutex.release();
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IOException("Checkpoint inválido: " + file, e);
+        }
+    }
+    
+    private void writeCheckpoint(CheckpointOutput out) throws IOException {
+        out.putInt(CHECKPOINT_MAGIC);
+        out.putInt(CHECKPOINT_VERSION);
+        out.putInt(clock.getCurrentTick());
+        out.putInt(lastTick);
+        out.putInt(currentPolicy.ordinal());
+        out.putInt(quantum);
+        out.putInt(quantumCounter);
+        out.putInt(ramLimit);
+        out.putInt(interruptBatch.length);
+        out.putInt(runningLevel);
+        
+        writeHeap(out, newQueue);
+        writeHeap(out, readyQueue);
+        out.putInt(running != null ? 1 : 0);
+        if (running != null) {
+            running.writeTo(out.reserve(running.serializedSize()));
+        }
+        writeList(out, blockedQueue);
+        writeList(out, suspendedReady);
+        writeList(out, suspendedBlocked);
+        writeList(out, terminated.getRecent());
+        
+        interrupts.writeTo(out);
+        out.putInt(scheduledInterrupts.size());
+        for (SinglyLinkedList.Cursor<InterruptEvent> c = scheduledInterrupts.cursor(); c.hasNext(); ) {
+            InterruptEvent event = c.next();
+            event.writeTo(out.reserve(event.serializedSize()));
+        }
+        // Con ventanas grandes las métricas pueden no entrar en el buffer de bloques
+        ByteBuffer metricsImage = ByteBuffer.allocate(metrics.serializedSize());
+        metrics.writeTo(metricsImage);
+        out.put(metricsImage);
+        
+        terminated.flush();
+        out.putLong(terminated.getArchivedCount());
+        terminated.copyArchivedTo(out.channel());
+    }
+    
+    private static void writeHeap(CheckpointOutput out, IndexedHeap<SimProcess> heap) throws IOException {
+        out.putInt(heap.size());
+        for (int i = 0; i < heap.size(); i++) {
+            SimProcess p = heap.get(i);
+            p.writeTo(out.reserve(p.serializedSize()));
+            out.putLong(heap.getSequence(i));
+        }
+        out.putLong(heap.getNextSequence());
+        out.putLong(heap.getFrontSequence());
+    }
+    
+    private static void writeList(CheckpointOutput out, IntrusiveList<SimProcess> list) throws IOException {
+        out.putInt(list.size());
+        for (SimProcess p = list.getFirst(); p != null; p = list.next(p)) {
+            p.writeTo(out.reserve(p.serializedSize()));
+        }
+    }
+    
+    // Se llama con el mutex tomado. Todo se arma aparte y se reemplaza al final
+    private void readCheckpoint(ByteBuffer in) throws IOException {
+        if (in.getInt() != CHECKPOINT_MAGIC) {
+            throw new IOException("No es un checkpoint del kernel");
+        }
+        int version = in.getInt();
+        if (version != CHECKPOINT_VERSION) {
+            throw new IOException("Versión de checkpoint no soportada: " + version);
+        }
+        int tick = in.getInt();
+        int restoredLastTick = in.getInt();
+        Policy policy = Policy.values()[in.getInt()];
+        int restoredQuantum = in.getInt();
+        int restoredQuantumCounter = in.getInt();
+        int restoredRamLimit = in.getInt();
+        int batch = in.getInt();
+        int restoredRunningLevel = in.getInt();
+        
+        IndexedHeap<SimProcess> restoredNew = readHeap(in, BY_ARRIVAL_TICK);
+        IndexedHeap<SimProcess> restoredReady = readHeap(in, readyOrderFor(policy));
+        SimProcess restoredRunning = in.getInt() != 0 ? SimProcess.readFrom(in) : null;
+        IntrusiveList<SimProcess> restoredBlocked = readList(in);
+        IntrusiveList<SimProcess> restoredSuspendedReady = readList(in);
+        IntrusiveList<SimProcess> restoredSuspendedBlocked = readList(in);
+        IntrusiveList<SimProcess> recent = readList(in);
+        
+        InterruptController restoredInterrupts = new InterruptController(INTERRUPT_CAPACITY);
+        restoredInterrupts.readFrom(in);
+        SinglyLinkedList<InterruptEvent> restoredScheduled = new SinglyLinkedList<>();
+        int scheduledCount = in.getInt();
+        for (int i = 0; i < scheduledCount; i++) {
+            restoredScheduled.addLast(InterruptEvent.readFrom(in));
+        }
+        MetricsCollector restoredMetrics = new MetricsCollector();
+        restoredMetrics.readFrom(in);
+        
+        long archived = in.getLong();
+        ByteBuffer archivedRecords = in.slice();
+        if (archivedRecords.remaining() != archived * TerminatedArchive.RECORD_SIZE) {
+            throw new IOException("Checkpoint incompleto: faltan registros de terminados");
+        }
+        // Las E/S en curso se reagendan en el orden en que se generaron
+        // (a lo sumo una por tick: solo RUNNING se bloquea), que es el orden
+        // que tenían dentro de cada ranura de la rueda
+        IndexedHeap<SimProcess> inIO = new IndexedHeap<>(BY_IO_GENERATION);
+        for (SimProcess p = restoredBlocked.getFirst(); p != null; p = restoredBlocked.next(p)) {
+            inIO.offer(p);
+        }
+        for (SimProcess p = restoredSuspendedBlocked.getFirst(); p != null; p = restoredSuspendedBlocked.next(p)) {
+            inIO.offer(p);
+        }
+        TimingWheel<SimProcess> restoredWheel = new TimingWheel<>(IO_WHEEL_SLOTS);
+        while (!inIO.isEmpty()) {
+            SimProcess p = inIO.poll();
+            restoredWheel.schedule(p, p.getIoSpec().getCompletionTick());
+        }
+        
+        // Con la configuración del archivo actual, pero en uno temporal hasta
+        // reemplazar el estado: si algo falla, el actual queda intacto
+        TerminatedArchive restoredTerminated = new TerminatedArchive(terminated.getInMemoryLimit(),
+                terminated.getBatchRecords(), null);
+        try {
+            restoredTerminated.appendArchived(archivedRecords);
+            while (!recent.isEmpty()) {
+                restoredTerminated.add(recent.removeFirst());
+            }
+        } catch (IOException | RuntimeException e) {
+            try {
+                restoredTerminated.close();
+            } catch (IOException closeError) {
+                e.addSuppressed(closeError);
+            }
+            throw e;
+        }
+        
+        // Reemplazar el estado
+        try {
+            terminated.close();
+        } catch (IOException e) {
+            log.record(clock.getCurrentTick(), EventType.ARCHIVE_ERROR, e.getMessage());
+        }
+        // Un archivo elegido por el usuario sigue siendo el de los terminados
+        // (uno temporal ya se borró al cerrarlo y getFile() da null)
+        if (terminated.getFile() != null) {
+            try {
+                restoredTerminated.moveTo(terminated.getFile());
+            } catch (IOException e) {
+                log.record(clock.getCurrentTick(), EventType.ARCHIVE_ERROR, e.getMessage());
+            }
+        }
+        clock.reset();
+        clock.advance(tick);
+        lastTick = restoredLastTick;
+        currentPolicy = policy;
+        quantum = restoredQuantum;
+        quantumCounter = restoredQuantumCounter;
+        ramLimit = restoredRamLimit;
+        interruptBatch = new InterruptEvent[batch];
+        runningLevel = restoredRunningLevel;
+        newQueue = restoredNew;
+        readyQueue = restoredReady;
+        running = restoredRunning;
+        blockedQueue = restoredBlocked;
+        suspendedReady = restoredSuspendedReady;
+        suspendedBlocked = restoredSuspendedBlocked;
+        terminated = restoredTerminated;
+        ioWheel = restoredWheel;
+        interrupts = restoredInterrupts;
+        scheduledInterrupts = restoredScheduled;
+        metrics = restoredMetrics;
+        if (interruptSource != null) {
+            interruptSource.start(tick);
+        }
+        
+        // Vistas del snapshot: se arman de nuevo
+        readyView = new QueueView();
+        blockedView = new QueueView();
+        suspendedReadyView = new QueueView();
+        suspendedBlockedView = new QueueView();
+        terminatedInfo = new AppendOnlyArray<>();
+        terminatedArrayCount = -1;
+        for (SimProcess p = terminated.getRecent().getFirst(); p != null; p = terminated.getRecent().next(p)) {
+            terminatedInfo.add(processInfo(p, p.getCompletionTick()));
+        }
+        stateVersion++;
+    }
+    
+    private static IndexedHeap<SimProcess> readHeap(ByteBuffer in, SinglyLinkedList.Comparator<SimProcess> order) {
+        IndexedHeap<SimProcess> heap = new IndexedHeap<>(order);
+        int count = in.getInt();
+        for (int i = 0; i < count; i++) {
+            SimProcess p = SimProcess.readFrom(in);
+            heap.load(p, in.getLong());
+        }
+        long nextSequence = in.getLong();
+        long frontSequence = in.getLong();
+        heap.setSequences(nextSequence, frontSequence);
+        return heap;
+    }
+    
+    private static IntrusiveList<SimProcess> readList(ByteBuffer in) {
+        IntrusiveList<SimProcess> list = new IntrusiveList<>();
+        int count = in.getInt();
+        for (int i = 0; i < count; i++) {
+            list.addLast(SimProcess.readFrom(in));
+        }
+        return list;
+    }
+    
+    // Tick en que el proceso generó su E/S en curso
+    private static int ioGenerationTick(SimProcess p) {
+        IOSpec io = p.getIoSpec();
+        return io.getCompletionTick() - Math.max(1, io.getCyclesToSatisfy());
+    }
+    
+    public InterruptController getInterruptController() {
+        return interrupts;
+    }
+    
+    public SimulatedInterruptSource getInterruptSource() {
+        return interruptSource;
+    }
+    
     public boolean isInterruptGeneratorRunning() {
         return interruptGenerator != null && interruptGenerator.isRunning();
     }
@@ -0,0 +1,191 @@
+package sim;
+
+import core.InterruptEvent;
+import ds.SinglyLinkedList;
+import java.util.Random;
+
+// Fuente de interrupciones en tiempo simulado
+// A diferencia de InterruptGenerator (hilo que duerme milisegundos), los
+// intervalos se miden en ticks y salen de un Random con semilla, así que la
+// misma semilla da las mismas interrupciones a cualquier velocidad.
+// Cada tipo de InterruptGenerator.INTERRUPT_TYPES tiene su propia
+// distribución y su propio Random: cambiar la de un tipo no altera a los
+// demás. El kernel la consulta en el paso 1 del tick, sin hilos extra.
+// Los cambios de configuración se aplican en el próximo start().
+public class SimulatedInterruptSource {
+
+    // Distribución de ticks entre dos interrupciones del mismo tipo
+    public enum Distribution {
+        FIXED,       // siempre a ticks
+        UNIFORM,     // entre a y b ticks (inclusive)
+        EXPONENTIAL  // media de a ticks (llegadas de Poisson), mínimo 1
+    }
+
+    private static final int DISABLED = -1;
+
+    private final long seed;
+    private final Distribution[] distributions;
+    private final int[] paramA;
+    private final int[] paramB;
+    private final Random[] randoms;
+    private final int[] nextTicks; // próximo tick de cada tipo (DISABLED si no genera)
+    private int generated;
+
+    // Sin configurar, ningún tipo genera interrupciones
+    public SimulatedInterruptSource(long seed) {
+        int types = InterruptGenerator.INTERRUPT_TYPES.length;
+        this.seed = seed;
+        this.distributions = new Distribution[types];
+        this.paramA = new int[types];
+        this.paramB = new int[types];
+        this.randoms = new Random[types];
+        this.nextTicks = new int[types];
+        for (int i = 0; i < types; i++) {
+            nextTicks[i] = DISABLED;
+        }
+        this.generated = 0;
+    }
+
+    // Misma configuración para todos los tipos
+    public void setDistribution(Distribution distribution, int a, int b) {
+        for (int i = 0; i < distributions.length; i++) {
+            configure(i, distribution, a, b);
+        }
+    }
+
+    // b solo se usa con UNIFORM
+    public void setDistribution(String type, Distribution distribution, int a, int b) {
+        configure(typeIndex(type), distribution, a, b);
+    }
+
+    // Deja de generar el tipo indicado
+    public void disable(String type) {
+        int index = typeIndex(type);
+        distributions[index] = null;
+        nextTicks[index] = DISABLED;
+    }
+
+    // Reinicia los generadores desde la semilla y calcula la primera
+    // interrupción de cada tipo a partir de fromTick. El kernel la llama al
+    // conectar la fuente, así que reutilizarla reproduce la misma secuencia
+    public void start(int fromTick) {
+        generated = 0;
+        for (int i = 0; i < distributions.length; i++) {
+            randoms[i] = new Random(seed * 31 + i);
+            nextTicks[i] = distributions[i] == null ? DISABLED : fromTick + sample(i);
+        }
+    }
+
+    // Tick de la próxima interrupción de cualquier tipo, o -1 si no hay
+    public int nextTick() {
+        int next = Integer.MAX_VALUE;
+        for (int tick : nextTicks) {
+            if (tick != DISABLED && tick < next) {
+                next = tick;
+            }
+        }
+        return next == Integer.MAX_VALUE ? DISABLED : next;
+    }
+
+    // Entrega al visitor las interrupciones que vencen hasta currentTick,
+    // en orden de tipo, y precalcula la siguiente de cada uno
+    // Retorna la cantidad entregada
+    public int poll(int currentTick, SinglyLinkedList.Visitor<InterruptEvent> visitor) {
+        int count = 0;
+        for (int i = 0; i < nextTicks.length; i++) {
+            while (nextTicks[i] != DISABLED && nextTicks[i] <= currentTick) {
+                String type = InterruptGenerator.INTERRUPT_TYPES[i];
+                visitor.visit(new InterruptEvent(type, InterruptGenerator.INTERRUPT_PRIORITIES[i],
+                                                 nextTicks[i], "Evento simulado: " + type));
+                nextTicks[i] += sample(i);
+                count++;
+            }
+        }
+        generated += count;
+        return count;
+    }
+
+    // Copia con la misma semilla y configuración (para otro kernel)
+    public SimulatedInterruptSource copy() {
+        SimulatedInterruptSource copy = new SimulatedInterruptSource(seed);
+        for (int i = 0; i < distributions.length; i++) {
+            copy.distributions[i] = distributions[i];
+            copy.paramA[i] = paramA[i];
+            copy.paramB[i] = paramB[i];
+        }
+        return copy;
+    }
+
+    // Semilla y distribución de cada tipo configurado, en una línea:
+    //   semilla TIPO:DISTRIBUCIÓN:a:b ...
+    // (TraceRecorder la graba; parse la lee de vuelta)
+    public String describe() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(seed);
+        for (int i = 0; i < distributions.length; i++) {
+            if (distributions[i] != null) {
+                sb.append(' ').append(InterruptGenerator.INTERRUPT_TYPES[i]).append(':').append(distributions[i])
+                  .append(':').append(paramA[i]).append(':').append(paramB[i]);
+            }
+        }
+        return sb.toString();
+    }
+
+    // Fuente configurada según una línea de describe()
+    public static SimulatedInterruptSource parse(String description) {
+        String[] fields = description.trim().split(" ");
+        try {
+            SimulatedInterruptSource source = new SimulatedInterruptSource(Long.parseLong(fields[0]));
+            for (int k = 1; k < fields.length; k++) {
+                String[] parts = fields[k].split(":");
+                if (parts.length != 4) {
+                    throw new IllegalArgumentException("Distribución inválida: " + fields[k]);
+                }
+                source.setDistribution(parts[0], Distribution.valueOf(parts[1]),
+                                       Integer.parseInt(parts[2]), Integer.parseInt(parts[3]));
+            }
+            return source;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Fuente de interrupciones inválida: " + description, e);
+        }
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    // Interrupciones generadas desde el último start()
+    public int getGenerated() {
+        return generated;
+    }
+
+    private void configure(int index, Distribution distribution, int a, int b) {
+        if (a < 1 || (distribution == Distribution.UNIFORM && b < a)) {
+            throw new IllegalArgumentException("Parámetros inválidos para " + distribution + ": " + a + ", " + b);
+        }
+        distributions[index] = distribution;
+        paramA[index] = a;
+        paramB[index] = b;
+    }
+
+    private int sample(int index) {
+        switch (distributions[index]) {
+            case FIXED:
+                return paramA[index];
+            case UNIFORM:
+                return paramA[index] + randoms[index].nextInt(paramB[index] - paramA[index] + 1);
+            default:
+                double u = randoms[index].nextDouble();
+                return Math.max(1, (int) Math.round(-paramA[index] * Math.log(1.0 - u)));
+        }
+    }
+
+    private static int typeIndex(String type) {
+        for (int i = 0; i < InterruptGenerator.INTERRUPT_TYPES.length; i++) {
+            if (InterruptGenerator.INTERRUPT_TYPES[i].equals(type)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Tipo de interrupción desconocido: " + type);
+    }
+}
@@ -0,0 +1,212 @@
+package sim;
+
+import ds.SinglyLinkedList;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import metrics.MetricsCollector;
+
+// Barrido de parámetros: corre la misma carga con cada combinación de
+// política × quantum × límite de RAM y junta las métricas en una tabla.
+// Cada punto de la grilla usa su propio SimKernel (sin estado estático ni
+// aleatorio compartido) y escribe solo su posición del arreglo de
+// resultados, así que el resultado no depende del orden ni del paralelismo.
+public class SweepEngine {
+    private final Workload workload;
+    private final Policy[] policies;
+    private final int[] quanta;
+    private final int[] ramLimits;
+    private int maxTicks;
+    private boolean eventDriven;
+    private SimulatedInterruptSource interruptSource; // plantilla: cada punto usa una copia
+    private Path checkpoint;                          // estado inicial común, o null
+    private final SinglyLinkedList<Coalescing> coalescing; // se aplican en orden a cada kernel
+
+    public SweepEngine(Workload workload, Policy[] policies, int[] quanta, int[] ramLimits) {
+        if (policies.length == 0 || quanta.length == 0 || ramLimits.length == 0) {
+            throw new IllegalArgumentException("La grilla no puede tener ejes vacíos");
+        }
+        this.workload = workload;
+        this.policies = policies.clone();
+        this.quanta = quanta.clone();
+        this.ramLimits = ramLimits.clone();
+        this.maxTicks = 10_000_000;
+        this.eventDriven = true;
+        this.coalescing = new SinglyLinkedList<>();
+    }
+
+    public void setMaxTicks(int maxTicks) {
+        this.maxTicks = maxTicks;
+    }
+
+    public void setEventDriven(boolean eventDriven) {
+        this.eventDriven = eventDriven;
+    }
+
+    // Cada kernel recibe su propia copia (misma semilla), sin Random compartido
+    public void setInterruptSource(SimulatedInterruptSource interruptSource) {
+        this.interruptSource = interruptSource;
+    }
+
+    // Cada punto arranca desde este checkpoint (SimKernel.restore) en vez de
+    // un kernel vacío; la carga se agrega encima. null = kernel vacío
+    public void setCheckpoint(Path checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+
+    // Fusión de interrupciones para todos los puntos (ver
+    // SimKernel.setInterruptCoalescing); windowTicks < 0 la desactiva
+    public void setInterruptCoalescing(String type, int windowTicks) {
+        if (!InterruptGenerator.isKnownType(type)) {
+            throw new IllegalArgumentException("Tipo de interrupción desconocido: " + type);
+        }
+        coalescing.addLast(new Coalescing(type, windowTicks));
+    }
+
+    public int size() {
+        return policies.length * quanta.length * ramLimits.length;
+    }
+
+    // Corre toda la grilla en el pool común (todos los núcleos)
+    public Result[] run() {
+        return run(ForkJoinPool.commonPool());
+    }
+
+    // Resultados en orden de la grilla: política, luego quantum, luego RAM
+    public Result[] run(ForkJoinPool pool) {
+        Result[] results = new Result[size()];
+        pool.invoke(new SweepTask(results, 0, results.length));
+        return results;
+    }
+
+    // Corre un solo punto de la grilla
+    private Result runPoint(int index) {
+        int ramIndex = index % ramLimits.length;
+        int quantumIndex = (index / ramLimits.length) % quanta.length;
+        int policyIndex = index / (ramLimits.length * quanta.length);
+
+        // El kernel se cierra al terminar el punto (libera su archivo de terminados)
+        SimKernel kernel = new SimKernel();
+        try {
+            if (checkpoint != null) {
+                kernel.restore(checkpoint);
+            }
+            kernel.setPolicy(policies[policyIndex]);
+            kernel.setQuantum(quanta[quantumIndex]);
+            kernel.setRamLimit(ramLimits[ramIndex]);
+            kernel.setEventDriven(eventDriven);
+            kernel.getEventLog().setMinLevel(EventType.Level.WARNING); // el barrido no lee el log
+            if (interruptSource != null) {
+                kernel.setInterruptSource(interruptSource.copy());
+            }
+            coalescing.forEach(c -> kernel.setInterruptCoalescing(c.type, c.windowTicks));
+            workload.applyTo(kernel);
+
+            long start = System.nanoTime();
+            kernel.runUntil(SimKernel.FINISHED, maxTicks);
+            long elapsed = System.nanoTime() - start;
+
+            return new Result(policies[policyIndex], quanta[quantumIndex], ramLimits[ramIndex],
+                              kernel.getClock().getCurrentTick(), kernel.isFinished(),
+                              kernel.getMetrics(), elapsed);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            try {
+                kernel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    // Un ajuste de fusión pedido con setInterruptCoalescing
+    private static final class Coalescing {
+        final String type;
+        final int windowTicks;
+
+        Coalescing(String type, int windowTicks) {
+            this.type = type;
+            this.windowTicks = windowTicks;
+        }
+    }
+
+    // Divide el rango de la grilla en mitades hasta llegar a un punto
+    private final class SweepTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Result[] results; // la tarea no se serializa
+        private final int from;
+        private final int to;
+
+        SweepTask(Result[] results, int from, int to) {
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                results[from] = runPoint(from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new SweepTask(results, from, mid), new SweepTask(results, mid, to));
+        }
+    }
+
+    // Tabla de comparación, una fila por punto de la grilla
+    public static String formatTable(Result[] results) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-6s %7s %5s %10s %11s %9s %8s %10s %7s %9s %11s %9s%n",
+                                "POLIT.", "QUANTUM", "RAM", "TICKS", "COMPLETADOS", "PERDIDOS",
+                                "ÉXITO%", "THROUGHPUT", "CPU%", "ESPERA", "TURNAROUND", "MS"));
+        for (Result r : results) {
+            sb.append(String.format("%-6s %7d %5d %10d %11s %9d %8.1f %10.4f %7.1f %9.2f %11.2f %9.1f%n",
+                                    r.policy, r.quantum, r.ramLimit, r.ticks,
+                                    r.completedProcesses + "/" + r.totalProcesses + (r.finished ? "" : "*"),
+                                    r.missedDeadlines, r.successRate, r.throughput, r.cpuUtilization,
+                                    r.averageWaitTime, r.averageTurnaroundTime, r.elapsedNanos / 1e6));
+        }
+        return sb.toString();
+    }
+
+    // Métricas finales de un punto de la grilla (copiadas del MetricsCollector)
+    public static final class Result {
+        public final Policy policy;
+        public final int quantum;
+        public final int ramLimit;
+        public final int ticks;
+        public final boolean finished; // false si se cortó por maxTicks
+        public final int totalProcesses;
+        public final int completedProcesses;
+        public final int missedDeadlines;
+        public final double successRate;
+        public final double throughput;
+        public final double cpuUtilization;
+        public final double averageWaitTime;
+        public final double averageTurnaroundTime;
+        public final long elapsedNanos;
+
+        Result(Policy policy, int quantum, int ramLimit, int ticks, boolean finished,
+               MetricsCollector metrics, long elapsedNanos) {
+            this.policy = policy;
+            this.quantum = quantum;
+            this.ramLimit = ramLimit;
+            this.ticks = ticks;
+            this.finished = finished;
+            this.totalProcesses = metrics.getTotalProcesses();
+            this.completedProcesses = metrics.getCompletedProcesses();
+            this.missedDeadlines = metrics.getMissedDeadlines();
+            this.successRate = metrics.getSuccessRate();
+            this.throughput = metrics.getThroughput();
+            this.cpuUtilization = metrics.getCpuUtilization();
+            this.averageWaitTime = metrics.getAverageWaitTime();
+            this.averageTurnaroundTime = metrics.getAverageTurnaroundTime();
+            this.elapsedNanos = elapsedNanos;
+        }
+    }
+}
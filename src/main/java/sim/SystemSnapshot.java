@@ -1,9 +1,19 @@
 package sim;
 
+import ds.AppendOnlyArray;
+import metrics.LatencyHistogram;
+import metrics.WindowedMetrics;
+
 // Snapshot del estado del sistema en un tick específico
 // La UI consume esto para mostrar el estado sin acceder directamente
 // a las estructuras internas del simulador
+// Los arreglos y ProcessInfo se comparten entre snapshots cuando no cambiaron:
+// se deben tratar como de solo lectura
 public class SystemSnapshot {
+    private static final ProcessInfo[] NO_PROCESSES = new ProcessInfo[0];
+    private static final String[] NO_LOGS = new String[0];
+    private static final WindowedMetrics.Window[] NO_WINDOWS = new WindowedMetrics.Window[0];
+    
     // Info básica
     public int currentTick;
     public String currentPolicy;
@@ -17,7 +27,8 @@ public class SystemSnapshot {
     public ProcessInfo[] blockedQueue;
     public ProcessInfo[] suspendedReady;
     public ProcessInfo[] suspendedBlocked;
-    public ProcessInfo[] terminated;
+    public ProcessInfo[] terminated;                         // se comparte mientras no termine ninguno
+    public AppendOnlyArray.View<ProcessInfo> terminatedView; // los mismos sin copiar (solo crece)
     
     // Logs
     public String[] logs;
@@ -32,17 +43,37 @@ public class SystemSnapshot {
     public double averageWaitTime;
     public double averageTurnaroundTime;
     
+    // Percentiles de latencia en ticks (ver LatencyHistogram)
+    public LatencyHistogram.Summary waitTimeLatency;
+    public LatencyHistogram.Summary turnaroundLatency;
+    public LatencyHistogram.Summary responseLatency;  // llegada a primer despacho
+    public LatencyHistogram.Summary lateness;         // fin - deadline (< 0 = a tiempo)
+    public LatencyHistogram.Summary isrLatency;       // interrupción a inicio de ISR
+    
+    // Métricas de los últimos N ticks, una por ventana (de la más chica a la
+    // más grande; ver WindowedMetrics). Compartido entre snapshots
+    public WindowedMetrics.Window[] windows;
+    
     public SystemSnapshot() {
         // Inicializar arreglos vacíos por defecto
-        this.readyQueue = new ProcessInfo[0];
-        this.blockedQueue = new ProcessInfo[0];
-        this.suspendedReady = new ProcessInfo[0];
-        this.suspendedBlocked = new ProcessInfo[0];
-        this.terminated = new ProcessInfo[0];
-        this.logs = new String[0];
+        this.readyQueue = NO_PROCESSES;
+        this.blockedQueue = NO_PROCESSES;
+        this.suspendedReady = NO_PROCESSES;
+        this.suspendedBlocked = NO_PROCESSES;
+        this.terminated = NO_PROCESSES;
+        this.terminatedView = AppendOnlyArray.emptyView();
+        this.logs = NO_LOGS;
+        this.waitTimeLatency = LatencyHistogram.Summary.EMPTY;
+        this.turnaroundLatency = LatencyHistogram.Summary.EMPTY;
+        this.responseLatency = LatencyHistogram.Summary.EMPTY;
+        this.lateness = LatencyHistogram.Summary.EMPTY;
+        this.isrLatency = LatencyHistogram.Summary.EMPTY;
+        this.windows = NO_WINDOWS;
     }
     
     // Clase interna para info de proceso (simplificada para UI)
+    // deadlineRemaining se calcula con el tick del snapshot; en TERMINATED
+    // queda el que tenía al terminar (negativo si terminó tarde)
     public static class ProcessInfo {
         public int pid;
         public String name;
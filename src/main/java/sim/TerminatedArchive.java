@@ -0,0 +1,273 @@
+package sim;
+
+import core.SimProcess;
+import ds.IntrusiveList;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+// Archivo de procesos terminados
+// Mantiene en memoria solo los últimos N procesos. Los más viejos se
+// escriben por lotes a un archivo binario de registros de ancho fijo
+// (pid, llegada, fin, espera, turnaround, deadline perdido) y se leen de
+// vuelta con un Reader paginado. Las métricas agregadas no dependen de
+// este archivo: MetricsCollector las acumula al terminar cada proceso.
+public class TerminatedArchive {
+    // Registro: 6 ints big-endian = 24 bytes
+    public static final int RECORD_SIZE = 24;
+
+    public static final int DEFAULT_IN_MEMORY_LIMIT = 1000;
+    public static final int DEFAULT_BATCH_RECORDS = 256;
+
+    private final IntrusiveList<SimProcess> recent; // los últimos N, del más viejo al más nuevo
+    private final int inMemoryLimit;
+    private final ByteBuffer batch;                 // registros pendientes de escribir
+    private Path file;                              // null hasta el primer volcado si no se indicó
+    private boolean temporary;                      // file lo creó el archivo: se borra en close()
+    private FileChannel channel;
+    private long archivedCount;                     // registros ya enviados al archivo (incluye el lote)
+
+    public TerminatedArchive() {
+        this(DEFAULT_IN_MEMORY_LIMIT, DEFAULT_BATCH_RECORDS, null);
+    }
+
+    // file puede ser null: se crea un archivo temporal en el primer volcado
+    public TerminatedArchive(int inMemoryLimit, int batchRecords, Path file) {
+        this.recent = new IntrusiveList<>();
+        this.inMemoryLimit = Math.max(1, inMemoryLimit);
+        this.batch = ByteBuffer.allocate(Math.max(1, batchRecords) * RECORD_SIZE);
+        this.file = file;
+        this.channel = null;
+        this.archivedCount = 0;
+    }
+
+    // Agrega un proceso terminado. Si se supera el límite en memoria, el más
+    // viejo pasa al lote; si el lote se llena, se escribe al archivo
+    public void add(SimProcess p) throws IOException {
+        recent.addLast(p);
+
+        if (recent.size() > inMemoryLimit) {
+            if (!batch.hasRemaining()) {
+                flush(); // reintenta un volcado que falló antes
+            }
+            SimProcess oldest = recent.removeFirst();
+            writeRecord(oldest);
+            archivedCount++;
+
+            if (!batch.hasRemaining()) {
+                flush();
+            }
+        }
+    }
+
+    // Escribe al archivo los registros pendientes del lote. Si la escritura
+    // falla, lo que no se escribió queda en el lote para el próximo intento
+    public void flush() throws IOException {
+        if (batch.position() == 0) {
+            return;
+        }
+
+        FileChannel out = openChannel();
+        batch.flip();
+        try {
+            while (batch.hasRemaining()) {
+                out.write(batch);
+            }
+        } finally {
+            batch.compact(); // vuelve a modo escritura con lo pendiente al principio
+        }
+    }
+
+    // Cierra el archivo (escribiendo antes lo pendiente). Si era temporal,
+    // lo borra: los registros archivados dejan de poder leerse
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            if (channel != null) {
+                channel.close();
+                channel = null;
+            }
+            if (temporary) {
+                Files.deleteIfExists(file);
+                file = null;
+                temporary = false;
+            }
+        }
+    }
+
+    // Copia los registros ya archivados a un canal (para checkpoints)
+    public void copyArchivedTo(WritableByteChannel out) throws IOException {
+        flush();
+        if (file == null || archivedCount == 0) {
+            return;
+        }
+        long bytes = archivedCount * RECORD_SIZE;
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            long position = 0;
+            while (position < bytes) {
+                position += in.transferTo(position, bytes - position, out);
+            }
+        }
+    }
+
+    // Agrega al archivo registros ya archivados (copiados con copyArchivedTo)
+    public void appendArchived(ByteBuffer records) throws IOException {
+        flush();
+        int count = records.remaining() / RECORD_SIZE;
+        if (count == 0) {
+            return;
+        }
+        FileChannel out = openChannel();
+        while (records.hasRemaining()) {
+            out.write(records);
+        }
+        archivedCount += count;
+    }
+
+    // Abre un lector paginado de los registros ya archivados en disco
+    // pageRecords = cuántos registros se leen del archivo por página
+    public Reader openReader(int pageRecords) throws IOException {
+        flush();
+        if (file == null) {
+            return new Reader(null, pageRecords);
+        }
+        return new Reader(FileChannel.open(file, StandardOpenOption.READ), pageRecords);
+    }
+
+    // Procesos terminados que siguen en memoria (del más viejo al más nuevo)
+    public IntrusiveList<SimProcess> getRecent() {
+        return recent;
+    }
+
+    // Total de procesos terminados (en memoria + archivados)
+    public long size() {
+        return archivedCount + recent.size();
+    }
+
+    public long getArchivedCount() {
+        return archivedCount;
+    }
+
+    public int getInMemoryLimit() {
+        return inMemoryLimit;
+    }
+
+    public int getBatchRecords() {
+        return batch.capacity() / RECORD_SIZE;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    // Pasa los registros archivados a target (reemplazándolo) y sigue
+    // escribiendo ahí. target queda como archivo propio: close() no lo borra
+    public void moveTo(Path target) throws IOException {
+        flush();
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+        if (file != null) {
+            Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        file = target;
+        temporary = false;
+        // Sin registros movidos, lo que hubiera en target no es de este archivo
+        long bytes = archivedCount * RECORD_SIZE;
+        channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        channel.truncate(bytes);
+        channel.position(bytes);
+    }
+
+    private void writeRecord(SimProcess p) {
+        batch.putInt(p.getPid());
+        batch.putInt(p.getArrivalTick());
+        batch.putInt(p.getCompletionTick());
+        batch.putInt(p.getWaitTime());
+        batch.putInt(p.getTurnaroundTime());
+        batch.putInt(p.isMissedDeadline() ? 1 : 0);
+    }
+
+    private FileChannel openChannel() throws IOException {
+        if (channel == null) {
+            if (file == null) {
+                file = Files.createTempFile("terminated-", ".bin");
+                file.toFile().deleteOnExit();
+                temporary = true;
+            }
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                       StandardOpenOption.TRUNCATE_EXISTING);
+        }
+        return channel;
+    }
+
+    // Lector paginado: lee una página de registros a la vez en un buffer
+    // reutilizable y expone el registro actual en campos (sin crear objetos)
+    public static class Reader implements AutoCloseable {
+        private final FileChannel in;
+        private final ByteBuffer page;
+        private long position;
+
+        // Registro actual (válido después de que next() retorna true)
+        public int pid;
+        public int arrivalTick;
+        public int completionTick;
+        public int waitTime;
+        public int turnaroundTime;
+        public boolean missedDeadline;
+
+        private Reader(FileChannel in, int pageRecords) {
+            this.in = in;
+            this.page = ByteBuffer.allocate(Math.max(1, pageRecords) * RECORD_SIZE);
+            this.page.limit(0);
+            this.position = 0;
+        }
+
+        // Avanza al siguiente registro. Retorna false al llegar al final
+        public boolean next() throws IOException {
+            if (page.remaining() < RECORD_SIZE && !fillPage()) {
+                return false;
+            }
+            pid = page.getInt();
+            arrivalTick = page.getInt();
+            completionTick = page.getInt();
+            waitTime = page.getInt();
+            turnaroundTime = page.getInt();
+            missedDeadline = page.getInt() != 0;
+            return true;
+        }
+
+        private boolean fillPage() throws IOException {
+            if (in == null) {
+                return false;
+            }
+            page.clear();
+            while (page.hasRemaining()) {
+                int read = in.read(page, position + page.position());
+                if (read <= 0) {
+                    break;
+                }
+            }
+            // Solo registros completos; un registro a medio escribir se relee después
+            int usable = page.position() - page.position() % RECORD_SIZE;
+            page.flip();
+            page.limit(usable);
+            position += usable;
+            return usable > 0;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (in != null) {
+                in.close();
+            }
+        }
+    }
+}
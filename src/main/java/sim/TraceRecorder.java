@@ -0,0 +1,137 @@
+package sim;
+
+import core.IOSpec;
+import core.InterruptEvent;
+import core.SimProcess;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Grabador de las entradas externas de un SimKernel
+// El kernel es determinista salvo por lo que le llega de afuera: procesos
+// (addProcess), interrupciones (addInterrupt, scheduleInterrupt) y cambios
+// de configuración (política, quantum, RAM, máscaras, fusión). Con un
+// grabador conectado (SimKernel.setTraceRecorder) cada entrada se escribe
+// con el tick en que el kernel la tomó, así TraceReplayer las vuelve a
+// entregar en el mismo punto y la corrida se repite exactamente.
+//
+// Formato de texto, una entrada por línea:
+//   K política quantum ram interrupcionesPorTick porEventos tickInicial
+//   SOURCE semilla TIPO:DISTRIBUCIÓN:a:b ...      (fuente simulada al empezar, si hay)
+//   <tick> P pid instrucciones prioridad llegada deadline ciclosHastaES ciclosES nombre
+//   <tick> I prioridad tickGenerado tipo descripción      (addInterrupt)
+//   <tick> S prioridad tickGenerado tipo descripción      (scheduleInterrupt)
+//   <tick> POLICY política | QUANTUM n | RAM n | BATCH n
+//   <tick> MASK tipo | UNMASK tipo | COALESCE tipo ventana
+//   <tick> SOURCE semilla TIPO:DISTRIBUCIÓN:a:b ... | SOURCE -   (setInterruptSource)
+//   E tickFinal huellaDeMétricas
+// Nombre y descripción van al final porque pueden tener espacios.
+// De la fuente de interrupciones simulada se graba solo la configuración
+// (es determinista): TraceReplayer crea una igual con la misma semilla.
+//
+// El kernel llama a los métodos con el mutex tomado, así que escribir no
+// necesita sincronización. Un error de escritura detiene la grabación y se
+// informa en close().
+public class TraceRecorder implements AutoCloseable {
+    private final BufferedWriter out;
+    private final Path file;
+    private IOException failure;
+    private long entries;
+    private boolean ended;
+
+    public TraceRecorder(Path file) throws IOException {
+        this.file = file;
+        this.out = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        this.entries = 0;
+    }
+
+    // Configuración del kernel al conectar el grabador (debe ser nuevo)
+    void begin(Policy policy, int quantum, int ramLimit, int interruptsPerTick, boolean eventDriven, int tick,
+               SimulatedInterruptSource source) {
+        write("K " + policy + " " + quantum + " " + ramLimit + " " + interruptsPerTick + " "
+              + eventDriven + " " + tick);
+        if (source != null) {
+            write("SOURCE " + source.describe());
+        }
+    }
+
+    // Cambio de la fuente simulada (null = se quitó)
+    void source(int tick, SimulatedInterruptSource source) {
+        record(tick + " SOURCE " + (source != null ? source.describe() : "-"));
+    }
+
+    void process(int tick, SimProcess p) {
+        IOSpec io = p.getIoSpec();
+        record(tick + " P " + p.getPid() + " " + p.getTotalInstructions() + " " + p.getPriority() + " "
+              + p.getArrivalTick() + " " + p.getRelativeDeadline() + " "
+              + (io != null ? io.getCyclesUntilGeneration() + " " + io.getCyclesToSatisfy() : "-1 0")
+              + " " + p.getName());
+    }
+
+    // scheduled = true si entró por scheduleInterrupt
+    void interrupt(int tick, InterruptEvent event, boolean scheduled) {
+        record(tick + (scheduled ? " S " : " I ") + event.getPriority() + " " + event.getTickGenerated() + " "
+              + event.getType() + " " + (event.getDescription() != null ? event.getDescription() : ""));
+    }
+
+    void control(int tick, String command, Object value) {
+        record(tick + " " + command + " " + value);
+    }
+
+    void control(int tick, String command, Object value, int arg) {
+        record(tick + " " + command + " " + value + " " + arg);
+    }
+
+    // Tick en que se desconectó y huella de las métricas en ese momento
+    void end(int tick, long metricsFingerprint) {
+        write("E " + tick + " " + Long.toHexString(metricsFingerprint));
+        ended = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            out.close();
+        } catch (IOException e) {
+            if (failure == null) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    // Entradas grabadas (sin contar el encabezado ni el cierre)
+    public long getEntryCount() {
+        return entries;
+    }
+
+    // true si el kernel ya escribió el cierre (setTraceRecorder(null))
+    public boolean isEnded() {
+        return ended;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    private void record(String line) {
+        write(line);
+        entries++;
+    }
+
+    private void write(String line) {
+        if (failure != null) {
+            return;
+        }
+        try {
+            out.write(line.replace('\n', ' ').replace('\r', ' '));
+            out.newLine();
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+}
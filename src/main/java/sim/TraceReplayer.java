@@ -0,0 +1,272 @@
+package sim;
+
+import core.IOSpec;
+import core.InterruptEvent;
+import core.SimProcess;
+import ds.SinglyLinkedList;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Reproduce una traza grabada por TraceRecorder
+// Entrega cada entrada al kernel justo antes de ejecutar el tick en que la
+// tomó el original y corre los ticks intermedios de una vez (sin esperas ni
+// snapshots), hasta el tick en que se cerró la grabación. Ahí compara la
+// huella de MetricsCollector con la grabada: si coinciden, la corrida se
+// repitió exactamente. Sirve para reproducir un escenario, para buscar en
+// qué cambio se rompió algo y para medir el kernel con carga real.
+// Como Workload, guarda solo la descripción de las entradas (también de la
+// fuente simulada): la misma traza se puede reproducir en varios kernels.
+public class TraceReplayer {
+    private final SinglyLinkedList<Entry> entries;
+    private Policy policy;
+    private int quantum;
+    private int ramLimit;
+    private int interruptsPerTick;
+    private boolean eventDriven;
+    private int startTick;
+    private String source;           // fuente simulada al empezar (describe), o null
+    private int endTick;             // -1 si la grabación no se cerró
+    private long expectedFingerprint;
+
+    private TraceReplayer() {
+        this.entries = new SinglyLinkedList<>();
+        this.policy = Policy.FCFS;
+        this.quantum = 3;
+        this.ramLimit = 10;
+        this.interruptsPerTick = 1;
+        this.endTick = -1;
+    }
+
+    public static TraceReplayer load(Path file) throws IOException {
+        TraceReplayer replayer = new TraceReplayer();
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = in.readLine()) != null) {
+                lineNumber++;
+                replayer.parseLine(line, lineNumber);
+            }
+        }
+        return replayer;
+    }
+
+    // Kernel nuevo con la configuración que tenía el original al empezar a
+    // grabar, incluida la fuente simulada. Quien lo pide lo cierra
+    // (SimKernel.close) al terminar
+    public SimKernel newKernel() {
+        SimKernel kernel = new SimKernel();
+        kernel.setPolicy(policy);
+        kernel.setQuantum(quantum);
+        kernel.setRamLimit(ramLimit);
+        kernel.setInterruptsPerTick(interruptsPerTick);
+        kernel.setEventDriven(eventDriven);
+        if (source != null) {
+            kernel.setInterruptSource(SimulatedInterruptSource.parse(source));
+        }
+        return kernel;
+    }
+
+    // Reproduce la traza en un kernel vacío (ver newKernel). Sin cierre
+    // grabado, corre hasta que el kernel termine o hasta maxTicks después
+    // de la última entrada, y no hay huella con qué comparar
+    public Result replay(SimKernel kernel, int maxTicks) {
+        long start = System.nanoTime();
+        advanceTo(kernel, startTick);
+        entries.forEach(entry -> {
+            advanceTo(kernel, entry.tick);
+            apply(kernel, entry);
+        });
+        if (endTick >= 0) {
+            advanceTo(kernel, endTick);
+        } else {
+            kernel.runUntil(SimKernel.FINISHED, maxTicks);
+        }
+        long elapsed = System.nanoTime() - start;
+        return new Result(kernel.getClock().getCurrentTick(), endTick >= 0, expectedFingerprint,
+                          kernel.getMetrics().fingerprint(), elapsed);
+    }
+
+    public int getEntryCount() {
+        return entries.size();
+    }
+
+    // Tick en que se cerró la grabación, o -1 si no se cerró
+    public int getEndTick() {
+        return endTick;
+    }
+
+    public boolean isEventDriven() {
+        return eventDriven;
+    }
+
+    private static void advanceTo(SimKernel kernel, int tick) {
+        int now = kernel.getClock().getCurrentTick();
+        if (tick > now) {
+            kernel.advance(tick - now);
+        }
+    }
+
+    private static void apply(SimKernel kernel, Entry e) {
+        switch (e.command) {
+            case "P":
+                SimProcess p = new SimProcess(e.values[0], e.text, e.values[1], e.values[2], e.values[3], e.values[4]);
+                if (e.values[5] >= 0) {
+                    p.setIoSpec(new IOSpec(e.values[5], e.values[6]));
+                }
+                kernel.addProcess(p);
+                break;
+            case "I":
+                kernel.addInterrupt(new InterruptEvent(e.name, e.values[0], e.values[1], e.text));
+                break;
+            case "S":
+                kernel.scheduleInterrupt(new InterruptEvent(e.name, e.values[0], e.values[1], e.text));
+                break;
+            case "POLICY":
+                kernel.setPolicy(Policy.valueOf(e.name));
+                break;
+            case "QUANTUM":
+                kernel.setQuantum(e.values[0]);
+                break;
+            case "RAM":
+                kernel.setRamLimit(e.values[0]);
+                break;
+            case "BATCH":
+                kernel.setInterruptsPerTick(e.values[0]);
+                break;
+            case "MASK":
+                kernel.maskInterrupt(e.name);
+                break;
+            case "UNMASK":
+                kernel.unmaskInterrupt(e.name);
+                break;
+            case "COALESCE":
+                kernel.setInterruptCoalescing(e.name, e.values[0]);
+                break;
+            case "SOURCE":
+                kernel.setInterruptSource(e.text.equals("-") ? null : SimulatedInterruptSource.parse(e.text));
+                break;
+            default:
+                throw new IllegalStateException("Entrada desconocida: " + e.command);
+        }
+    }
+
+    private void parseLine(String line, int lineNumber) {
+        if (line.isBlank()) {
+            return;
+        }
+        String[] f = line.split(" ");
+        try {
+            if (f[0].equals("K") && f.length == 7) {
+                policy = Policy.valueOf(f[1]);
+                quantum = Integer.parseInt(f[2]);
+                ramLimit = Integer.parseInt(f[3]);
+                interruptsPerTick = Integer.parseInt(f[4]);
+                eventDriven = Boolean.parseBoolean(f[5]);
+                startTick = Integer.parseInt(f[6]);
+                return;
+            }
+            if (f[0].equals("SOURCE")) {
+                source = line.substring("SOURCE ".length());
+                SimulatedInterruptSource.parse(source); // validar al cargar
+                return;
+            }
+            if (f[0].equals("E") && f.length == 3) {
+                endTick = Integer.parseInt(f[1]);
+                expectedFingerprint = Long.parseUnsignedLong(f[2], 16);
+                return;
+            }
+
+            Entry e = new Entry(Integer.parseInt(f[0]), f[1]);
+            switch (e.command) {
+                case "P":
+                    // El nombre es el resto de la línea
+                    f = line.split(" ", 10);
+                    e.values = ints(f, 2, 7);
+                    e.text = f.length == 10 ? f[9] : "";
+                    break;
+                case "I":
+                case "S":
+                    f = line.split(" ", 6);
+                    e.values = ints(f, 2, 2);
+                    e.name = f[4];
+                    e.text = f.length == 6 ? f[5] : "";
+                    break;
+                case "POLICY":
+                    Policy.valueOf(f[2]); // validar al cargar
+                    e.name = f[2];
+                    break;
+                case "QUANTUM":
+                case "RAM":
+                case "BATCH":
+                    e.values = ints(f, 2, 1);
+                    break;
+                case "MASK":
+                case "UNMASK":
+                    e.name = f[2];
+                    break;
+                case "COALESCE":
+                    e.name = f[2];
+                    e.values = ints(f, 3, 1);
+                    break;
+                case "SOURCE":
+                    e.text = line.split(" ", 3)[2];
+                    if (!e.text.equals("-")) {
+                        SimulatedInterruptSource.parse(e.text); // validar al cargar
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException("Línea " + lineNumber + " inválida: " + line);
+            }
+            entries.addLast(e);
+        } catch (IndexOutOfBoundsException | NumberFormatException e) {
+            throw new IllegalArgumentException("Línea " + lineNumber + " inválida: " + line, e);
+        }
+    }
+
+    private static int[] ints(String[] f, int from, int count) {
+        int[] result = new int[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = Integer.parseInt(f[from + i]);
+        }
+        return result;
+    }
+
+    // Una entrada de la traza: comando, tick y sus argumentos
+    private static final class Entry {
+        final int tick;
+        final String command;
+        int[] values;
+        String name; // tipo de interrupción o política
+        String text; // nombre del proceso o descripción de la interrupción
+
+        Entry(int tick, String command) {
+            this.tick = tick;
+            this.command = command;
+        }
+    }
+
+    // Resultado de una reproducción
+    public static final class Result {
+        public final int endTick;
+        public final boolean hasExpected;      // false si la grabación no se cerró
+        public final long expectedFingerprint;
+        public final long actualFingerprint;
+        public final long elapsedNanos;
+
+        Result(int endTick, boolean hasExpected, long expectedFingerprint, long actualFingerprint, long elapsedNanos) {
+            this.endTick = endTick;
+            this.hasExpected = hasExpected;
+            this.expectedFingerprint = expectedFingerprint;
+            this.actualFingerprint = actualFingerprint;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        // true si las métricas son idénticas a las del original
+        public boolean matches() {
+            return hasExpected && expectedFingerprint == actualFingerprint;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package sim;
+
+import core.IOSpec;
+import core.InterruptEvent;
+import core.SimProcess;
+import ds.SinglyLinkedList;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+// Carga de trabajo para correr el kernel sin interfaz
+// Guarda solo la descripción de procesos e interrupciones; applyTo() crea
+// objetos nuevos cada vez, así que la misma carga se puede aplicar a varios
+// kernels (por ejemplo, uno por política).
+//
+// Formato de texto, una entrada por línea (# inicia un comentario):
+//   P pid nombre instrucciones prioridad llegada deadline [ciclosHastaES ciclosES]
+//   I tick tipo prioridad
+public class Workload {
+    private final SinglyLinkedList<ProcessRow> processes;
+    private final SinglyLinkedList<InterruptRow> interrupts;
+
+    public Workload() {
+        this.processes = new SinglyLinkedList<>();
+        this.interrupts = new SinglyLinkedList<>();
+    }
+
+    // Lee una carga desde un archivo con el formato descrito arriba
+    public static Workload load(Path file) throws IOException {
+        Workload workload = new Workload();
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = in.readLine()) != null) {
+                lineNumber++;
+                workload.parseLine(line, lineNumber);
+            }
+        }
+        return workload;
+    }
+
+    // Genera una carga aleatoria reproducible (misma semilla = misma carga)
+    // Las llegadas se reparten en [0, count * 16), lo que deja la CPU cerca
+    // del 80% ocupada, y la mitad de los procesos hace E/S
+    public static Workload random(int count, long seed) {
+        Random random = new Random(seed);
+        Workload workload = new Workload();
+        for (int i = 0; i < count; i++) {
+            int instructions = 3 + random.nextInt(20);
+            int arrival = random.nextInt(Math.max(1, count * 16));
+            int deadline = instructions * 2 + random.nextInt(100);
+            if (random.nextBoolean()) {
+                workload.addProcess(i + 1, "P" + (i + 1), instructions, random.nextInt(10),
+                                    arrival, deadline, 1 + random.nextInt(instructions), 1 + random.nextInt(20));
+            } else {
+                workload.addProcess(i + 1, "P" + (i + 1), instructions, random.nextInt(10),
+                                    arrival, deadline, -1, 0);
+            }
+        }
+        return workload;
+    }
+
+    // cyclesUntilIO < 0 significa que el proceso no hace E/S
+    public void addProcess(int pid, String name, int instructions, int priority,
+                           int arrivalTick, int relativeDeadline, int cyclesUntilIO, int ioCycles) {
+        processes.addLast(new ProcessRow(pid, name, instructions, priority, arrivalTick,
+                                         relativeDeadline, cyclesUntilIO, ioCycles));
+    }
+
+    public void addInterrupt(int tick, String type, int priority) {
+        interrupts.addLast(new InterruptRow(tick, type, priority));
+    }
+
+    // Crea los procesos e interrupciones y los entrega al kernel
+    // Solo lee la carga (forEach no usa el cursor compartido de la lista), así
+    // que varios hilos pueden aplicar la misma carga a kernels distintos
+    public void applyTo(SimKernel kernel) {
+        processes.forEach(row -> {
+            SimProcess p = new SimProcess(row.pid, row.name, row.instructions, row.priority,
+                                          row.arrivalTick, row.relativeDeadline);
+            if (row.cyclesUntilIO >= 0) {
+                p.setIoSpec(new IOSpec(row.cyclesUntilIO, row.ioCycles));
+            }
+            kernel.addProcess(p);
+        });
+
+        interrupts.forEach(row -> kernel.scheduleInterrupt(
+                new InterruptEvent(row.type, row.priority, row.tick, "Carga de trabajo: " + row.type)));
+    }
+
+    public int getProcessCount() {
+        return processes.size();
+    }
+
+    public int getInterruptCount() {
+        return interrupts.size();
+    }
+
+    private void parseLine(String line, int lineNumber) {
+        int comment = line.indexOf('#');
+        if (comment >= 0) {
+            line = line.substring(0, comment);
+        }
+        line = line.trim();
+        if (line.isEmpty()) {
+            return;
+        }
+
+        String[] f = line.split("\\s+");
+        try {
+            if (f[0].equals("P") && (f.length == 7 || f.length == 9)) {
+                addProcess(Integer.parseInt(f[1]), f[2], Integer.parseInt(f[3]), Integer.parseInt(f[4]),
+                           Integer.parseInt(f[5]), Integer.parseInt(f[6]),
+                           f.length == 9 ? Integer.parseInt(f[7]) : -1,
+                           f.length == 9 ? Integer.parseInt(f[8]) : 0);
+            } else if (f[0].equals("I") && f.length == 4) {
+                addInterrupt(Integer.parseInt(f[1]), f[2], Integer.parseInt(f[3]));
+            } else {
+                throw new IllegalArgumentException("Línea " + lineNumber + " inválida: " + line);
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Línea " + lineNumber + ": número inválido en '" + line + "'", e);
+        }
+    }
+
+    private static final class ProcessRow {
+        final int pid;
+        final String name;
+        final int instructions;
+        final int priority;
+        final int arrivalTick;
+        final int relativeDeadline;
+        final int cyclesUntilIO;
+        final int ioCycles;
+
+        ProcessRow(int pid, String name, int instructions, int priority, int arrivalTick,
+                   int relativeDeadline, int cyclesUntilIO, int ioCycles) {
+            this.pid = pid;
+            this.name = name;
+            this.instructions = instructions;
+            this.priority = priority;
+            this.arrivalTick = arrivalTick;
+            this.relativeDeadline = relativeDeadline;
+            this.cyclesUntilIO = cyclesUntilIO;
+            this.ioCycles = ioCycles;
+        }
+    }
+
+    private static final class InterruptRow {
+        final int tick;
+        final String type;
+        final int priority;
+
+        InterruptRow(int tick, String type, int priority) {
+            this.tick = tick;
+            this.type = type;
+            this.priority = priority;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.mycompany.proyecto.so;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class OptionsTest {
+
+    private static Options parse(String line) {
+        return Options.parse(line.split(" "));
+    }
+
+    @Test
+    void parsesAGrid() {
+        Options o = parse("--random 50 --quantum 2,4 --ram 3,5,8 --max-ticks 1000");
+        assertEquals(50, o.randomCount);
+        assertArrayEquals(new int[] {2, 4}, o.quanta);
+        assertArrayEquals(new int[] {3, 5, 8}, o.ramLimits);
+        assertEquals(1000, o.maxTicks);
+        assertEquals(6, o.gridSize());
+    }
+
+    @Test
+    void rejectsNonPositiveCounts() {
+        for (String line : new String[] {
+            "--random 0", "--quantum 0", "--ram -1", "--ram 3,0", "--max-ticks 0", "--windows 10,-5"
+        }) {
+            assertThrows(IllegalArgumentException.class, () -> parse(line), line);
+        }
+    }
+
+    @Test
+    void rejectsMalformedValues() {
+        assertThrows(IllegalArgumentException.class, () -> parse("--quantum x"));
+        assertThrows(IllegalArgumentException.class, () -> parse("--ram"));
+        assertThrows(IllegalArgumentException.class, () -> parse("--coalesce NOPE:3"));
+        assertThrows(IllegalArgumentException.class, () -> parse("--bogus 1"));
+    }
+
+    @Test
+    void allowOnlyRejectsOptionsOfAnotherMode() {
+        Options o = parse("--random 5 --pid 3");
+        o.allowOnly("al correr", "--random", "--pid");
+        assertThrows(IllegalArgumentException.class, () -> o.allowOnly("al correr", "--random"));
+    }
+}
@@ -0,0 +1,183 @@
+package ds;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class IndexedHeapTest {
+
+    // Elemento mínimo: una clave y el índice que pide el montículo
+    private static final class Item implements IndexedHeap.Indexed {
+        final int key;
+        final int id;
+        int heapIndex = -1;
+
+        Item(int key, int id) {
+            this.key = key;
+            this.id = id;
+        }
+
+        @Override
+        public int getHeapIndex() {
+            return heapIndex;
+        }
+
+        @Override
+        public void setHeapIndex(int index) {
+            this.heapIndex = index;
+        }
+    }
+
+    private static final SinglyLinkedList.Comparator<Item> BY_KEY = (a, b) -> a.key < b.key;
+    private static final SinglyLinkedList.Comparator<Item> BY_KEY_DESC = (a, b) -> a.key > b.key;
+
+    // Orden esperado: por clave y, en empates, por orden de inserción (id)
+    private static Item[] sortedByKey(Item[] items) {
+        Item[] sorted = items.clone();
+        for (int i = 1; i < sorted.length; i++) {
+            Item item = sorted[i];
+            int j = i - 1;
+            while (j >= 0 && sorted[j].key > item.key) {
+                sorted[j + 1] = sorted[j];
+                j--;
+            }
+            sorted[j + 1] = item;
+        }
+        return sorted;
+    }
+
+    private static Item[] randomItems(int count, int keys, long seed) {
+        Random random = new Random(seed);
+        Item[] items = new Item[count];
+        for (int i = 0; i < count; i++) {
+            items[i] = new Item(random.nextInt(keys), i);
+        }
+        return items;
+    }
+
+    @Test
+    void pollReturnsComparatorOrderWithTiesInInsertionOrder() {
+        Item[] items = randomItems(500, 20, 1);
+        IndexedHeap<Item> heap = new IndexedHeap<>(BY_KEY);
+        for (Item item : items) {
+            heap.offer(item);
+        }
+        assertEquals(items.length, heap.size());
+
+        for (Item expected : sortedByKey(items)) {
+            assertSame(expected, heap.peek());
+            assertSame(expected, heap.poll());
+            assertEquals(-1, expected.getHeapIndex());
+        }
+        assertTrue(heap.isEmpty());
+        assertNull(heap.poll());
+    }
+
+    @Test
+    void offerFirstGoesAheadOfTies() {
+        IndexedHeap<Item> heap = new IndexedHeap<>(BY_KEY);
+        Item a = new Item(1, 0);
+        Item b = new Item(1, 1);
+        Item c = new Item(1, 2);
+        heap.offer(a);
+        heap.offer(b);
+        heap.offerFirst(c);
+
+        assertSame(c, heap.poll());
+        assertSame(a, heap.poll());
+        assertSame(b, heap.poll());
+    }
+
+    @Test
+    void removeByIndexKeepsTheRestOrdered() {
+        Item[] items = randomItems(300, 50, 2);
+        IndexedHeap<Item> heap = new IndexedHeap<>(BY_KEY);
+        for (Item item : items) {
+            heap.offer(item);
+        }
+        for (int i = 0; i < items.length; i += 3) {
+            assertTrue(heap.remove(items[i]));
+            assertFalse(heap.contains(items[i]));
+            assertFalse(heap.remove(items[i]));
+        }
+
+        Item[] kept = new Item[heap.size()];
+        int n = 0;
+        for (Item item : items) {
+            if (item.id % 3 != 0) {
+                kept[n++] = item;
+            }
+        }
+        for (Item expected : sortedByKey(kept)) {
+            assertSame(expected, heap.poll());
+        }
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    void setComparatorRebuildsAndKeepsInsertionOrderForTies() {
+        Item[] items = randomItems(200, 10, 3);
+        IndexedHeap<Item> heap = new IndexedHeap<>(BY_KEY);
+        for (Item item : items) {
+            heap.offer(item);
+        }
+        heap.setComparator(BY_KEY_DESC);
+
+        Item[] ascending = sortedByKey(items);
+        int previousKey = Integer.MAX_VALUE;
+        int previousId = -1;
+        for (int i = 0; i < ascending.length; i++) {
+            Item item = heap.poll();
+            assertTrue(item.key <= previousKey);
+            if (item.key == previousKey) {
+                assertTrue(item.id > previousId);
+            }
+            previousKey = item.key;
+            previousId = item.id;
+        }
+    }
+
+    @Test
+    void toSortedArrayMatchesPollOrderWithoutModifying() {
+        Item[] items = randomItems(400, 15, 4);
+        IndexedHeap<Item> heap = new IndexedHeap<>(BY_KEY);
+        for (int i = 0; i < items.length; i++) {
+            if (i % 5 == 0) {
+                heap.offerFirst(items[i]);
+            } else {
+                heap.offer(items[i]);
+            }
+        }
+        int modCount = heap.getModCount();
+
+        Object[] sorted = heap.toSortedArray();
+        assertEquals(modCount, heap.getModCount());
+        assertEquals(items.length, heap.size());
+        for (Object expected : sorted) {
+            assertSame(expected, heap.poll());
+        }
+    }
+
+    @Test
+    void minByUsesAnotherCriterionWithoutModifying() {
+        Item[] items = randomItems(100, 30, 5);
+        IndexedHeap<Item> heap = new IndexedHeap<>(BY_KEY);
+        for (Item item : items) {
+            heap.offer(item);
+        }
+        Item expected = sortedByKey(items)[items.length - 1];
+        for (Item item : items) {
+            if (item.key == expected.key) {
+                expected = item; // el primero insertado con la clave máxima
+                break;
+            }
+        }
+        assertSame(expected, heap.minBy(BY_KEY_DESC));
+        assertEquals(items.length, heap.size());
+    }
+}
@@ -0,0 +1,135 @@
+package ds;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class IntrusiveListTest {
+
+    // Elemento mínimo con su propio enlace
+    private static final class Item implements IntrusiveList.Linked<Item> {
+        final int id;
+        final IntrusiveList.Link<Item> link = new IntrusiveList.Link<>();
+
+        Item(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public IntrusiveList.Link<Item> getLink() {
+            return link;
+        }
+    }
+
+    private static Item[] items(int count) {
+        Item[] items = new Item[count];
+        for (int i = 0; i < count; i++) {
+            items[i] = new Item(i);
+        }
+        return items;
+    }
+
+    // Recorre la lista con getFirst/next y compara con los ids esperados
+    private static void assertIds(IntrusiveList<Item> list, int... ids) {
+        assertEquals(ids.length, list.size());
+        Item current = list.getFirst();
+        for (int id : ids) {
+            assertEquals(id, current.id);
+            current = list.next(current);
+        }
+        assertNull(current);
+        if (ids.length > 0) {
+            assertEquals(ids[ids.length - 1], list.getLast().id);
+        }
+    }
+
+    @Test
+    void addLastAndAddFirstKeepOrder() {
+        Item[] items = items(4);
+        IntrusiveList<Item> list = new IntrusiveList<>();
+        list.addLast(items[1]);
+        list.addLast(items[2]);
+        list.addFirst(items[0]);
+        list.addLast(items[3]);
+
+        assertIds(list, 0, 1, 2, 3);
+        assertSame(items[0], list.removeFirst());
+        assertIds(list, 1, 2, 3);
+    }
+
+    @Test
+    void removeFromAnyPosition() {
+        Item[] items = items(5);
+        IntrusiveList<Item> list = new IntrusiveList<>();
+        for (Item item : items) {
+            list.addLast(item);
+        }
+
+        assertTrue(list.remove(items[2]));  // medio
+        assertTrue(list.remove(items[0]));  // cabeza
+        assertTrue(list.remove(items[4]));  // cola
+        assertFalse(list.remove(items[4]));
+        assertFalse(list.contains(items[0]));
+        assertNull(items[0].getLink().getOwner());
+        assertIds(list, 1, 3);
+    }
+
+    @Test
+    void addingToAnotherListMovesTheElement() {
+        Item[] items = items(3);
+        IntrusiveList<Item> ready = new IntrusiveList<>();
+        IntrusiveList<Item> blocked = new IntrusiveList<>();
+        for (Item item : items) {
+            ready.addLast(item);
+        }
+
+        blocked.addLast(items[1]);
+
+        assertIds(ready, 0, 2);
+        assertIds(blocked, 1);
+        assertTrue(blocked.contains(items[1]));
+        assertFalse(ready.contains(items[1]));
+        assertSame(blocked, items[1].getLink().getOwner());
+    }
+
+    @Test
+    void modCountChangesOnEveryModification() {
+        Item[] items = items(2);
+        IntrusiveList<Item> list = new IntrusiveList<>();
+        int before = list.getModCount();
+        list.addLast(items[0]);
+        int afterAdd = list.getModCount();
+        assertNotEquals(before, afterAdd);
+
+        list.getFirst();
+        list.toArray();
+        assertEquals(afterAdd, list.getModCount());
+
+        list.addFirst(items[1]);
+        assertNotEquals(afterAdd, list.getModCount());
+    }
+
+    @Test
+    void clearUnlinksEveryElement() {
+        Item[] items = items(3);
+        IntrusiveList<Item> list = new IntrusiveList<>();
+        for (Item item : items) {
+            list.addLast(item);
+        }
+        list.clear();
+
+        assertTrue(list.isEmpty());
+        assertNull(list.getFirst());
+        for (Item item : items) {
+            assertNull(item.getLink().getOwner());
+        }
+        // Se pueden volver a agregar
+        list.addLast(items[2]);
+        assertIds(list, 2);
+    }
+}
@@ -0,0 +1,65 @@
+package ds;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class MpscQueueTest {
+
+    @Test
+    void singleThreadIsFifo() {
+        MpscQueue<Integer> queue = new MpscQueue<>();
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+        for (int i = 0; i < 100; i++) {
+            queue.offer(i);
+        }
+        assertEquals(0, queue.poll());
+        assertEquals(1, queue.poll());
+
+        int[] next = {2};
+        int drained = queue.drain(value -> assertEquals(next[0]++, value));
+        assertEquals(98, drained);
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void concurrentProducersLoseNothingAndKeepTheirOwnOrder() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 50_000;
+        MpscQueue<long[]> queue = new MpscQueue<>();
+
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            final int producer = p;
+            threads[p] = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    queue.offer(new long[] {producer, i});
+                }
+            });
+            threads[p].start();
+        }
+
+        // El hilo del test es el único consumidor: drena mientras publican
+        int[] expected = new int[producers];
+        int total = 0;
+        while (total < producers * perProducer) {
+            total += queue.drain(value -> {
+                int producer = (int) value[0];
+                assertEquals(expected[producer], (int) value[1]);
+                expected[producer]++;
+            });
+            Thread.onSpinWait();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertTrue(queue.isEmpty());
+        for (int count : expected) {
+            assertEquals(perProducer, count);
+        }
+    }
+}
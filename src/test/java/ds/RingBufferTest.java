@@ -0,0 +1,113 @@
+package ds;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class RingBufferTest {
+
+    @Test
+    void isFifoAcrossWrapAround() {
+        // Capacidad 5: el arreglo es de 8, así que los índices dan la vuelta
+        RingBuffer<Integer> ring = new RingBuffer<>(5, false);
+        int next = 0;
+        int expected = 0;
+        for (int round = 0; round < 20; round++) {
+            while (ring.offer(next)) {
+                next++;
+            }
+            assertTrue(ring.isFull());
+            assertEquals(5, ring.size());
+            for (int i = 0; i < 3; i++) {
+                assertEquals(expected++, ring.poll());
+            }
+        }
+        while (!ring.isEmpty()) {
+            assertEquals(expected++, ring.poll());
+        }
+        assertEquals(next, expected);
+        assertNull(ring.poll());
+        assertNull(ring.peek());
+    }
+
+    @Test
+    void withoutOverwriteRejectsWhenFull() {
+        RingBuffer<String> ring = new RingBuffer<>(2, false);
+        assertTrue(ring.offer("a"));
+        assertTrue(ring.offer("b"));
+        assertFalse(ring.offer("c"));
+        assertEquals("a", ring.peek());
+        assertEquals(0, ring.getOverwritten());
+    }
+
+    @Test
+    void withOverwriteDropsTheOldest() {
+        RingBuffer<Integer> ring = new RingBuffer<>(3, true);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(ring.offer(i));
+        }
+        assertEquals(3, ring.size());
+        assertEquals(7, ring.getOverwritten());
+        assertEquals(7, ring.get(0));
+        assertEquals(8, ring.get(1));
+        assertEquals(9, ring.get(2));
+    }
+
+    @Test
+    void copyToKeepsOrderWhenWrapped() {
+        RingBuffer<String> ring = new RingBuffer<>(4, true);
+        for (int i = 0; i < 6; i++) {
+            ring.offer("m" + i);
+        }
+        String[] dest = new String[5];
+        dest[0] = "x";
+        assertEquals(4, ring.copyTo(dest, 1));
+        assertEquals("x", dest[0]);
+        assertEquals("m2", dest[1]);
+        assertEquals("m5", dest[4]);
+
+        Object[] array = ring.toArray();
+        assertEquals(4, array.length);
+        assertEquals("m2", array[0]);
+    }
+
+    @Test
+    void slotsStayPutWhileTheElementIsQueued() {
+        // Arreglos paralelos indexados por slotOf, como los usa EventLog
+        RingBuffer<String> ring = new RingBuffer<>(5, true);
+        assertEquals(8, ring.slots());
+        int[] parallel = new int[ring.slots()];
+        for (int i = 0; i < 50; i++) {
+            ring.offer(null);
+            parallel[ring.slotOf(ring.size() - 1)] = i;
+        }
+        for (int i = 0; i < ring.size(); i++) {
+            assertEquals(45 + i, parallel[ring.slotOf(i)]);
+        }
+
+        ring.set(2, "cacheado");
+        ring.poll();
+        assertEquals("cacheado", ring.get(1));
+        assertEquals(47, parallel[ring.slotOf(1)]);
+    }
+
+    @Test
+    void clearEmptiesAndKeepsWorking() {
+        RingBuffer<Integer> ring = new RingBuffer<>(3, false);
+        ring.offer(1);
+        ring.offer(2);
+        ring.clear();
+        assertTrue(ring.isEmpty());
+        ring.offer(3);
+        assertEquals(3, ring.poll());
+    }
+
+    @Test
+    void rejectsInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<Integer>(0, false));
+    }
+}
@@ -0,0 +1,92 @@
+package ds;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class TimingWheelTest {
+
+    // Lo que entrega advance en un tick, en orden
+    private static final class Expired implements SinglyLinkedList.Visitor<Integer> {
+        final SinglyLinkedList<Integer> values = new SinglyLinkedList<>();
+
+        @Override
+        public void visit(Integer value) {
+            values.addLast(value);
+        }
+    }
+
+    @Test
+    void expiresEachElementExactlyAtItsTick() {
+        // 8 ranuras y vencimientos de hasta 200 ticks: muchos dan varias vueltas
+        TimingWheel<Integer> wheel = new TimingWheel<>(8);
+        Random random = new Random(1);
+        int count = 1000;
+        int[] deadlines = new int[count];
+        for (int i = 0; i < count; i++) {
+            deadlines[i] = 1 + random.nextInt(200);
+            wheel.schedule(i, deadlines[i]);
+        }
+        assertEquals(count, wheel.size());
+
+        int seen = 0;
+        for (int tick = 1; tick <= 200; tick++) {
+            Expired expired = new Expired();
+            int n = wheel.advance(tick, expired);
+            assertEquals(expired.values.size(), n);
+            int last = -1;
+            for (SinglyLinkedList.Cursor<Integer> c = expired.values.cursor(); c.hasNext(); ) {
+                int value = c.next();
+                assertEquals(tick, deadlines[value]);
+                assertTrue(value > last); // dentro de un tick, en orden de agendado
+                last = value;
+            }
+            seen += n;
+        }
+        assertEquals(count, seen);
+        assertTrue(wheel.isEmpty());
+    }
+
+    @Test
+    void nextDeadlineFindsTheEarliest() {
+        TimingWheel<String> wheel = new TimingWheel<>(16);
+        assertEquals(-1, wheel.nextDeadline(0));
+
+        wheel.schedule("lejos", 1000);   // más de una vuelta
+        assertEquals(1000, wheel.nextDeadline(0));
+
+        wheel.schedule("cerca", 7);
+        assertEquals(7, wheel.nextDeadline(0));
+        assertEquals(7, wheel.nextDeadline(7));
+
+        assertEquals(1, wheel.advance(7, v -> { }));
+        assertEquals(1000, wheel.nextDeadline(8));
+    }
+
+    @Test
+    void advanceSkippingTicksStillExpiresOverdueInTheSameSlot() {
+        TimingWheel<Integer> wheel = new TimingWheel<>(4);
+        wheel.schedule(1, 5);
+        wheel.schedule(2, 9); // misma ranura que 5, una vuelta después
+
+        Expired expired = new Expired();
+        assertEquals(1, wheel.advance(5, expired));
+        assertEquals(1, wheel.size());
+        assertEquals(1, wheel.advance(9, expired));
+        assertEquals(2, expired.values.size());
+    }
+
+    @Test
+    void clearEmptiesEverySlot() {
+        TimingWheel<Integer> wheel = new TimingWheel<>(4);
+        for (int i = 0; i < 20; i++) {
+            wheel.schedule(i, i);
+        }
+        wheel.clear();
+        assertTrue(wheel.isEmpty());
+        assertEquals(-1, wheel.nextDeadline(0));
+        assertEquals(0, wheel.advance(3, v -> { }));
+    }
+}
@@ -0,0 +1,98 @@
+package metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+    @Test
+    void smallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int v = 1; v <= 20; v++) {
+            histogram.record(v);
+        }
+        assertEquals(10, histogram.getValueAtPercentile(50.0));
+        assertEquals(18, histogram.getValueAtPercentile(90.0));
+        assertEquals(20, histogram.getValueAtPercentile(100.0));
+        assertEquals(1, histogram.getMin());
+        assertEquals(20, histogram.getMax());
+        assertEquals(10.5, histogram.getMean(), 1e-9);
+    }
+
+    @Test
+    void percentilesStayWithinTheRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Random random = new Random(11);
+        int[] values = new int[20_000];
+        for (int i = 0; i < values.length; i++) {
+            // Cola larga: mayoría chicos, algunos muy grandes, algunos negativos
+            values[i] = random.nextInt(10) == 0 ? random.nextInt(1_000_000) : random.nextInt(200) - 50;
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double p : new double[] {1.0, 25.0, 50.0, 90.0, 99.0, 99.9}) {
+            int exact = values[(int) Math.ceil(p / 100.0 * values.length) - 1];
+            int estimate = histogram.getValueAtPercentile(p);
+            // La cota superior de la cubeta nunca queda por debajo del valor real
+            assertTrue(estimate >= exact, "p" + p);
+            assertTrue(estimate - exact <= Math.abs((long) exact) / 32, "p" + p);
+        }
+        assertEquals(values[0], histogram.getMin());
+        assertEquals(values[values.length - 1], histogram.getMax());
+    }
+
+    @Test
+    void summaryMatchesIndividualPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int v = 0; v < 5000; v++) {
+            histogram.record(v * 7 % 3001);
+        }
+        LatencyHistogram.Summary summary = histogram.summary();
+        assertEquals(5000, summary.count);
+        assertEquals(histogram.getValueAtPercentile(50.0), summary.p50);
+        assertEquals(histogram.getValueAtPercentile(90.0), summary.p90);
+        assertEquals(histogram.getValueAtPercentile(99.0), summary.p99);
+        assertEquals(histogram.getValueAtPercentile(99.9), summary.p999);
+        assertEquals(histogram.getMax(), summary.max);
+    }
+
+    @Test
+    void writeAndReadRoundTrip() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Integer.MIN_VALUE);
+        histogram.record(Integer.MAX_VALUE);
+        for (int v = -100; v < 3000; v += 3) {
+            histogram.record(v);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.serializedSize());
+        histogram.writeTo(buffer);
+        assertEquals(0, buffer.remaining());
+        buffer.flip();
+
+        LatencyHistogram copy = new LatencyHistogram();
+        copy.record(42);
+        copy.readFrom(buffer);
+        assertEquals(histogram.getCount(), copy.getCount());
+        assertEquals(histogram.getMin(), copy.getMin());
+        assertEquals(histogram.getMax(), copy.getMax());
+        assertEquals(histogram.fingerprint(17), copy.fingerprint(17));
+        for (double p = 0.5; p < 100.0; p += 7.5) {
+            assertEquals(histogram.getValueAtPercentile(p), copy.getValueAtPercentile(p));
+        }
+    }
+
+    @Test
+    void emptyHistogramReportsZeros() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValueAtPercentile(99.0));
+        assertEquals(0, histogram.getMin());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0.0, histogram.getMean(), 0.0);
+    }
+}
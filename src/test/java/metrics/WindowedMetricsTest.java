@@ -0,0 +1,132 @@
+package metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class WindowedMetricsTest {
+
+    // Un tick con eventos pseudoaleatorios, repetible con la misma semilla
+    private static void randomTick(WindowedMetrics metrics, Random random) {
+        for (int c = random.nextInt(3); c > 0; c--) {
+            metrics.recordCompletion(random.nextInt(4) == 0);
+        }
+        if (random.nextInt(5) == 0) {
+            metrics.recordSwap();
+        }
+        metrics.recordQueueLengths(random.nextInt(10), random.nextInt(5), random.nextInt(3));
+        metrics.recordTick(random.nextBoolean());
+    }
+
+    private static void assertSameWindows(WindowedMetrics expected, WindowedMetrics actual) {
+        assertEquals(expected.getWindowCount(), actual.getWindowCount());
+        for (int w = 0; w < expected.getWindowCount(); w++) {
+            assertEquals(expected.getWindow(w), actual.getWindow(w));
+            assertEquals(expected.getLength(w), actual.getLength(w));
+            assertEquals(expected.getThroughput(w), actual.getThroughput(w), 1e-9);
+            assertEquals(expected.getCpuUtilization(w), actual.getCpuUtilization(w), 1e-9);
+            assertEquals(expected.getDeadlineMissRate(w), actual.getDeadlineMissRate(w), 1e-9);
+            assertEquals(expected.getAverageReadyLength(w), actual.getAverageReadyLength(w), 1e-9);
+            assertEquals(expected.getAverageBlockedLength(w), actual.getAverageBlockedLength(w), 1e-9);
+            assertEquals(expected.getAverageSuspendedLength(w), actual.getAverageSuspendedLength(w), 1e-9);
+            assertEquals(expected.getSwapRate(w), actual.getSwapRate(w), 1e-9);
+        }
+    }
+
+    @Test
+    void windowsOnlySeeTheLastTicks() {
+        WindowedMetrics metrics = new WindowedMetrics(10, 4); // se ordenan: 4, 10
+        assertEquals(4, metrics.getWindow(0));
+        assertEquals(10, metrics.getWindow(1));
+
+        // 6 ticks ocupados y después 4 libres
+        for (int t = 0; t < 6; t++) {
+            metrics.recordCompletion(t == 5);
+            metrics.recordTick(true);
+        }
+        assertEquals(4, metrics.getLength(0));
+        assertEquals(6, metrics.getLength(1));
+        assertEquals(100.0, metrics.getCpuUtilization(0), 1e-9);
+        for (int t = 0; t < 4; t++) {
+            metrics.recordTick(false);
+        }
+        assertEquals(0.0, metrics.getCpuUtilization(0), 1e-9);
+        assertEquals(0.0, metrics.getThroughput(0), 1e-9);
+        assertEquals(60.0, metrics.getCpuUtilization(1), 1e-9);
+        assertEquals(0.6, metrics.getThroughput(1), 1e-9);
+        assertEquals(100.0 / 6, metrics.getDeadlineMissRate(1), 1e-9);
+    }
+
+    @Test
+    void idleTicksAtOnceMatchOneByOne() {
+        for (int idle : new int[] {1, 7, 50, 200, 1234}) {
+            WindowedMetrics batched = new WindowedMetrics(5, 50, 200);
+            WindowedMetrics single = new WindowedMetrics(5, 50, 200);
+            Random a = new Random(idle);
+            Random b = new Random(idle);
+            for (int t = 0; t < 300; t++) {
+                randomTick(batched, a);
+                randomTick(single, b);
+            }
+            batched.recordQueueLengths(3, 1, 2);
+            single.recordQueueLengths(3, 1, 2);
+            batched.recordIdleTicks(idle);
+            for (int t = 0; t < idle; t++) {
+                single.recordTick(false);
+            }
+            assertSameWindows(single, batched);
+
+            randomTick(batched, a);
+            randomTick(single, b);
+            assertSameWindows(single, batched);
+        }
+    }
+
+    @Test
+    void checkpointRoundTripKeepsTheWindows() {
+        WindowedMetrics original = new WindowedMetrics(3, 30, 100);
+        Random random = new Random(5);
+        for (int t = 0; t < 257; t++) {
+            randomTick(original, random);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(original.serializedSize());
+        original.writeTo(buffer);
+        buffer.flip();
+        WindowedMetrics restored = WindowedMetrics.readFrom(buffer);
+        assertEquals(0, buffer.remaining());
+        assertSameWindows(original, restored);
+
+        long seed = random.nextLong();
+        Random a = new Random(seed);
+        Random b = new Random(seed);
+        for (int t = 0; t < 150; t++) {
+            randomTick(original, a);
+            randomTick(restored, b);
+        }
+        assertSameWindows(original, restored);
+    }
+
+    @Test
+    void resetStartsOver() {
+        WindowedMetrics metrics = new WindowedMetrics(4);
+        for (int t = 0; t < 10; t++) {
+            metrics.recordCompletion(false);
+            metrics.recordTick(true);
+        }
+        WindowedMetrics.Window before = metrics.windows()[0];
+        metrics.reset();
+        assertEquals(0, metrics.getLength(0));
+        assertEquals(0.0, metrics.getThroughput(0), 1e-9);
+        assertEquals(0, metrics.windows()[0].length);
+        assertEquals(4, before.length);
+    }
+
+    @Test
+    void rejectsInvalidWindows() {
+        assertThrows(IllegalArgumentException.class, () -> new WindowedMetrics());
+        assertThrows(IllegalArgumentException.class, () -> new WindowedMetrics(10, 0));
+    }
+}
@@ -0,0 +1,71 @@
+package sim;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.IOException;
+import org.junit.jupiter.api.Test;
+
+class BatchTickTest {
+
+    private static SimKernel kernel(boolean eventDriven) {
+        SimKernel kernel = new SimKernel();
+        kernel.setEventDriven(eventDriven);
+        kernel.setPolicy(Policy.RR);
+        Workload.random(200, 5).applyTo(kernel);
+        return kernel;
+    }
+
+    @Test
+    void tickNMatchesSingleTicks() throws IOException {
+        SimKernel single = kernel(false);
+        SimKernel batched = kernel(false);
+        for (int i = 0; i < 1500; i++) {
+            single.tick();
+        }
+        batched.tickN(1000);
+        batched.tickN(500);
+
+        assertEquals(single.getClock().getCurrentTick(), batched.getClock().getCurrentTick());
+        assertEquals(single.getMetrics().fingerprint(), batched.getMetrics().fingerprint());
+        assertArrayEquals(single.getEventLog().toArray(), batched.getEventLog().toArray());
+        single.close();
+        batched.close();
+    }
+
+    @Test
+    void eventDrivenTickNStopsAtTheRequestedTick() throws IOException {
+        SimKernel kernel = kernel(true);
+        for (int i = 0; i < 50; i++) {
+            kernel.tickN(37);
+            assertEquals(37 * (i + 1), kernel.getClock().getCurrentTick());
+        }
+        kernel.close();
+    }
+
+    @Test
+    void runUntilStopsRightAfterTheConditionHolds() throws IOException {
+        SimKernel kernel = kernel(false);
+        SystemSnapshot s = kernel.runUntil(k -> k.getMetrics().getCompletedProcesses() >= 10, 1_000_000);
+        assertEquals(10, kernel.getMetrics().getCompletedProcesses());
+        assertEquals(kernel.getClock().getCurrentTick() - 1, s.currentTick);
+        assertEquals(10, s.completedProcesses);
+        kernel.close();
+    }
+
+    @Test
+    void runUntilRespectsMaxTicks() throws IOException {
+        SimKernel kernel = kernel(false);
+        kernel.tickN(10);
+        kernel.runUntil(SimKernel.FINISHED, 100);
+        assertEquals(110, kernel.getClock().getCurrentTick());
+        assertFalse(kernel.isFinished());
+
+        kernel.runUntil(SimKernel.FINISHED, 1_000_000);
+        int end = kernel.getClock().getCurrentTick();
+        kernel.runUntil(SimKernel.FINISHED, 1_000_000);
+        assertEquals(end + 1, kernel.getClock().getCurrentTick()); // siempre ejecuta al menos un tick
+        kernel.close();
+    }
+}
@@ -0,0 +1,158 @@
+package sim;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import core.IOSpec;
+import core.InterruptEvent;
+import core.SimProcess;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CheckpointTest {
+
+    @TempDir
+    Path dir;
+
+    // Misma configuración para el kernel original y el que restaura
+    private static SimKernel newKernel(boolean eventDriven) {
+        SimKernel kernel = new SimKernel();
+        kernel.setEventDriven(eventDriven);
+        kernel.setTerminatedArchive(new TerminatedArchive(50, 16, null));
+        return kernel;
+    }
+
+    // Entradas externas pseudoaleatorias, repetibles con la misma semilla
+    private static void inject(SimKernel kernel, Random random, int i) {
+        int now = kernel.getClock().getCurrentTick();
+        if (random.nextInt(3) == 0) {
+            kernel.addInterrupt(new InterruptEvent("SENSOR_DATA", random.nextInt(10), now, "t"));
+        }
+        if (random.nextInt(5) == 0) {
+            SimProcess p = new SimProcess(100_000 + i, "Q" + i, 3 + random.nextInt(20),
+                    random.nextInt(10), now + random.nextInt(30), 30 + random.nextInt(80));
+            if (random.nextBoolean()) {
+                p.setIoSpec(new IOSpec(1 + random.nextInt(4), random.nextInt(15)));
+            }
+            kernel.addProcess(p);
+        }
+    }
+
+    private void roundTrip(boolean eventDriven) throws IOException {
+        SimKernel original = newKernel(eventDriven);
+        original.setPolicy(Policy.RR);
+        original.setRamLimit(5);
+        original.setInterruptCoalescing("SENSOR_DATA", 2);
+        Workload.random(500, 7).applyTo(original);
+        Random random = new Random(7);
+        for (int i = 0; i < 2000; i++) {
+            inject(original, random, i);
+            original.tick();
+        }
+
+        Path first = dir.resolve("a.ckpt");
+        Path second = dir.resolve("b.ckpt");
+        original.checkpoint(first);
+        SimKernel restored = newKernel(eventDriven);
+        restored.restore(first);
+        restored.checkpoint(second);
+        assertArrayEquals(Files.readAllBytes(first), Files.readAllBytes(second));
+
+        // Con las mismas entradas, los dos kernels siguen igual
+        long seed = random.nextLong();
+        Random a = new Random(seed);
+        Random b = new Random(seed);
+        for (int i = 0; i < 3000; i++) {
+            inject(original, a, 2000 + i);
+            inject(restored, b, 2000 + i);
+            original.tick();
+            restored.tick();
+        }
+        assertArrayEquals(original.getEventLog().toArray(), restored.getEventLog().toArray());
+
+        original.runUntil(SimKernel.FINISHED, 1_000_000);
+        restored.runUntil(SimKernel.FINISHED, 1_000_000);
+        assertTrue(original.isFinished());
+        assertEquals(original.getClock().getCurrentTick(), restored.getClock().getCurrentTick());
+        assertEquals(original.getMetrics().fingerprint(), restored.getMetrics().fingerprint());
+        original.close();
+        restored.close();
+    }
+
+    @Test
+    void restoredKernelContinuesIdentically() throws IOException {
+        roundTrip(false);
+    }
+
+    @Test
+    void restoredKernelContinuesIdenticallyEventDriven() throws IOException {
+        roundTrip(true);
+    }
+
+    @Test
+    void invalidCheckpointLeavesTheKernelUnchanged() throws IOException {
+        SimKernel kernel = newKernel(false);
+        Workload.random(50, 3).applyTo(kernel);
+        kernel.tickN(100);
+        Path before = dir.resolve("before.ckpt");
+        kernel.checkpoint(before);
+
+        Path broken = dir.resolve("broken.ckpt");
+        byte[] bytes = Files.readAllBytes(before);
+        byte[] truncated = new byte[bytes.length / 2];
+        System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+        Files.write(broken, truncated);
+        assertThrows(IOException.class, () -> kernel.restore(broken));
+
+        Path after = dir.resolve("after.ckpt");
+        kernel.checkpoint(after);
+        assertArrayEquals(bytes, Files.readAllBytes(after));
+        kernel.close();
+    }
+
+    @Test
+    void restoreKeepsTheArchiveFileAndBatchSize() throws IOException {
+        SimKernel original = newKernel(false);
+        Workload.random(300, 5).applyTo(original);
+        original.runUntil(SimKernel.FINISHED, 1_000_000);
+        Path checkpoint = dir.resolve("c.ckpt");
+        original.checkpoint(checkpoint);
+
+        Path archiveFile = dir.resolve("terminados.bin");
+        Files.write(archiveFile, new byte[] {1, 2, 3}); // contenido viejo que no debe quedar
+        SimKernel restored = new SimKernel();
+        restored.setTerminatedArchive(new TerminatedArchive(50, 8, archiveFile));
+        restored.restore(checkpoint);
+
+        TerminatedArchive archive = restored.getTerminatedArchive();
+        assertEquals(archiveFile, archive.getFile());
+        assertEquals(8, archive.getBatchRecords());
+        assertEquals(50, archive.getInMemoryLimit());
+        assertEquals(original.getTerminatedArchive().size(), archive.size());
+
+        long records = 0;
+        try (TerminatedArchive.Reader a = original.getTerminatedArchive().openReader(32);
+             TerminatedArchive.Reader b = archive.openReader(32)) {
+            while (a.next()) {
+                assertTrue(b.next());
+                assertEquals(a.pid, b.pid);
+                assertEquals(a.completionTick, b.completionTick);
+                records++;
+            }
+            assertFalse(b.next());
+        }
+        assertEquals(archive.getArchivedCount(), records);
+        assertTrue(records > 0);
+
+        restored.close();
+        assertTrue(Files.exists(archiveFile)); // es del usuario: close() no lo borra
+        original.close();
+    }
+}
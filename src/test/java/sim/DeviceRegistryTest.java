@@ -0,0 +1,59 @@
+package sim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import org.junit.jupiter.api.Test;
+
+class DeviceRegistryTest {
+
+    @Test
+    void rejectsAZeroInterval() {
+        DeviceRegistry registry = new DeviceRegistry(new SimKernel());
+        assertThrows(IllegalArgumentException.class,
+                () -> registry.register("d", "SENSOR_DATA", 1, 0, 5, 1, 0.0, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> registry.register("d", "SENSOR_DATA", 1, 5, 4, 1, 0.0, 1));
+    }
+
+    @Test
+    void devicesPostUntilStopped() throws InterruptedException, IOException {
+        SimKernel kernel = new SimKernel();
+        DeviceRegistry registry = new DeviceRegistry(kernel);
+        registry.registerSensors(20, 1, 2, 7);
+        registry.start();
+        assertTrue(registry.isRunning());
+        while (registry.getTotalPosted() < 100) {
+            Thread.sleep(1);
+        }
+        registry.stop();
+        assertFalse(registry.isRunning());
+
+        long posted = registry.getTotalPosted();
+        Thread.sleep(20);
+        assertEquals(posted, registry.getTotalPosted());
+        kernel.close();
+    }
+
+    @Test
+    void restartingRightAwayLeavesNoThreadsFromTheOldRun() throws InterruptedException, IOException {
+        SimKernel kernel = new SimKernel();
+        DeviceRegistry registry = new DeviceRegistry(kernel);
+        registry.registerSensors(10, 1, 1, 3);
+        for (int i = 0; i < 50; i++) {
+            registry.start();
+            registry.stop();
+            registry.start();
+        }
+        registry.stop();
+
+        // Si algún hilo viejo hubiera seguido vivo, seguiría publicando
+        long posted = registry.getTotalPosted();
+        Thread.sleep(20);
+        assertEquals(posted, registry.getTotalPosted());
+        kernel.close();
+    }
+}
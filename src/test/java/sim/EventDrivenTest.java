@@ -0,0 +1,54 @@
+package sim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import org.junit.jupiter.api.Test;
+
+class EventDrivenTest {
+
+    // Carga con tramos ociosos: pocas llegadas repartidas en mucho tiempo
+    private static SimKernel run(Policy policy, boolean eventDriven, boolean withSource) throws IOException {
+        SimKernel kernel = new SimKernel();
+        kernel.setEventDriven(eventDriven);
+        kernel.setPolicy(policy);
+        kernel.setQuantum(3);
+        kernel.setRamLimit(6);
+        Workload workload = Workload.random(300, 42);
+        for (int tick = 500; tick < 5000; tick += 700) {
+            workload.addInterrupt(tick, "TIMER_TICK", 3);
+        }
+        workload.applyTo(kernel);
+        if (withSource) {
+            SimulatedInterruptSource source = new SimulatedInterruptSource(9);
+            source.setDistribution(SimulatedInterruptSource.Distribution.UNIFORM, 40, 120);
+            kernel.setInterruptSource(source);
+        }
+        kernel.runUntil(SimKernel.FINISHED, 1_000_000);
+        kernel.close();
+        return kernel;
+    }
+
+    private static void assertSameRun(Policy policy, boolean withSource) throws IOException {
+        SimKernel stepped = run(policy, false, withSource);
+        SimKernel skipped = run(policy, true, withSource);
+        assertTrue(stepped.isFinished(), policy.toString());
+        assertEquals(stepped.getClock().getCurrentTick(), skipped.getClock().getCurrentTick(), policy.toString());
+        assertEquals(stepped.getMetrics().fingerprint(), skipped.getMetrics().fingerprint(), policy.toString());
+    }
+
+    @Test
+    void sameMetricsAsTickByTickForEveryPolicy() throws IOException {
+        for (Policy policy : Policy.values()) {
+            assertSameRun(policy, false);
+        }
+    }
+
+    @Test
+    void sameMetricsWithASimulatedInterruptSource() throws IOException {
+        for (Policy policy : Policy.values()) {
+            assertSameRun(policy, true);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package sim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class EventJournalTest {
+
+    private static final EventType[] TYPES = {
+        EventType.PROCESS_NEW, EventType.ADMITTED, EventType.IO_BLOCKED, EventType.INTERRUPT
+    };
+
+    @TempDir
+    Path dir;
+
+    // Un evento por tick en segmentos chicos (muchos archivos). pid = tick,
+    // arg = 2 * tick y ref solo en las interrupciones
+    private EventJournal write(int events) throws IOException {
+        EventJournal journal = new EventJournal(dir, 4096);
+        for (int tick = 0; tick < events; tick++) {
+            EventType type = TYPES[tick % TYPES.length];
+            journal.append(tick, type, tick, tick * 2, type == EventType.INTERRUPT ? "IRQ" + tick % 3 : null);
+        }
+        journal.close();
+        return journal;
+    }
+
+    @Test
+    void readsBackEverythingInOrder() throws IOException {
+        EventJournal journal = write(5000);
+        assertTrue(journal.getSegmentCount() > 1);
+        assertEquals(5000, journal.getRecordCount());
+
+        try (EventJournal.Reader reader = EventJournal.openReader(dir)) {
+            int expected = 0;
+            while (reader.next()) {
+                assertEquals(expected, reader.tick);
+                assertEquals(TYPES[expected % TYPES.length], reader.type);
+                assertEquals(expected, reader.pid);
+                assertEquals(expected * 2, reader.arg);
+                if (reader.type == EventType.INTERRUPT) {
+                    assertEquals("IRQ" + expected % 3, reader.ref);
+                } else {
+                    assertNull(reader.ref);
+                }
+                expected++;
+            }
+            assertEquals(5000, expected);
+        }
+    }
+
+    @Test
+    void tickRangeSeeksIntoTheMiddleSegment() throws IOException {
+        EventJournal journal = write(20_000);
+        assertTrue(journal.getSegmentCount() > 10);
+
+        try (EventJournal.Reader reader = EventJournal.openReader(dir)) {
+            reader.setTickRange(12_345, 12_350);
+            int expected = 12_345;
+            while (reader.next()) {
+                assertEquals(expected, reader.tick);
+                assertEquals(expected, reader.pid);
+                expected++;
+            }
+            assertEquals(12_351, expected);
+        }
+    }
+
+    @Test
+    void tickRangeAtTheEdges() throws IOException {
+        write(3000);
+
+        try (EventJournal.Reader reader = EventJournal.openReader(dir)) {
+            reader.setTickRange(2999, Integer.MAX_VALUE);
+            assertTrue(reader.next());
+            assertEquals(2999, reader.tick);
+            assertFalse(reader.next());
+        }
+        try (EventJournal.Reader reader = EventJournal.openReader(dir)) {
+            reader.setTickRange(5000, 6000);
+            assertFalse(reader.next());
+        }
+        try (EventJournal.Reader reader = EventJournal.openReader(dir)) {
+            reader.setTickRange(Integer.MIN_VALUE, 0);
+            assertTrue(reader.next());
+            assertEquals(0, reader.tick);
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test
+    void filtersCombineWithTheTickRange() throws IOException {
+        write(8000);
+
+        try (EventJournal.Reader reader = EventJournal.openReader(dir)) {
+            reader.setTickRange(1000, 1999);
+            reader.setTypes(EventType.INTERRUPT);
+            int count = 0;
+            while (reader.next()) {
+                assertEquals(EventType.INTERRUPT, reader.type);
+                assertTrue(reader.tick >= 1000 && reader.tick <= 1999);
+                count++;
+            }
+            assertEquals(250, count);
+        }
+        try (EventJournal.Reader reader = EventJournal.openReader(dir)) {
+            reader.setPid(4321);
+            assertTrue(reader.next());
+            assertEquals(4321, reader.tick);
+            assertFalse(reader.next());
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package sim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import org.junit.jupiter.api.Test;
+
+class EventLogTest {
+
+    @Test
+    void keepsTheLast200InOrder() {
+        EventLog log = new EventLog();
+        for (int tick = 0; tick < 1000; tick++) {
+            log.record(tick, EventType.PROCESS_NEW, tick);
+            if (tick % 7 == 0) {
+                log.toArray(); // textos armados en posiciones que después se reutilizan
+            }
+        }
+        assertEquals(200, log.size());
+        String[] lines = log.toArray();
+        for (int i = 0; i < 200; i++) {
+            assertEquals(800 + i, log.getTick(i));
+            assertEquals(800 + i, log.getPid(i));
+            assertEquals("[t=" + (800 + i) + "] " + EventType.PROCESS_NEW.format(800 + i, 0, null), lines[i]);
+        }
+    }
+
+    @Test
+    void filteredEventsDoNotTouchTheRing() {
+        EventLog log = new EventLog();
+        log.setMinLevel(EventType.Level.WARNING);
+        log.record(1, EventType.PROCESS_NEW, 5);
+        log.record(2, EventType.DEADLINE_MISS, 6);
+        assertEquals(1, log.size());
+        assertEquals(EventType.DEADLINE_MISS, log.getType(0));
+    }
+
+    @Test
+    void clearEmptiesAndChangesTheVersion() {
+        EventLog log = new EventLog();
+        for (int tick = 0; tick < 300; tick++) {
+            log.record(tick, EventType.ADMITTED, tick);
+        }
+        int version = log.getVersion();
+        log.clear();
+        assertEquals(0, log.size());
+        assertNotEquals(version, log.getVersion());
+        log.record(5, EventType.ADMITTED, 1);
+        assertEquals(5, log.getTick(0));
+        assertEquals(1, log.toArray().length);
+    }
+}
@@ -0,0 +1,187 @@
+package sim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import core.InterruptEvent;
+import core.SimProcess;
+import org.junit.jupiter.api.Test;
+
+class InterruptControllerTest {
+
+    private static InterruptEvent event(String type, int priority) {
+        return new InterruptEvent(type, priority, 0, type);
+    }
+
+    @Test
+    void takesByPriorityThenArrival() {
+        InterruptController controller = new InterruptController(16);
+        InterruptEvent low = event("COMM_SIGNAL", 1);
+        InterruptEvent highFirst = event("EMERGENCY", 9);
+        InterruptEvent mid = event("SENSOR_DATA", 5);
+        InterruptEvent highSecond = event("EMERGENCY", 9);
+        controller.offer(low, 0);
+        controller.offer(highFirst, 0);
+        controller.offer(mid, 0);
+        controller.offer(highSecond, 0);
+
+        InterruptEvent[] out = new InterruptEvent[3];
+        assertEquals(3, controller.take(InterruptController.NO_LEVEL, out));
+        assertSame(highFirst, out[0]);
+        assertSame(highSecond, out[1]);
+        assertSame(mid, out[2]);
+        assertEquals(1, controller.getPendingCount());
+    }
+
+    @Test
+    void takeOnlyReturnsWhatCanPreemptTheLevel() {
+        InterruptController controller = new InterruptController(16);
+        controller.offer(event("SENSOR_DATA", 5), 0);
+        controller.offer(event("EMERGENCY", 9), 0);
+
+        InterruptEvent[] out = new InterruptEvent[4];
+        assertEquals(1, controller.take(5, out));
+        assertEquals(9, out[0].getPriority());
+        assertEquals(0, controller.take(5, out));
+        assertTrue(controller.hasPending());
+    }
+
+    @Test
+    void dropsWhenFull() {
+        InterruptController controller = new InterruptController(2);
+        assertEquals(InterruptController.ACCEPTED, controller.offer(event("A", 1), 0));
+        assertEquals(InterruptController.ACCEPTED, controller.offer(event("B", 1), 0));
+        assertEquals(InterruptController.DROPPED, controller.offer(event("C", 9), 0));
+        assertEquals(1, controller.getDropped());
+    }
+
+    @Test
+    void maskedTypesAreHeldUntilUnmasked() {
+        InterruptController controller = new InterruptController(16);
+        InterruptEvent before = event("SENSOR_DATA", 5);
+        controller.offer(before, 0);
+        controller.mask("SENSOR_DATA");
+        assertFalse(controller.hasPending());
+        InterruptEvent during = event("SENSOR_DATA", 5);
+        controller.offer(during, 1);
+        controller.offer(event("TIMER_TICK", 2), 1);
+        assertEquals(2, controller.getHeldCount());
+        assertEquals(1, controller.getPendingCount());
+
+        controller.unmask("SENSOR_DATA");
+        assertEquals(0, controller.getHeldCount());
+        InterruptEvent[] out = new InterruptEvent[3];
+        assertEquals(3, controller.take(InterruptController.NO_LEVEL, out));
+        assertSame(before, out[0]);
+        assertSame(during, out[1]);
+    }
+
+    @Test
+    void nestedIsrsResumeInReverseOrder() {
+        InterruptController controller = new InterruptController(16);
+        SimProcess first = SimProcess.createISR(9001, "ISR_A", 3, 0);
+        SimProcess second = SimProcess.createISR(9002, "ISR_B", 3, 1);
+        assertEquals(InterruptController.NO_LEVEL, controller.peekInServiceLevel());
+        controller.pushInService(first, 2);
+        controller.pushInService(second, 6);
+
+        assertEquals(2, controller.getInServiceDepth());
+        assertEquals(6, controller.peekInServiceLevel());
+        assertSame(second, controller.popInService());
+        assertEquals(2, controller.peekInServiceLevel());
+        assertSame(first, controller.popInService());
+        assertFalse(controller.hasInService());
+        assertNull(controller.popInService());
+    }
+
+    @Test
+    void coalescingWithoutWindowMergesIntoThePendingOne() {
+        InterruptController controller = new InterruptController(16);
+        controller.setCoalescing("SENSOR_DATA", 0);
+        InterruptEvent first = event("SENSOR_DATA", 5);
+        assertEquals(InterruptController.ACCEPTED, controller.offer(first, 0));
+        for (int i = 0; i < 9; i++) {
+            assertEquals(InterruptController.COALESCED, controller.offer(event("SENSOR_DATA", 5), 0));
+        }
+        assertEquals(1, controller.getPendingCount());
+        assertEquals(10, first.getCount());
+
+        // Una vez tomada, la siguiente abre otra pendiente
+        InterruptEvent[] out = new InterruptEvent[1];
+        controller.take(InterruptController.NO_LEVEL, out);
+        assertEquals(InterruptController.ACCEPTED, controller.offer(event("SENSOR_DATA", 5), 1));
+    }
+
+    @Test
+    void coalescingWindowHoldsTheBatchUntilItCloses() {
+        InterruptController controller = new InterruptController(16);
+        controller.setCoalescing("SENSOR_DATA", 5);
+        InterruptEvent first = event("SENSOR_DATA", 5);
+        controller.offer(first, 10);
+        controller.offer(event("SENSOR_DATA", 5), 12);
+        assertEquals(1, controller.getOpenCount());
+        assertEquals(15, controller.nextReleaseTick());
+
+        controller.release(14);
+        assertFalse(controller.hasPending());
+        controller.release(15);
+        assertEquals(0, controller.getOpenCount());
+        assertEquals(-1, controller.nextReleaseTick());
+        assertEquals(1, controller.getPendingCount());
+        assertEquals(2, first.getCount());
+    }
+
+    @Test
+    void disablingCoalescingReleasesTheOpenBatch() {
+        InterruptController controller = new InterruptController(16);
+        controller.setCoalescing("SENSOR_DATA", 50);
+        controller.offer(event("SENSOR_DATA", 5), 0);
+        controller.disableCoalescing("SENSOR_DATA");
+        assertEquals(0, controller.getOpenCount());
+        assertTrue(controller.hasPending());
+        assertEquals(-1, controller.getCoalescingWindow("SENSOR_DATA"));
+        assertEquals(InterruptController.ACCEPTED, controller.offer(event("SENSOR_DATA", 5), 1));
+        assertEquals(2, controller.getPendingCount());
+    }
+
+    // Tormenta de SENSOR_DATA: con fusión hay menos ISRs y ninguna se pierde
+    private static SimKernel storm(int window) {
+        SimKernel kernel = new SimKernel();
+        if (window >= 0) {
+            kernel.setInterruptCoalescing("SENSOR_DATA", window);
+        }
+        Workload workload = Workload.random(100, 2);
+        for (int tick = 0; tick < 1500; tick += 2) {
+            workload.addInterrupt(tick, "SENSOR_DATA", 5);
+        }
+        workload.applyTo(kernel);
+        kernel.runUntil(SimKernel.FINISHED, 1_000_000);
+        return kernel;
+    }
+
+    @Test
+    void kernelCoalescingCutsIsrsDuringAStorm() {
+        SimKernel plain = storm(-1);
+        SimKernel merged = storm(0);
+        SimKernel windowed = storm(10);
+        assertEquals(750, plain.getMetrics().getRawInterrupts());
+        assertEquals(750, merged.getMetrics().getRawInterrupts());
+        assertEquals(750, windowed.getMetrics().getRawInterrupts());
+        assertEquals(0, plain.getMetrics().getDroppedInterrupts());
+        assertTrue(merged.getMetrics().getIsrInvocations() < plain.getMetrics().getIsrInvocations());
+        assertTrue(windowed.getMetrics().getIsrInvocations() < merged.getMetrics().getIsrInvocations());
+        assertTrue(windowed.getMetrics().getInterruptsPerISR() > 1.0);
+    }
+
+    @Test
+    void kernelRejectsUnknownCoalescingTypes() {
+        SimKernel kernel = new SimKernel();
+        assertThrows(IllegalArgumentException.class, () -> kernel.setInterruptCoalescing("NOPE", 3));
+        SweepEngine engine = new SweepEngine(Workload.random(10, 6), Policy.values(), new int[] {2}, new int[] {4});
+        assertThrows(IllegalArgumentException.class, () -> engine.setInterruptCoalescing("NOPE", 3));
+    }
+}
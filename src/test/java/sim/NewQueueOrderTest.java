@@ -0,0 +1,62 @@
+package sim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import core.SimProcess;
+import java.io.IOException;
+import org.junit.jupiter.api.Test;
+
+class NewQueueOrderTest {
+
+    // Ticks y pids de los ADMITTED del log, en orden
+    private static int admitted(EventLog log, int[] ticks, int[] pids) {
+        int n = 0;
+        for (int i = 0; i < log.size(); i++) {
+            if (log.getType(i) == EventType.ADMITTED) {
+                ticks[n] = log.getTick(i);
+                pids[n] = log.getPid(i);
+                n++;
+            }
+        }
+        return n;
+    }
+
+    @Test
+    void admitsByArrivalTickRegardlessOfAddOrder() throws IOException {
+        SimKernel kernel = new SimKernel();
+        kernel.setRamLimit(100);
+        // Agregados al revés; 4 y 5 llegan en el mismo tick
+        int[] arrivals = {50, 40, 30, 20, 20, 10};
+        for (int i = 0; i < arrivals.length; i++) {
+            kernel.addProcess(new SimProcess(i + 1, "P" + (i + 1), 2, 5, arrivals[i], 100));
+        }
+        kernel.tickN(60);
+
+        int[] ticks = new int[10];
+        int[] pids = new int[10];
+        assertEquals(6, admitted(kernel.getEventLog(), ticks, pids));
+        int[] expectedPids = {6, 4, 5, 3, 2, 1};
+        int[] expectedTicks = {10, 20, 20, 30, 40, 50};
+        for (int i = 0; i < 6; i++) {
+            assertEquals(expectedPids[i], pids[i]);
+            assertEquals(expectedTicks[i], ticks[i]);
+        }
+        kernel.close();
+    }
+
+    @Test
+    void aFutureArrivalDoesNotHoldBackEarlierOnes() throws IOException {
+        SimKernel kernel = new SimKernel();
+        kernel.setRamLimit(100);
+        kernel.addProcess(new SimProcess(1, "lejos", 2, 5, 1000, 100));
+        kernel.tickN(5);
+        kernel.addProcess(new SimProcess(2, "cerca", 2, 5, 0, 100));
+        kernel.tickN(5);
+
+        int[] ticks = new int[10];
+        int[] pids = new int[10];
+        assertEquals(1, admitted(kernel.getEventLog(), ticks, pids));
+        assertEquals(2, pids[0]);
+        kernel.close();
+    }
+}
@@ -0,0 +1,107 @@
+package sim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import core.SimProcess;
+import java.io.IOException;
+import org.junit.jupiter.api.Test;
+
+class SnapshotTest {
+
+    // FCFS: P1 corre 50 ticks mientras P2 espera en READY
+    private static SimKernel twoProcesses() {
+        SimKernel kernel = new SimKernel();
+        kernel.setPolicy(Policy.FCFS);
+        kernel.setRamLimit(10);
+        kernel.addProcess(new SimProcess(1, "largo", 50, 5, 0, 200));
+        kernel.addProcess(new SimProcess(2, "corto", 5, 5, 0, 30));
+        return kernel;
+    }
+
+    @Test
+    void deadlineRemainingFollowsTheSnapshotTick() throws IOException {
+        SimKernel kernel = twoProcesses();
+        for (int i = 0; i < 10; i++) {
+            SystemSnapshot s = kernel.tickN(1);
+            assertEquals(1, s.running.pid);
+            assertEquals(200 - s.currentTick, s.running.deadlineRemaining);
+            assertEquals(1, s.readyQueue.length);
+            assertEquals(30 - s.currentTick, s.readyQueue[0].deadlineRemaining);
+        }
+        kernel.close();
+    }
+
+    @Test
+    void terminatedKeepsTheDeadlineRemainingAtCompletion() throws IOException {
+        SimKernel kernel = twoProcesses();
+        kernel.runUntil(SimKernel.FINISHED, 1000);
+        SystemSnapshot s = kernel.getSnapshot();
+        assertEquals(2, s.terminated.length);
+        for (SystemSnapshot.ProcessInfo info : s.terminated) {
+            int completion = info.pid == 1 ? 49 : 54; // P1 corre los ticks 0..49
+            int deadline = info.pid == 1 ? 200 : 30;
+            assertEquals(deadline - completion, info.deadlineRemaining, "P" + info.pid);
+        }
+        kernel.close();
+    }
+
+    @Test
+    void terminatedArrayIsSharedUntilSomethingTerminates() throws IOException {
+        SimKernel kernel = twoProcesses();
+        kernel.tickN(52); // P1 ya terminó, P2 sigue
+        SystemSnapshot a = kernel.getSnapshot();
+        SystemSnapshot b = kernel.tickN(1);
+        assertEquals(1, a.terminated.length);
+        assertSame(a.terminated, b.terminated);
+
+        SystemSnapshot c = kernel.runUntil(SimKernel.FINISHED, 100);
+        assertEquals(2, c.terminated.length);
+        assertSame(a.terminated[0], c.terminated[0]);
+        kernel.close();
+    }
+
+    @Test
+    void sameVersionReturnsTheSameSnapshot() throws IOException {
+        SimKernel kernel = twoProcesses();
+        kernel.tickN(3);
+        int version = kernel.getStateVersion();
+        SystemSnapshot a = kernel.getSnapshot();
+        SystemSnapshot b = kernel.getSnapshot();
+        assertSame(a, b);
+        assertEquals(version, kernel.getStateVersion());
+        kernel.close();
+    }
+
+    @Test
+    void changesBumpTheVersionAndRebuild() throws IOException {
+        SimKernel kernel = twoProcesses();
+        kernel.tickN(3);
+        SystemSnapshot before = kernel.getSnapshot();
+        int version = kernel.getStateVersion();
+
+        kernel.setQuantum(7);
+        assertNotEquals(version, kernel.getStateVersion());
+        SystemSnapshot afterControl = kernel.getSnapshot();
+        assertNotSame(before, afterControl);
+        assertEquals(7, afterControl.quantum);
+        assertEquals(before.currentTick, afterControl.currentTick);
+
+        SystemSnapshot afterTick = kernel.tickN(1);
+        assertNotSame(afterControl, afterTick);
+        assertEquals(before.currentTick + 1, afterTick.currentTick);
+        kernel.close();
+    }
+
+    @Test
+    void tickNShowsTheLastExecutedTick() throws IOException {
+        SimKernel kernel = twoProcesses();
+        SystemSnapshot s = kernel.tickN(20);
+        assertEquals(19, s.currentTick);
+        assertEquals(20, kernel.getClock().getCurrentTick());
+        assertSame(s, kernel.getSnapshot());
+        kernel.close();
+    }
+}
@@ -0,0 +1,86 @@
+package sim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+class SweepEngineTest {
+
+    private static final Policy[] POLICIES = {Policy.FCFS, Policy.RR, Policy.EDF};
+    private static final int[] QUANTA = {2, 5};
+    private static final int[] RAM = {3, 8};
+
+    private static void assertSameResult(SweepEngine.Result expected, SweepEngine.Result actual) {
+        assertEquals(expected.policy, actual.policy);
+        assertEquals(expected.quantum, actual.quantum);
+        assertEquals(expected.ramLimit, actual.ramLimit);
+        assertEquals(expected.ticks, actual.ticks);
+        assertEquals(expected.finished, actual.finished);
+        assertEquals(expected.completedProcesses, actual.completedProcesses);
+        assertEquals(expected.missedDeadlines, actual.missedDeadlines);
+        assertEquals(expected.averageWaitTime, actual.averageWaitTime, 0.0);
+        assertEquals(expected.averageTurnaroundTime, actual.averageTurnaroundTime, 0.0);
+    }
+
+    @Test
+    void eachPointMatchesAStandaloneRunInGridOrder() throws IOException {
+        Workload workload = Workload.random(150, 3);
+        SweepEngine.Result[] results = new SweepEngine(workload, POLICIES, QUANTA, RAM).run();
+        assertEquals(12, results.length);
+
+        int i = 0;
+        for (Policy policy : POLICIES) {
+            for (int quantum : QUANTA) {
+                for (int ram : RAM) {
+                    SimKernel kernel = new SimKernel();
+                    kernel.setPolicy(policy);
+                    kernel.setQuantum(quantum);
+                    kernel.setRamLimit(ram);
+                    workload.applyTo(kernel);
+                    kernel.runUntil(SimKernel.FINISHED, 10_000_000);
+
+                    SweepEngine.Result r = results[i++];
+                    assertEquals(policy, r.policy);
+                    assertEquals(quantum, r.quantum);
+                    assertEquals(ram, r.ramLimit);
+                    assertTrue(r.finished);
+                    assertEquals(kernel.getClock().getCurrentTick(), r.ticks);
+                    assertEquals(kernel.getMetrics().getCompletedProcesses(), r.completedProcesses);
+                    assertEquals(kernel.getMetrics().getAverageWaitTime(), r.averageWaitTime, 0.0);
+                    kernel.close();
+                }
+            }
+        }
+    }
+
+    @Test
+    void resultsDoNotDependOnParallelism() {
+        Workload workload = Workload.random(150, 4);
+        SweepEngine engine = new SweepEngine(workload, POLICIES, QUANTA, RAM);
+        SimulatedInterruptSource source = new SimulatedInterruptSource(5);
+        source.setDistribution(SimulatedInterruptSource.Distribution.EXPONENTIAL, 30, 0);
+        engine.setInterruptSource(source);
+        engine.setInterruptCoalescing("SENSOR_DATA", 4);
+        engine.setEventDriven(true);
+
+        SweepEngine.Result[] serial = engine.run(new ForkJoinPool(1));
+        SweepEngine.Result[] parallel = engine.run(new ForkJoinPool(4));
+        for (int i = 0; i < serial.length; i++) {
+            assertSameResult(serial[i], parallel[i]);
+        }
+    }
+
+    @Test
+    void maxTicksCutsEveryPoint() {
+        SweepEngine engine = new SweepEngine(Workload.random(150, 5), POLICIES, QUANTA, RAM);
+        engine.setMaxTicks(100);
+        for (SweepEngine.Result r : engine.run()) {
+            assertEquals(100, r.ticks);
+            assertFalse(r.finished);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package sim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import core.IOSpec;
+import core.InterruptEvent;
+import core.SimProcess;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TraceReplayTest {
+
+    @TempDir
+    Path dir;
+
+    // Graba una corrida con entradas desde otro hilo y cambios de
+    // configuración entre tramos, y la cierra al terminar
+    private Path record(boolean eventDriven, boolean withSource) throws Exception {
+        Path file = dir.resolve("run-" + eventDriven + "-" + withSource + ".trace");
+        SimKernel kernel = new SimKernel();
+        kernel.setEventDriven(eventDriven);
+        kernel.setRamLimit(6);
+        kernel.setInterruptCoalescing("SENSOR_DATA", 2);
+        if (withSource) {
+            SimulatedInterruptSource source = new SimulatedInterruptSource(11);
+            source.setDistribution(SimulatedInterruptSource.Distribution.EXPONENTIAL, 25, 0);
+            kernel.setInterruptSource(source);
+        }
+        TraceRecorder recorder = new TraceRecorder(file);
+        kernel.setTraceRecorder(recorder);
+
+        // El productor no está sincronizado con los ticks: el orden lo fija la traza
+        Thread producer = new Thread(() -> {
+            Random random = new Random(1);
+            for (int i = 0; i < 800; i++) {
+                int now = kernel.getClock().getCurrentTick();
+                SimProcess p = new SimProcess(i + 1, "P " + i, 3 + random.nextInt(20), random.nextInt(10),
+                                              now + random.nextInt(50), 40 + random.nextInt(100));
+                if (random.nextBoolean()) {
+                    p.setIoSpec(new IOSpec(1 + random.nextInt(3), 1 + random.nextInt(20)));
+                }
+                kernel.addProcess(p);
+                if (i % 3 == 0) {
+                    kernel.addInterrupt(new InterruptEvent("SENSOR_DATA", 4, now, "sensor"));
+                }
+            }
+        });
+        producer.start();
+        Random random = new Random(2);
+        Policy[] policies = Policy.values();
+        for (int i = 0; i < 3000; i++) {
+            kernel.tickN(1 + random.nextInt(4));
+            if (random.nextInt(200) == 0) {
+                kernel.setPolicy(policies[random.nextInt(policies.length)]);
+            }
+            if (random.nextInt(300) == 0) {
+                kernel.setQuantum(1 + random.nextInt(5));
+            }
+            if (random.nextInt(400) == 0) {
+                kernel.maskInterrupt("SENSOR_DATA");
+            }
+            if (random.nextInt(400) == 0) {
+                kernel.unmaskInterrupt("SENSOR_DATA");
+            }
+        }
+        producer.join();
+        kernel.unmaskInterrupt("SENSOR_DATA");
+        kernel.runUntil(SimKernel.FINISHED, 200_000);
+        kernel.setTraceRecorder(null);
+        recorder.close();
+        kernel.close();
+        return file;
+    }
+
+    private static void assertReplays(Path file, boolean eventDriven) throws IOException {
+        TraceReplayer replayer = TraceReplayer.load(file);
+        SimKernel kernel = replayer.newKernel();
+        kernel.setEventDriven(eventDriven);
+        TraceReplayer.Result result = replayer.replay(kernel, 1);
+        assertTrue(result.hasExpected);
+        assertEquals(replayer.getEndTick(), result.endTick);
+        assertEquals(result.expectedFingerprint, result.actualFingerprint);
+        assertTrue(result.matches());
+        kernel.close();
+    }
+
+    @Test
+    void replayReproducesTheFingerprint() throws Exception {
+        Path file = record(false, false);
+        assertReplays(file, false);
+        assertReplays(file, true);
+    }
+
+    @Test
+    void replayReproducesAnEventDrivenRunWithASimulatedSource() throws Exception {
+        Path file = record(true, true);
+        assertReplays(file, true);
+        assertReplays(file, false);
+    }
+
+    @Test
+    void unclosedRecordingHasNothingToCompare() throws IOException {
+        Path file = dir.resolve("open.trace");
+        SimKernel kernel = new SimKernel();
+        TraceRecorder recorder = new TraceRecorder(file);
+        kernel.setTraceRecorder(recorder);
+        Workload.random(20, 1).applyTo(kernel);
+        kernel.tickN(50);
+        recorder.close(); // sin setTraceRecorder(null): no hay cierre
+
+        TraceReplayer replayer = TraceReplayer.load(file);
+        assertEquals(-1, replayer.getEndTick());
+        SimKernel replay = replayer.newKernel();
+        assertFalse(replayer.replay(replay, 100_000).hasExpected);
+        assertTrue(replay.isFinished());
+        replay.close();
+        kernel.close();
+    }
+
+    @Test
+    void onlyANewKernelCanRecord() throws IOException {
+        SimKernel used = new SimKernel();
+        used.tickN(1);
+        TraceRecorder recorder = new TraceRecorder(dir.resolve("used.trace"));
+        assertThrows(IllegalStateException.class, () -> used.setTraceRecorder(recorder));
+        recorder.close();
+
+        SimKernel recording = new SimKernel();
+        Path checkpoint = dir.resolve("k.ckpt");
+        recording.checkpoint(checkpoint);
+        TraceRecorder second = new TraceRecorder(dir.resolve("second.trace"));
+        recording.setTraceRecorder(second);
+        assertThrows(IllegalStateException.class, () -> recording.restore(checkpoint));
+        recording.setTraceRecorder(null);
+        second.close();
+        used.close();
+        recording.close();
+    }
+}